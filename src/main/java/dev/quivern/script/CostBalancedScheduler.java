@@ -0,0 +1,102 @@
+package dev.quivern.script;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * Distributes one tick of script updates across a fork/join pool by estimated cost.
+ * Scripts are cut into chunks of roughly equal total cost, using each script's moving
+ * average from previous ticks, and the chunks are forked as separate tasks so idle
+ * workers steal the remaining chunks of a straggling one.
+ */
+final class CostBalancedScheduler {
+    /**
+     * Chunks per worker; more chunks give stealing more room to even out estimation errors.
+     */
+    private static final int CHUNKS_PER_WORKER = 8;
+
+    /**
+     * Weight added to every script so unmeasured and idle scripts still count.
+     */
+    private static final long BASE_COST_NANOS = 100;
+
+    private CostBalancedScheduler() {
+    }
+
+    /**
+     * Updates every script once and returns when all updates have completed.
+     *
+     * @param pool the pool to run on
+     * @param scripts the scripts to update
+     * @param updater the update to apply to each script
+     */
+    static void run(ForkJoinPool pool, Script[] scripts, Consumer<Script> updater) {
+        if (scripts.length == 0) return;
+        int chunkCount = Math.min(scripts.length, pool.getParallelism() * CHUNKS_PER_WORKER);
+        long total = 0;
+        for (Script script : scripts) {
+            total += weight(script);
+        }
+        long target = Math.max(1, total / chunkCount);
+
+        List<Chunk> chunks = new ArrayList<>(chunkCount + 1);
+        int start = 0;
+        long accumulated = 0;
+        for (int i = 0; i < scripts.length; i++) {
+            accumulated += weight(scripts[i]);
+            if (accumulated >= target) {
+                chunks.add(new Chunk(scripts, start, i + 1, updater));
+                start = i + 1;
+                accumulated = 0;
+            }
+        }
+        if (start < scripts.length) {
+            chunks.add(new Chunk(scripts, start, scripts.length, updater));
+        }
+        pool.invoke(new Tick(chunks));
+    }
+
+    private static long weight(Script script) {
+        return BASE_COST_NANOS + script.costEstimate();
+    }
+
+    private static final class Tick extends RecursiveAction {
+        private final List<Chunk> chunks;
+
+        Tick(List<Chunk> chunks) {
+            this.chunks = chunks;
+        }
+
+        @Override
+        protected void compute() {
+            invokeAll(chunks);
+        }
+    }
+
+    private static final class Chunk extends RecursiveAction {
+        private final Script[] scripts;
+        private final int from;
+        private final int to;
+        private final Consumer<Script> updater;
+
+        Chunk(Script[] scripts, int from, int to, Consumer<Script> updater) {
+            this.scripts = scripts;
+            this.from = from;
+            this.to = to;
+            this.updater = updater;
+        }
+
+        @Override
+        protected void compute() {
+            for (int i = from; i < to; i++) {
+                Script script = scripts[i];
+                long start = System.nanoTime();
+                updater.accept(script);
+                script.recordCost(System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package dev.quivern.script;
+
+import dev.quivern.script.api.ScriptAction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Per-thread buffer of side effects deferred by scripts during a tick.
+ * <p>
+ * When {@link ScriptManager#setEffectBuffering(boolean) effect buffering} is enabled, script
+ * actions hand their writes to shared state to {@link #defer(Runnable)} instead of performing
+ * them directly. Every worker thread appends to its own buffer without locking, so scripts can
+ * be updated in parallel with {@link ScriptManager#updateAll(java.util.concurrent.ForkJoinPool)}
+ * while the state they touch stays single-threaded. Once all updates of the tick have completed,
+ * the manager runs the buffered effects on the ticking thread, grouped by script in the order
+ * the scripts were added to the manager, and within a script in the order they were deferred.
+ * The result is the same for any number of worker threads and any work distribution.
+ * <p>
+ * Buffers keep their arrays between ticks, so deferring allocates nothing but the effect
+ * itself once a buffer has grown to its working size. Outside of a buffered update,
+ * {@link #defer(Runnable)} runs the effect immediately, which also applies to effects deferred
+ * while buffered effects are being applied.
+ * <p>
+ * Buffering follows the thread, not the script: steps that hand part of an update to other
+ * threads collect the effects deferred there with a {@link Collector} and add them to the
+ * update's buffer after joining, as {@code ConcurrentParallelStep} does.
+ */
+public final class EffectBuffer {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final ThreadLocal<EffectBuffer> ACTIVE = new ThreadLocal<>();
+
+    private final Queue<EffectBuffer> dirty;
+    private Runnable[] effects = new Runnable[INITIAL_CAPACITY];
+    private long[] segmentOrders = new long[INITIAL_CAPACITY];
+    private int[] segmentStarts = new int[INITIAL_CAPACITY];
+    private int size;
+    private int segments;
+    private long order;
+    private boolean segmentOpen;
+
+    EffectBuffer(Queue<EffectBuffer> dirty) {
+        this.dirty = dirty;
+    }
+
+    /**
+     * Collects the effects deferred by work that a buffered update runs on another thread, so
+     * they can be added to the update's buffer in a fixed order once the work has been joined.
+     * A collector keeps its arrays between uses and must be used by one thread at a time.
+     */
+    public static final class Collector {
+        private final EffectBuffer effects = new EffectBuffer(null);
+
+        /**
+         * Runs work on the calling thread, collecting the effects it defers instead of
+         * buffering or running them.
+         *
+         * @param work the work
+         */
+        public void collect(Runnable work) {
+            EffectBuffer previous = ACTIVE.get();
+            ACTIVE.set(effects);
+            try {
+                work.run();
+            } finally {
+                ACTIVE.set(previous);
+            }
+        }
+
+        /**
+         * Defers the collected effects on the calling thread, in the order they were collected,
+         * and clears the collector.
+         */
+        public void flush() {
+            try {
+                for (int i = 0; i < effects.size; i++) {
+                    defer(effects.effects[i]);
+                }
+            } finally {
+                effects.clear();
+            }
+        }
+    }
+
+    /**
+     * Defers an effect to the end of the current tick's script phase, or runs it immediately
+     * if the calling thread is not updating a script with effect buffering enabled.
+     *
+     * @param effect the effect
+     * @throws NullPointerException if effect is null
+     */
+    public static void defer(Runnable effect) {
+        java.util.Objects.requireNonNull(effect, "Effect cannot be null");
+        EffectBuffer buffer = ACTIVE.get();
+        if (buffer != null) {
+            buffer.add(effect);
+        } else {
+            effect.run();
+        }
+    }
+
+    /**
+     * Wraps an action so that it is deferred with {@link #defer(Runnable)} every time it is performed.
+     *
+     * @param action the action
+     * @return the deferring action
+     * @throws NullPointerException if action is null
+     */
+    public static ScriptAction deferred(ScriptAction action) {
+        java.util.Objects.requireNonNull(action, "Action cannot be null");
+        Runnable effect = action::perform;
+        return () -> defer(effect);
+    }
+
+    /**
+     * Checks if effects deferred on the calling thread are currently being buffered.
+     *
+     * @return true if {@link #defer(Runnable)} would buffer rather than run
+     */
+    public static boolean isBuffering() {
+        return ACTIVE.get() != null;
+    }
+
+    /**
+     * Starts buffering the effects of one script update on the calling thread.
+     *
+     * @param order the script's position in the apply order
+     */
+    void begin(long order) {
+        this.order = order;
+        this.segmentOpen = false;
+        ACTIVE.set(this);
+    }
+
+    /**
+     * Stops buffering on the calling thread.
+     */
+    void end() {
+        ACTIVE.set(null);
+    }
+
+    private void add(Runnable effect) {
+        if (size == 0 && segments == 0 && dirty != null) {
+            dirty.add(this);
+        }
+        if (!segmentOpen) {
+            if (segments == segmentOrders.length) {
+                segmentOrders = Arrays.copyOf(segmentOrders, segments * 2);
+                segmentStarts = Arrays.copyOf(segmentStarts, segments * 2);
+            }
+            segmentOrders[segments] = order;
+            segmentStarts[segments] = size;
+            segments++;
+            segmentOpen = true;
+        }
+        if (size == effects.length) {
+            effects = Arrays.copyOf(effects, size * 2);
+        }
+        effects[size++] = effect;
+    }
+
+    private void clear() {
+        Arrays.fill(effects, 0, size, null);
+        size = 0;
+        segments = 0;
+        segmentOpen = false;
+    }
+
+    /**
+     * Runs and clears every buffer in the queue. Each script's run of effects is one segment;
+     * segments are sorted by packing the script order and a segment index into one long, so
+     * the merge sorts a primitive array and allocates nothing per effect.
+     *
+     * @param dirty the buffers that received effects since the last call
+     * @throws IllegalStateException if script orders are too large to be packed
+     */
+    static void applyAll(Queue<EffectBuffer> dirty) {
+        if (dirty.isEmpty()) return;
+        List<EffectBuffer> buffers = new ArrayList<>();
+        for (EffectBuffer buffer; (buffer = dirty.poll()) != null; ) {
+            buffers.add(buffer);
+        }
+        try {
+            int total = 0;
+            for (EffectBuffer buffer : buffers) {
+                total += buffer.segments;
+            }
+            int indexBits = 64 - Long.numberOfLeadingZeros(Math.max(1, total - 1));
+            long indexMask = (1L << indexBits) - 1;
+            long[] keys = new long[total];
+            EffectBuffer[] owners = new EffectBuffer[total];
+            int[] positions = new int[total];
+            int next = 0;
+            for (EffectBuffer buffer : buffers) {
+                for (int i = 0; i < buffer.segments; i++) {
+                    long segmentOrder = buffer.segmentOrders[i];
+                    if (segmentOrder >>> (63 - indexBits) != 0) {
+                        throw new IllegalStateException("Script order too large to sort effects");
+                    }
+                    keys[next] = segmentOrder << indexBits | next;
+                    owners[next] = buffer;
+                    positions[next] = i;
+                    next++;
+                }
+            }
+            Arrays.sort(keys);
+            for (long key : keys) {
+                int index = (int) (key & indexMask);
+                owners[index].runSegment(positions[index]);
+            }
+        } finally {
+            for (EffectBuffer buffer : buffers) {
+                buffer.clear();
+            }
+        }
+    }
+
+    private void runSegment(int segment) {
+        int end = segment + 1 < segments ? segmentStarts[segment + 1] : size;
+        for (int i = segmentStarts[segment]; i < end; i++) {
+            effects[i].run();
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package dev.quivern.script;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Bounded message queue owned by one script.
+ * <p>
+ * Any thread may {@link #send(Object)}; sending never blocks and returns false when the
+ * mailbox is full. Messages skipped by a selective receive stay queued and keep counting
+ * toward the capacity until they are taken. Only the owning script reads, from its steps during its update: see
+ * {@code ReceiveStep} and {@code ReceiveMatchingStep}. Messages are kept in a lock-free
+ * multi-producer, single-consumer ring: producers claim a slot with one CAS and publish it by
+ * advancing the slot's sequence number, and the consumer reads without any atomic
+ * read-modify-write. A script waiting for a message is parked and woken by the next send,
+ * so idle receivers are not visited by ticks.
+ * <p>
+ * Mailboxes are opened with {@link ScriptManager#openMailbox(String, int)}.
+ */
+public final class Mailbox {
+    private final Script owner;
+    private final Object[] buffer;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final LongAdder rejected = new LongAdder();
+    private final ArrayDeque<Object> deferred = new ArrayDeque<>();
+    private long head;
+    private volatile int held;
+    private volatile boolean waiting;
+
+    Mailbox(Script owner, int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.owner = owner;
+        this.buffer = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Sends a message to the owning script. Safe to call from any thread; never blocks.
+     *
+     * @param message the message
+     * @return true if the message was queued, false if the mailbox is full
+     * @throws NullPointerException if message is null
+     */
+    public boolean send(Object message) {
+        java.util.Objects.requireNonNull(message, "Message cannot be null");
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (!hasRoomFor(position)) {
+                    rejected.increment();
+                    return false;
+                }
+                if (tail.compareAndSet(position, position + 1)) {
+                    buffer[index] = message;
+                    // Volatile publish: must not be reordered with the read of waiting below
+                    sequences.set(index, position + 1);
+                    break;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                rejected.increment();
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+        if (waiting) {
+            waiting = false;
+            owner.unpark();
+        }
+        return true;
+    }
+
+    /**
+     * Takes the oldest message, including messages skipped by {@link #pollMatching}.
+     * Must only be called while the owning script is being updated.
+     *
+     * @return the message, or null if there is none
+     */
+    public Object poll() {
+        Object message = deferred.poll();
+        if (message == null) return take();
+        held = deferred.size();
+        return message;
+    }
+
+    /**
+     * Takes the oldest message of a type that matches a filter. Messages read past are kept,
+     * in order, for later receives. Must only be called while the owning script is being updated.
+     *
+     * @param type the message type
+     * @param filter the condition the message must meet
+     * @param <T> the message type
+     * @return the message, or null if none matches
+     */
+    public <T> T pollMatching(Class<T> type, Predicate<? super T> filter) {
+        for (Iterator<Object> it = deferred.iterator(); it.hasNext(); ) {
+            Object message = it.next();
+            if (matches(message, type, filter)) {
+                it.remove();
+                held = deferred.size();
+                return type.cast(message);
+            }
+        }
+        Object message;
+        try {
+            while ((message = take()) != null) {
+                if (matches(message, type, filter)) {
+                    return type.cast(message);
+                }
+                deferred.add(message);
+            }
+        } finally {
+            held = deferred.size();
+        }
+        return null;
+    }
+
+    /**
+     * Parks the owning script until the next message is sent, unless one has arrived already.
+     * Must only be called while the owning script is being updated.
+     */
+    public void awaitMessage() {
+        waiting = true;
+        if (sequences.get((int) head & mask) == head + 1) {
+            waiting = false;
+            return;
+        }
+        owner.park();
+    }
+
+    /**
+     * Gets the approximate number of queued messages, including skipped ones.
+     *
+     * @return the message count
+     */
+    public int size() {
+        return (int) (tail.get() - head) + deferred.size();
+    }
+
+    /**
+     * Gets the capacity of the ring, rounded up to a power of two.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return buffer.length;
+    }
+
+    /**
+     * Gets the number of messages rejected because the mailbox was full.
+     *
+     * @return the rejected count
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Gets the script that reads this mailbox.
+     *
+     * @return the owner
+     */
+    public Script getOwner() {
+        return owner;
+    }
+
+    /**
+     * Checks that a message claiming the free ring slot at a position still fits once the
+     * skipped messages are counted, by checking that the slot as many positions further on
+     * has been released too.
+     */
+    private boolean hasRoomFor(long position) {
+        int skipped = held;
+        if (skipped == 0) return true;
+        long limit = position + skipped;
+        return sequences.get((int) limit & mask) == limit;
+    }
+
+    private Object take() {
+        int index = (int) head & mask;
+        if (sequences.get(index) != head + 1) return null;
+        Object message = buffer[index];
+        buffer[index] = null;
+        sequences.lazySet(index, head + buffer.length);
+        head++;
+        return message;
+    }
+
+    private static <T> boolean matches(Object message, Class<T> type, Predicate<? super T> filter) {
+        return type.isInstance(message) && filter.test(type.cast(message));
+    }
+}
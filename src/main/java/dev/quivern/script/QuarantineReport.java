@@ -0,0 +1,50 @@
+package dev.quivern.script;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+/**
+ * Describes why a {@link ScriptWatchdog} quarantined a script.
+ *
+ * @param scriptName the name of the quarantined script
+ * @param reason the offence that triggered the quarantine
+ * @param failure the exception thrown by the last update, or null for an overrun
+ * @param updateNanos the duration of the last update in nanoseconds
+ * @param strikes the number of offences counted against the script
+ * @param timeMillis the wall-clock time of the quarantine
+ */
+public record QuarantineReport(String scriptName, Reason reason, Throwable failure,
+                               long updateNanos, int strikes, long timeMillis) {
+
+    /**
+     * Kinds of offences counted by the watchdog.
+     */
+    public enum Reason {
+        /**
+         * An update threw an exception.
+         */
+        FAILURE,
+        /**
+         * An update took longer than the budget.
+         */
+        OVERRUN
+    }
+
+    /**
+     * Gets the stack trace of the failure.
+     *
+     * @return the formatted stack trace, or an empty string for an overrun
+     */
+    public String stackTrace() {
+        if (failure == null) return "";
+        StringWriter out = new StringWriter();
+        failure.printStackTrace(new PrintWriter(out));
+        return out.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "QuarantineReport[" + scriptName + ", " + reason + " after " + strikes + " strikes, last update "
+                + updateNanos / 1000 + "us" + (failure != null ? ", " + failure : "") + "]";
+    }
+}
@@ -2,21 +2,37 @@ package dev.quivern.script;
 
 import dev.quivern.script.api.IScriptStep;
 import dev.quivern.script.api.LoopStrategy;
+import dev.quivern.script.api.ScriptClock;
 import dev.quivern.script.api.ScriptAction;
 import dev.quivern.script.api.ScriptTime;
+import dev.quivern.script.event.ScriptEvent;
+import dev.quivern.script.event.ScriptListener;
+import dev.quivern.script.jfr.LoopIterationEvent;
+import dev.quivern.script.jfr.ScriptUpdateEvent;
+import dev.quivern.script.jfr.StepPerformEvent;
+import dev.quivern.script.jfr.StepTransitionEvent;
 import dev.quivern.script.steps.DelayedStep;
+import dev.quivern.script.state.ScriptStateStore;
 import dev.quivern.script.steps.DelayedTickStep;
-import dev.quivern.script.strategy.FiniteLoopStrategy;
+import dev.quivern.script.strategy.SingleRunStrategy;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 
 /**
  * Manages a sequence of script steps with support for loops and time tracking.
  * Steps are executed sequentially and can be configured to repeat.
+ * <p>
+ * A script and its steps are not thread-safe. They may be updated by different
+ * threads over time as long as each update happens-before the next one, which
+ * {@link ScriptManager} guarantees for the scripts it manages.
  */
 @Getter
 @Setter
@@ -27,12 +43,55 @@ public class Script {
      */
     public static final ScriptAction EMPTY = () -> {
     };
-    
-    private final ScriptTime time = new ScriptTime();
-    private final List<IScriptStep> steps = new LinkedList<>();
+
+    private static final AtomicReferenceFieldUpdater<Script, Thread> OWNER =
+            AtomicReferenceFieldUpdater.newUpdater(Script.class, Thread.class, "owner");
+    private static final AtomicIntegerFieldUpdater<Script> PARK_STATE =
+            AtomicIntegerFieldUpdater.newUpdater(Script.class, "parkState");
+    private static final int RUNNABLE = 0;
+    private static final int PARKED = 1;
+    private static final int PERMIT = 2;
+
+    @Getter(AccessLevel.NONE)
+    private final SuspendableClock clock = new SuspendableClock(this);
+    private final ScriptTime time = new ScriptTime(clock);
+    private final List<IScriptStep> steps = new ArrayList<>(0);
     private int currentStepIndex = 0;
     private boolean interrupt;
-    private LoopStrategy loopStrategy = new FiniteLoopStrategy(0);
+    private LoopStrategy loopStrategy = SingleRunStrategy.INSTANCE;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private ScriptListener listener;
+    @Setter(AccessLevel.PACKAGE)
+    private String name;
+    @Setter(AccessLevel.NONE)
+    private volatile ScriptGroup group;
+    @Setter(AccessLevel.NONE)
+    private volatile Mailbox mailbox;
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    private long effectOrder;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean started;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile Thread owner;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile boolean ownershipChecks;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private long costEstimate;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile int parkState;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private List<Runnable> completionCallbacks;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean completed;
 
 
     /**
@@ -98,6 +157,7 @@ public class Script {
     public Script cleanup() {
         steps.clear();
         currentStepIndex = 0;
+        started = false;
         time.reset();
         return this;
     }
@@ -107,22 +167,312 @@ public class Script {
      * Called each frame/tick by the script manager.
      */
     public void update() {
-        if (steps.isEmpty() || interrupt) return;
+        boolean claimed = claimOwnership();
+        try {
+            updateOwned();
+        } finally {
+            if (claimed) owner = null;
+        }
+    }
+
+    private void updateOwned() {
+        if (steps.isEmpty() || interrupt || clock.isFrozen() || parkState == PARKED) return;
+        ScriptUpdateEvent event = new ScriptUpdateEvent();
+        event.begin();
+        IScriptStep performed = enterCurrentStep();
+        if (performed == null) return;
+        int performedIndex = currentStepIndex;
+        performStep(performed);
+        if (event.shouldCommit()) {
+            event.commit(name, performedIndex, performed.getClass());
+        }
+    }
+
+    /**
+     * Fast-forwards the script by a number of ticks, with the same outcome as calling
+     * {@link #update()} that many times while script time stands still.
+     * Steps that support {@link IScriptStep#fastForward(long, ScriptTime)}, such as tick delays,
+     * tick-timed steps and repeats of them, skip their remaining ticks in one call; other
+     * steps are updated tick by tick. When every step has a fixed
+     * {@link IScriptStep#tickLength()} and the loop strategy reports its
+     * {@link LoopStrategy#remainingLoops()}, whole loop iterations are skipped in bulk and
+     * reported with a single {@code LOOPED} transition. Stops early once the script finishes,
+     * is interrupted or suspended.
+     *
+     * @param ticks the number of ticks to advance
+     * @return the number of ticks actually advanced
+     * @throws IllegalArgumentException if ticks is negative
+     */
+    public long advance(long ticks) {
+        if (ticks < 0) {
+            throw new IllegalArgumentException("Ticks cannot be negative");
+        }
+        boolean claimed = claimOwnership();
+        try {
+            return advanceOwned(ticks);
+        } finally {
+            if (claimed) owner = null;
+        }
+    }
+
+    private long advanceOwned(long ticks) {
+        long remaining = ticks;
+        while (remaining > 0 && !steps.isEmpty() && !interrupt && !clock.isFrozen() && parkState != PARKED) {
+            if (currentStepIndex >= steps.size()) {
+                remaining -= skipWholeLoops(remaining);
+                if (remaining == 0) break;
+            }
+            IScriptStep current = enterCurrentStep();
+            if (current == null) break;
+            long used = current.fastForward(remaining, time);
+            if (used > 0) {
+                if (current.isFinished()) {
+                    completeStep(current);
+                }
+            } else {
+                performStep(current);
+                used = 1;
+            }
+            remaining -= used;
+        }
+        return ticks - remaining;
+    }
+
+    /**
+     * Fast-forwards the script's clock by a time span.
+     * Rather than sampling the span tick by tick, the clock jumps straight to each upcoming
+     * step deadline within the span and the script is updated once there, so chains of
+     * time-based steps complete in one update each and every following step starts at the
+     * exact time the previous one finished. A step without a known deadline is updated once
+     * at the end of the span. Does nothing if the script is empty, interrupted or suspended.
+     *
+     * @param millis the time span in milliseconds
+     * @throws IllegalArgumentException if millis is negative
+     */
+    public void advanceTime(long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("Duration cannot be negative");
+        }
+        boolean claimed = claimOwnership();
+        try {
+            advanceTimeOwned(millis);
+        } finally {
+            if (claimed) owner = null;
+        }
+    }
+
+    private void advanceTimeOwned(long millis) {
+        long remaining = millis;
+        int stalls = 0;
+        while (!steps.isEmpty() && !interrupt && !clock.isFrozen() && parkState != PARKED) {
+            long jump = 0;
+            if (currentStepIndex < steps.size()) {
+                long wakeUp = steps.get(currentStepIndex).nextWakeUp(time);
+                boolean deadline = wakeUp != IScriptStep.WAKE_EVERY_TICK && wakeUp != IScriptStep.WAKE_ON_SIGNAL;
+                jump = deadline ? Math.min(remaining, Math.max(0, wakeUp - time.currentTime())) : remaining;
+            }
+            clock.advance(jump);
+            remaining -= jump;
+            if (performCurrentStep() == null) {
+                clock.advance(remaining);
+                return;
+            }
+            if (remaining == 0) return;
+            // Zero-length steps make no headway in time; stop before looping through them forever
+            stalls = jump == 0 ? stalls + 1 : 0;
+            if (stalls > steps.size()) return;
+        }
+    }
+
+    private IScriptStep performCurrentStep() {
+        IScriptStep current = enterCurrentStep();
+        if (current == null) return null;
+        performStep(current);
+        return current;
+    }
+
+    /**
+     * Skips as many whole loop iterations as fit in the given ticks, leaving at least the last
+     * iteration to the regular path so the script finishes as usual.
+     *
+     * @return the number of ticks skipped
+     */
+    private long skipWholeLoops(long ticks) {
+        if (!loopStrategy.shouldLoop(currentStepIndex, steps.size())) return 0;
+        long loopTicks = 0;
+        for (IScriptStep step : steps) {
+            long length = step.tickLength();
+            if (length <= 0 || length > ticks - loopTicks) return 0;
+            loopTicks += length;
+        }
+        long loops = Math.min(ticks / loopTicks, loopStrategy.remainingLoops() - 1L);
+        if (loops <= 0) return 0;
+        steps.forEach(IScriptStep::reset);
+        if (steps.size() == 1) {
+            steps.get(0).completeRuns(loops, time);
+        } else {
+            for (long loop = 0; loop < loops; loop++) {
+                for (IScriptStep step : steps) {
+                    if (loop > 0) {
+                        step.reset();
+                    }
+                    step.completeRuns(1, time);
+                }
+            }
+        }
+        loopStrategy.skipLoops((int) loops);
+        time.reset();
+        LoopIterationEvent loopEvent = new LoopIterationEvent();
+        if (loopEvent.shouldCommit()) {
+            loopEvent.commit(name, loopStrategy.currentLoop());
+        }
+        notifyListener(ScriptEvent.Type.LOOPED);
+        return loops * loopTicks;
+    }
+
+    /**
+     * Handles looping and the start notification before a step is performed.
+     *
+     * @return the current step, or null if the script has finished
+     */
+    private IScriptStep enterCurrentStep() {
         if (currentStepIndex >= steps.size()) {
             if (loopStrategy.shouldLoop(currentStepIndex, steps.size())) {
                 currentStepIndex = 0;
                 loopStrategy.onLoop();
                 steps.forEach(IScriptStep::reset);
+                LoopIterationEvent loopEvent = new LoopIterationEvent();
+                if (loopEvent.shouldCommit()) {
+                    loopEvent.commit(name, loopStrategy.currentLoop());
+                }
+                notifyListener(ScriptEvent.Type.LOOPED);
             } else {
-                return;
+                return null;
             }
         }
-        IScriptStep current = steps.get(currentStepIndex);
+        if (!started) {
+            started = true;
+            notifyListener(ScriptEvent.Type.STARTED);
+        }
+        return steps.get(currentStepIndex);
+    }
+
+    private void performStep(IScriptStep current) {
+        StepPerformEvent performEvent = new StepPerformEvent();
+        performEvent.begin();
         current.perform(time);
+        if (performEvent.shouldCommit()) {
+            performEvent.commit(name, currentStepIndex, current.getClass());
+        }
         if (current.isFinished()) {
-            ++currentStepIndex;
-            time.reset();
+            completeStep(current);
+        }
+    }
+
+    private void completeStep(IScriptStep current) {
+        StepTransitionEvent transitionEvent = new StepTransitionEvent();
+        if (transitionEvent.shouldCommit()) {
+            transitionEvent.commit(name, currentStepIndex, current.getClass());
+        }
+        ++currentStepIndex;
+        time.reset();
+        notifyListener(ScriptEvent.Type.STEP_ADVANCED);
+        if (isFinished()) {
+            notifyListener(ScriptEvent.Type.FINISHED);
+            complete();
+        }
+    }
+
+    /**
+     * Sets the interrupt flag. An interrupted script is not updated until the flag is cleared.
+     *
+     * @param interrupt true to interrupt the script
+     */
+    public void setInterrupt(boolean interrupt) {
+        boolean wasInterrupted = this.interrupt;
+        this.interrupt = interrupt;
+        if (interrupt && !wasInterrupted) {
+            notifyListener(ScriptEvent.Type.INTERRUPTED);
+        }
+    }
+
+    private void notifyListener(ScriptEvent.Type type) {
+        if (listener != null) {
+            listener.onTransition(this, type, currentStepIndex);
+        }
+    }
+
+    /**
+     * Gets the listener installed by the managing {@link ScriptManager}.
+     *
+     * @return the manager's listener, or null if the script is not managed
+     */
+    public ScriptListener getListener() {
+        return listener instanceof ChainedListener chained ? chained.manager() : listener;
+    }
+
+    /**
+     * Installs the listener of the managing manager, keeping any user listener behind it.
+     *
+     * @param listener the manager's listener, or null to remove it
+     */
+    void setListener(ScriptListener listener) {
+        ScriptListener user = getUserListener();
+        this.listener = user != null ? new ChainedListener(listener, user) : listener;
+    }
+
+    /**
+     * Gets the listener set with {@link #setUserListener(ScriptListener)}.
+     *
+     * @return the user listener, or null if none is set
+     */
+    public ScriptListener getUserListener() {
+        return listener instanceof ChainedListener chained ? chained.user() : null;
+    }
+
+    /**
+     * Enables or disables ownership checks for this script.
+     * Set by the manager on the scripts it manages.
+     *
+     * @param enabled true to check ownership on every update
+     */
+    void setOwnershipChecks(boolean enabled) {
+        this.ownershipChecks = enabled;
+    }
+
+    /**
+     * Takes exclusive ownership of this script for one update if ownership checks are enabled.
+     *
+     * @return true if ownership was taken and must be released
+     * @throws ConcurrentModificationException if another thread is updating this script
+     */
+    private boolean claimOwnership() {
+        if (!ownershipChecks) return false;
+        Thread current = Thread.currentThread();
+        if (!OWNER.compareAndSet(this, null, current)) {
+            throw new ConcurrentModificationException("Script is already being updated by " + owner
+                    + " while " + current + " tried to update it");
         }
+        return true;
+    }
+
+    /**
+     * Gets the moving average of this script's update cost.
+     *
+     * @return the estimated cost of one update in nanoseconds
+     */
+    long costEstimate() {
+        return costEstimate;
+    }
+
+    /**
+     * Folds a measured update cost into the moving average.
+     * Weights the new sample by 1/4 so the estimate follows changes within a few ticks.
+     *
+     * @param nanos the measured cost in nanoseconds
+     */
+    void recordCost(long nanos) {
+        costEstimate += (nanos - costEstimate) >> 2;
     }
 
     /**
@@ -137,6 +487,20 @@ public class Script {
         return this;
     }
 
+    /**
+     * Sets a listener for the lifecycle transitions of this script.
+     * It is called after the listener of the managing {@link ScriptManager}, which keeps its
+     * own bookkeeping and cannot be replaced.
+     *
+     * @param listener the listener, or null to remove it
+     * @return this script for chaining
+     */
+    public Script setUserListener(ScriptListener listener) {
+        ScriptListener manager = getListener();
+        this.listener = listener != null ? new ChainedListener(manager, listener) : manager;
+        return this;
+    }
+
     /**
      * Checks if the script has finished execution.
      * Note: Auto-cleanup behavior can be disabled by calling setAutoCleanup(false).
@@ -147,6 +511,169 @@ public class Script {
         return currentStepIndex >= steps.size() && !interrupt && loopStrategy.isFinished();
     }
     
+    /**
+     * Gets the earliest time at which updating this script can make progress.
+     * A runtime may skip updates until then unless the script is changed from outside.
+     *
+     * @return the wall-clock wake-up time in milliseconds,
+     *         {@link IScriptStep#WAKE_EVERY_TICK} or {@link IScriptStep#WAKE_ON_SIGNAL}
+     */
+    public long nextWakeUp() {
+        if (steps.isEmpty() || interrupt || clock.isFrozen() || parkState == PARKED) return IScriptStep.WAKE_ON_SIGNAL;
+        if (currentStepIndex >= steps.size()) {
+            return loopStrategy.shouldLoop(currentStepIndex, steps.size())
+                    ? IScriptStep.WAKE_EVERY_TICK : IScriptStep.WAKE_ON_SIGNAL;
+        }
+        ScriptGroup current = group;
+        if (current != null && current.isEffectivelyPaused()) return IScriptStep.WAKE_ON_SIGNAL;
+        if (!started) return IScriptStep.WAKE_EVERY_TICK;
+        long wakeUp = steps.get(currentStepIndex).nextWakeUp(time);
+        if (wakeUp == IScriptStep.WAKE_EVERY_TICK || wakeUp == IScriptStep.WAKE_ON_SIGNAL) return wakeUp;
+        return time.getClock().toSystemTime(wakeUp);
+    }
+
+    /**
+     * Gets the script whose steps are being performed with the given time tracker.
+     * Lets steps act on the script running them, for example to park it.
+     *
+     * @param time the time tracker passed to {@link IScriptStep#perform(ScriptTime)}
+     * @return the owning script, or null if the time does not belong to a script
+     */
+    public static Script of(ScriptTime time) {
+        return time != null && time.getClock() instanceof SuspendableClock clock ? clock.owner() : null;
+    }
+
+    /**
+     * Moves this script into a group's time domain, keeping the elapsed time of the current step.
+     *
+     * @param group the group, or null for wall-clock time
+     */
+    void setGroup(ScriptGroup group) {
+        this.group = group;
+        clock.setBase(group != null ? group : ScriptClock.SYSTEM);
+    }
+
+    /**
+     * Suspends the script. A suspended script is not updated and its time stands still,
+     * including the timers of all its steps, so it resumes exactly where it stopped.
+     * A managed script is moved out of the set visited by ticks until it is resumed.
+     */
+    public void suspend() {
+        if (clock.isFrozen()) return;
+        clock.freeze();
+        notifyListener(ScriptEvent.Type.SUSPENDED);
+    }
+
+    /**
+     * Resumes a suspended script.
+     */
+    public void resume() {
+        if (!clock.isFrozen()) return;
+        clock.unfreeze();
+        notifyListener(ScriptEvent.Type.RESUMED);
+    }
+
+    /**
+     * Checks if the script is suspended.
+     *
+     * @return true if suspended
+     */
+    public boolean isSuspended() {
+        return clock.isFrozen();
+    }
+
+    /**
+     * Parks the script until {@link #unpark()} is called. A parked script is skipped by
+     * updates and, when managed, moved out of the set visited by ticks; unlike
+     * {@link #suspend()}, its time keeps running. If {@link #unpark()} was called since the
+     * script last parked, the call consumes it and returns without parking, so a wake-up
+     * issued between checking a condition and parking is never lost.
+     * Used by steps that wait for other scripts, such as joins and latches.
+     */
+    public void park() {
+        if (PARK_STATE.compareAndSet(this, PERMIT, RUNNABLE)) return;
+        if (PARK_STATE.compareAndSet(this, RUNNABLE, PARKED)) {
+            notifyListener(ScriptEvent.Type.PARKED);
+        }
+    }
+
+    /**
+     * Unparks the script, or lets its next {@link #park()} return immediately if it is not
+     * parked. Safe to call from any thread.
+     */
+    public void unpark() {
+        while (true) {
+            int state = parkState;
+            if (state == PERMIT) return;
+            if (PARK_STATE.compareAndSet(this, state, state == PARKED ? RUNNABLE : PERMIT)) {
+                if (state == PARKED) {
+                    notifyListener(ScriptEvent.Type.UNPARKED);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gets the mailbox of this script, creating it on first use.
+     *
+     * @param capacity the capacity of a new mailbox
+     * @return the mailbox
+     */
+    synchronized Mailbox openMailbox(int capacity) {
+        if (mailbox == null) {
+            mailbox = new Mailbox(this, capacity);
+        }
+        return mailbox;
+    }
+
+    /**
+     * Checks if the script is parked.
+     *
+     * @return true if parked
+     */
+    public boolean isParked() {
+        return parkState == PARKED;
+    }
+
+    /**
+     * Registers a callback run once when this script finishes or is removed from its manager,
+     * whichever comes first. Runs the callback immediately if that has already happened.
+     * Callbacks run on the thread that finishes or removes the script.
+     *
+     * @param callback the callback
+     * @throws NullPointerException if callback is null
+     */
+    public void whenDone(Runnable callback) {
+        java.util.Objects.requireNonNull(callback, "Callback cannot be null");
+        synchronized (this) {
+            if (!completed && !isFinished()) {
+                if (completionCallbacks == null) {
+                    completionCallbacks = new ArrayList<>(2);
+                }
+                completionCallbacks.add(callback);
+                return;
+            }
+        }
+        callback.run();
+    }
+
+    /**
+     * Marks the script as done and runs its completion callbacks.
+     */
+    void complete() {
+        List<Runnable> callbacks;
+        synchronized (this) {
+            if (completed) return;
+            completed = true;
+            callbacks = completionCallbacks;
+            completionCallbacks = null;
+        }
+        if (callbacks != null) {
+            callbacks.forEach(Runnable::run);
+        }
+    }
+
     /**
      * Checks if script is finished and needs cleanup.
      * 
@@ -163,8 +690,80 @@ public class Script {
     public void reset() {
         currentStepIndex = 0;
         interrupt = false;
+        started = false;
         time.reset();
         steps.forEach(IScriptStep::reset);
         loopStrategy.reset();
+        synchronized (this) {
+            completed = false;
+        }
+        if (PARK_STATE.getAndSet(this, RUNNABLE) == PARKED) {
+            notifyListener(ScriptEvent.Type.UNPARKED);
+        }
+    }
+
+    /**
+     * Writes the execution state of this script into a state store record.
+     * Captures the step index, loop iteration, interrupt flag, time spent in
+     * the current step and the packed progress of the current step, including that of
+     * steps nested inside it; the store needs enough state words for the nested progress.
+     *
+     * @param store the state store
+     * @param slot the allocated record to write
+     * @throws IllegalStateException if the record has too few state words for the current step
+     */
+    public void saveState(ScriptStateStore store, int slot) {
+        store.setStepIndex(slot, currentStepIndex);
+        store.setLoop(slot, loopStrategy.currentLoop());
+        store.setFlags(slot, (interrupt ? ScriptStateStore.FLAG_INTERRUPTED : 0)
+                | (clock.isFrozen() ? ScriptStateStore.FLAG_SUSPENDED : 0));
+        store.setElapsed(slot, time.elapsedTime());
+        if (currentStepIndex < steps.size()) {
+            steps.get(currentStepIndex).saveState(time, store.stateWriter(slot));
+        } else {
+            store.setStepState(slot, 0L);
+        }
+    }
+
+    /**
+     * Restores execution state previously written with {@link #saveState(ScriptStateStore, int)}.
+     * The script must contain the same steps as the one that was saved.
+     *
+     * @param store the state store
+     * @param slot the record to read
+     * @throws IllegalStateException if the stored step index does not fit this script
+     */
+    public void restoreState(ScriptStateStore store, int slot) {
+        int stepIndex = store.getStepIndex(slot);
+        if (stepIndex < 0 || stepIndex > steps.size()) {
+            throw new IllegalStateException("Stored step index " + stepIndex + " does not fit script with "
+                    + steps.size() + " steps");
+        }
+        reset();
+        currentStepIndex = stepIndex;
+        loopStrategy.restoreLoop(store.getLoop(slot));
+        interrupt = (store.getFlags(slot) & ScriptStateStore.FLAG_INTERRUPTED) != 0;
+        time.reset(-store.getElapsed(slot));
+        if (stepIndex < steps.size()) {
+            steps.get(stepIndex).restoreState(store.stateReader(slot));
+        }
+        if ((store.getFlags(slot) & ScriptStateStore.FLAG_SUSPENDED) != 0) {
+            suspend();
+        } else {
+            resume();
+        }
+    }
+
+    /**
+     * Calls the manager's listener, then the user listener.
+     */
+    private record ChainedListener(ScriptListener manager, ScriptListener user) implements ScriptListener {
+        @Override
+        public void onTransition(Script script, ScriptEvent.Type type, int stepIndex) {
+            if (manager != null) {
+                manager.onTransition(script, type, stepIndex);
+            }
+            user.onTransition(script, type, stepIndex);
+        }
     }
 }
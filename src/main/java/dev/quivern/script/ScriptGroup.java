@@ -0,0 +1,185 @@
+package dev.quivern.script;
+
+import dev.quivern.script.api.IScriptStep;
+import dev.quivern.script.api.ScriptClock;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A node in a tree of script groups, each with its own time domain.
+ * <p>
+ * A group's clock runs at its time scale relative to its parent's clock and stops while the
+ * group is paused, so pausing or slowing a group affects every time-based step of its
+ * scripts and of all nested groups at once. Pausing, resuming and rescaling are single
+ * writes regardless of group size, and {@link ScriptManager#updateAll()} skips a paused
+ * group's whole subtree without visiting its scripts.
+ * <p>
+ * Groups are created by {@link ScriptManager#createGroup(String, ScriptGroup)}.
+ */
+public final class ScriptGroup implements ScriptClock {
+    private final String name;
+    private final ScriptGroup parent;
+    private final ScriptManager manager;
+    private final List<ScriptGroup> children = new CopyOnWriteArrayList<>();
+    private final Set<Script> members = ConcurrentHashMap.newKeySet();
+    private volatile Segment segment;
+
+    ScriptGroup(String name, ScriptGroup parent, ScriptManager manager) {
+        this.name = name;
+        this.parent = parent;
+        this.manager = manager;
+        long now = parentTime();
+        this.segment = new Segment(now, now, 1.0, false);
+        if (parent != null) {
+            parent.children.add(this);
+        }
+    }
+
+    /**
+     * Gets the group name.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the parent group.
+     *
+     * @return the parent, or null for a top-level group
+     */
+    public ScriptGroup getParent() {
+        return parent;
+    }
+
+    /**
+     * Gets the nested groups.
+     *
+     * @return an unmodifiable view of the child groups
+     */
+    public List<ScriptGroup> getChildren() {
+        return Collections.unmodifiableList(children);
+    }
+
+    /**
+     * Gets the number of scripts directly in this group.
+     *
+     * @return the member count
+     */
+    public int size() {
+        return members.size();
+    }
+
+    /**
+     * Stops this group's clock and its scripts' updates, including nested groups.
+     */
+    public synchronized void pause() {
+        Segment current = segment;
+        if (current.paused) return;
+        long parentNow = parentTime();
+        segment = new Segment(parentNow, current.timeAt(parentNow), current.scale, true);
+    }
+
+    /**
+     * Restarts this group's clock from where it was paused.
+     */
+    public synchronized void resume() {
+        Segment current = segment;
+        if (!current.paused) return;
+        segment = new Segment(parentTime(), current.groupAnchor, current.scale, false);
+        manager.wakeUp();
+    }
+
+    /**
+     * Checks if this group itself is paused.
+     *
+     * @return true if paused
+     */
+    public boolean isPaused() {
+        return segment.paused;
+    }
+
+    /**
+     * Checks if this group or any of its ancestors is paused.
+     *
+     * @return true if the group's scripts are not being updated
+     */
+    public boolean isEffectivelyPaused() {
+        for (ScriptGroup group = this; group != null; group = group.parent) {
+            if (group.segment.paused) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Sets how fast this group's clock runs relative to its parent's.
+     *
+     * @param scale the time scale; 1 is normal speed, 0 freezes time while still updating scripts
+     * @throws IllegalArgumentException if scale is negative or not finite
+     */
+    public synchronized void setTimeScale(double scale) {
+        if (!(scale >= 0) || Double.isInfinite(scale)) {
+            throw new IllegalArgumentException("Time scale must be a non-negative finite number");
+        }
+        Segment current = segment;
+        long parentNow = parentTime();
+        segment = new Segment(parentNow, current.timeAt(parentNow), scale, current.paused);
+        manager.wakeUp();
+    }
+
+    /**
+     * Gets the time scale relative to the parent group.
+     *
+     * @return the time scale
+     */
+    public double getTimeScale() {
+        return segment.scale;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return segment.timeAt(parentTime());
+    }
+
+    @Override
+    public long toSystemTime(long time) {
+        Segment current = segment;
+        if (current.paused || current.scale == 0) return IScriptStep.WAKE_ON_SIGNAL;
+        long parentDelta = (long) Math.ceil((time - current.groupAnchor) / current.scale);
+        long parentTarget = current.parentAnchor + parentDelta;
+        return parent != null ? parent.toSystemTime(parentTarget) : parentTarget;
+    }
+
+    @Override
+    public String toString() {
+        return "ScriptGroup[" + name + "]";
+    }
+
+    Set<Script> members() {
+        return members;
+    }
+
+    ScriptManager manager() {
+        return manager;
+    }
+
+    private long parentTime() {
+        return parent != null ? parent.currentTimeMillis() : System.currentTimeMillis();
+    }
+
+    /**
+     * Immutable piece of the group timeline: group time advances from {@code groupAnchor}
+     * at {@code scale} times the parent's rate since {@code parentAnchor}, or stands still if paused.
+     */
+    private record Segment(long parentAnchor, long groupAnchor, double scale, boolean paused) {
+        long timeAt(long parentNow) {
+            if (paused) return groupAnchor;
+            return groupAnchor + (long) ((parentNow - parentAnchor) * scale);
+        }
+    }
+}
@@ -1,19 +1,90 @@
 package dev.quivern.script;
 
+import dev.quivern.script.api.IScriptStep;
+import dev.quivern.script.event.ScriptEvent;
+import dev.quivern.script.event.ScriptEventPublisher;
+import dev.quivern.script.event.ScriptListener;
+import dev.quivern.script.jfr.ManagerTickEvent;
+
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 
 /**
  * Manages multiple named scripts with thread-safe operations.
  * Provides centralized control for script lifecycle and execution.
+ * <p>
+ * Script updates follow a single-owner model: every update issued by the manager
+ * runs under its tick lock, and within a tick each script is updated by at most one
+ * thread. Parallel ticks join all of their tasks before returning, so each update of a
+ * script happens-before its next update even when another worker thread performs it.
+ * Managed scripts must not be updated directly from other threads.
+ * <p>
+ * Bulk operations ({@link #spawnAll}, {@link #addAll}, {@link #removeIf}, {@link #removeAll})
+ * are staged and applied together, in call order, at the start of the next
+ * {@link #updateAll()} or on {@link #flushPending()}, so no tick sees half a batch.
+ * <p>
+ * Scripts can be placed in a tree of {@link ScriptGroup}s. Time-based steps read their
+ * group's clock, and ticks skip paused groups together with everything nested in them.
  */
 public class ScriptManager {
-    private final Map<String, Script> scripts = new ConcurrentHashMap<>();
+    private static final int TICK_STATS_WINDOW = 1024;
+
+    /**
+     * Batch size from which bulk operations are split across the common pool.
+     */
+    private static final int BULK_PARALLEL_THRESHOLD = 4096;
+    private static final int MIN_PARALLEL_BATCH = 64;
+
+    private final ConcurrentHashMap<String, Script> scripts = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Runnable> pending = new ConcurrentLinkedQueue<>();
+    private final Set<Script> ungrouped = ConcurrentHashMap.newKeySet();
+    private final Map<String, ScriptGroup> groups = new ConcurrentHashMap<>();
+    private final List<ScriptGroup> topGroups = new CopyOnWriteArrayList<>();
+    private final ReentrantLock tickLock = new ReentrantLock();
+    private final TickStats tickStats = new TickStats(TICK_STATS_WINDOW);
+    private volatile boolean ownershipChecks;
+    private volatile ScriptWatchdog watchdog;
+    private volatile boolean effectBuffering;
+    private volatile boolean costBalancing;
+    private final AtomicLong effectOrders = new AtomicLong();
+    private final ConcurrentLinkedQueue<EffectBuffer> dirtyEffects = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<EffectBuffer> effectBuffers = ThreadLocal.withInitial(() -> new EffectBuffer(dirtyEffects));
+    private volatile ScriptEventPublisher events;
+    private volatile Runnable wakeUpListener;
+    private final Set<Script> parked = ConcurrentHashMap.newKeySet();
+    private final ConcurrentLinkedQueue<Script> reactivated = new ConcurrentLinkedQueue<>();
+    private final ScriptListener scriptListener = (script, type, stepIndex) -> {
+        switch (type) {
+            case SUSPENDED, RESUMED, PARKED, UNPARKED -> relocate(script);
+            default -> { }
+        }
+        ScriptEventPublisher publisher = events;
+        if (publisher != null) {
+            publisher.emit(script.getName(), type, stepIndex);
+        }
+    };
 
     /**
      * Gets a script by name, creating it if it doesn't exist.
@@ -22,7 +93,13 @@ public class ScriptManager {
      * @return optional containing the script, empty if name is invalid
      */
     public Optional<Script> getScript(String name) {
-        return isNullOrEmpty(name) ? Optional.empty() : Optional.of(scripts.computeIfAbsent(name, k -> new Script()));
+        if (isNullOrEmpty(name)) return Optional.empty();
+        Script script = scripts.get(name);
+        if (script == null) {
+            script = scripts.computeIfAbsent(name, k -> attach(k, new Script()));
+            wakeUp();
+        }
+        return Optional.of(script);
     }
 
     /**
@@ -37,7 +114,119 @@ public class ScriptManager {
         if (isNullOrEmpty(name) || script == null) {
             throw new IllegalArgumentException("Script name or instance cannot be null or empty");
         }
-        return scripts.put(name, script);
+        Script previous = scripts.put(name, attach(name, script));
+        if (previous != null && previous != script) {
+            detach(previous);
+        }
+        wakeUp();
+        return previous;
+    }
+
+    /**
+     * Stages a batch of new scripts created from a supplier.
+     * For {@value #BULK_PARALLEL_THRESHOLD} scripts or more, scripts are created in parallel,
+     * so the supplier and name function must then be thread-safe. Buffered effects of the
+     * batch are applied in spawn index order.
+     *
+     * @param template supplies a new script for each index
+     * @param count the number of scripts to create
+     * @param nameFunction maps an index in {@code [0, count)} to a unique script name
+     * @throws NullPointerException if template or nameFunction is null
+     * @throws IllegalArgumentException if count is negative
+     */
+    public void spawnAll(Supplier<Script> template, int count, IntFunction<String> nameFunction) {
+        java.util.Objects.requireNonNull(template, "Template cannot be null");
+        java.util.Objects.requireNonNull(nameFunction, "Name function cannot be null");
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative");
+        }
+        Map<String, Script> batch = LinkedHashMap.newLinkedHashMap(count);
+        if (count >= BULK_PARALLEL_THRESHOLD) {
+            String[] names = new String[count];
+            Script[] spawned = new Script[count];
+            IntStream.range(0, count).parallel().forEach(i -> {
+                names[i] = nameFunction.apply(i);
+                spawned[i] = template.get();
+            });
+            for (int i = 0; i < count; i++) {
+                stage(batch, names[i], spawned[i]);
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                stage(batch, nameFunction.apply(i), template.get());
+            }
+        }
+        enqueue(() -> applyAdditions(batch));
+    }
+
+    /**
+     * Stages a batch of named scripts. Existing scripts with the same names are replaced.
+     * Buffered effects of the batch are applied in the map's iteration order.
+     *
+     * @param batch the scripts by name
+     * @throws NullPointerException if batch is null
+     * @throws IllegalArgumentException if a name or script is null/empty
+     */
+    public void addAll(Map<String, Script> batch) {
+        java.util.Objects.requireNonNull(batch, "Batch cannot be null");
+        Map<String, Script> copy = LinkedHashMap.newLinkedHashMap(batch.size());
+        batch.forEach((name, script) -> stage(copy, name, script));
+        enqueue(() -> applyAdditions(copy));
+    }
+
+    /**
+     * Stages the removal of every script matching a predicate.
+     * The predicate is evaluated when the batch is applied, in parallel for large managers.
+     *
+     * @param filter selects the scripts to remove
+     * @throws NullPointerException if filter is null
+     */
+    public void removeIf(Predicate<Script> filter) {
+        java.util.Objects.requireNonNull(filter, "Filter cannot be null");
+        enqueue(() -> scripts.forEach(BULK_PARALLEL_THRESHOLD, (name, script) -> {
+            if (filter.test(script) && scripts.remove(name, script)) {
+                detach(script);
+            }
+        }));
+    }
+
+    /**
+     * Stages the removal of scripts by name. Unknown names are ignored.
+     *
+     * @param names the names of the scripts to remove
+     * @throws NullPointerException if names is null
+     */
+    public void removeAll(Collection<String> names) {
+        java.util.Objects.requireNonNull(names, "Names cannot be null");
+        List<String> copy = List.copyOf(new HashSet<>(names));
+        enqueue(() -> {
+            if (copy.size() >= BULK_PARALLEL_THRESHOLD) {
+                copy.parallelStream().forEach(this::removeScript);
+            } else {
+                copy.forEach(this::removeScript);
+            }
+        });
+    }
+
+    /**
+     * Applies all staged bulk operations now instead of at the next tick.
+     */
+    public void flushPending() {
+        tickLock.lock();
+        try {
+            applyPending();
+        } finally {
+            tickLock.unlock();
+        }
+    }
+
+    /**
+     * Checks if bulk operations are waiting for the next tick.
+     *
+     * @return true if there are staged operations
+     */
+    public boolean hasPendingChanges() {
+        return !pending.isEmpty();
     }
 
     /**
@@ -57,7 +246,293 @@ public class ScriptManager {
      * @return true if the script exists and is finished
      */
     public boolean finished(String name) {
-        return !isNullOrEmpty(name) && getScript(name).map(Script::isFinished).orElse(false);
+        return status(name) == ScriptStatus.FINISHED;
+    }
+
+    /**
+     * Gets the status of a script without creating it.
+     *
+     * @param name the script name
+     * @return the status, {@link ScriptStatus#ABSENT} if no such script exists
+     */
+    public ScriptStatus status(String name) {
+        return isNullOrEmpty(name) ? ScriptStatus.ABSENT : ScriptStatus.of(scripts.get(name));
+    }
+
+    /**
+     * Gets the status of many scripts at once without creating any of them.
+     * Writes the {@link ScriptStatus#code()} of {@code names[i]} into {@code into[i]}.
+     *
+     * @param names the script names
+     * @param into the buffer to fill, at least as long as names
+     * @return the number of names that refer to existing scripts
+     * @throws IllegalArgumentException if the buffer is too short
+     */
+    public int statusAll(String[] names, byte[] into) {
+        if (into.length < names.length) {
+            throw new IllegalArgumentException("Status buffer is shorter than the name array");
+        }
+        int present = 0;
+        for (int i = 0; i < names.length; i++) {
+            ScriptStatus status = status(names[i]);
+            into[i] = status.code();
+            if (status != ScriptStatus.ABSENT) {
+                present++;
+            }
+        }
+        return present;
+    }
+
+    /**
+     * Counts finished scripts.
+     *
+     * @return the number of scripts with status {@link ScriptStatus#FINISHED}
+     */
+    public int countFinished() {
+        int count = 0;
+        for (Script script : scripts.values()) {
+            if (ScriptStatus.of(script) == ScriptStatus.FINISHED) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Counts scripts that still have work to do.
+     *
+     * @return the number of scripts with status {@link ScriptStatus#RUNNING}
+     */
+    public int countActive() {
+        int count = 0;
+        for (Script script : scripts.values()) {
+            if (ScriptStatus.of(script) == ScriptStatus.RUNNING) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Creates a top-level script group.
+     *
+     * @param name the unique group name
+     * @return the new group
+     * @throws IllegalArgumentException if the name is null/empty or already used
+     */
+    public ScriptGroup createGroup(String name) {
+        return createGroup(name, null);
+    }
+
+    /**
+     * Creates a script group nested in another group.
+     *
+     * @param name the unique group name
+     * @param parent the parent group, or null for a top-level group
+     * @return the new group
+     * @throws IllegalArgumentException if the name is null/empty or already used, or the parent belongs to another manager
+     */
+    public synchronized ScriptGroup createGroup(String name, ScriptGroup parent) {
+        if (isNullOrEmpty(name)) {
+            throw new IllegalArgumentException("Group name cannot be null or empty");
+        }
+        if (groups.containsKey(name)) {
+            throw new IllegalArgumentException("Group already exists: " + name);
+        }
+        checkOwnGroup(parent);
+        ScriptGroup group = new ScriptGroup(name, parent, this);
+        groups.put(name, group);
+        if (parent == null) {
+            topGroups.add(group);
+        }
+        return group;
+    }
+
+    /**
+     * Gets a group by name.
+     *
+     * @param name the group name
+     * @return optional containing the group, empty if not found
+     */
+    public Optional<ScriptGroup> getGroup(String name) {
+        return isNullOrEmpty(name) ? Optional.empty() : Optional.ofNullable(groups.get(name));
+    }
+
+    /**
+     * Adds or replaces a script with the given name inside a group.
+     *
+     * @param name the script name
+     * @param script the script instance
+     * @param group the group, or null for no group
+     * @return the previous script if any, null otherwise
+     * @throws IllegalArgumentException if name or script is null/empty, or the group belongs to another manager
+     */
+    public Script addScript(String name, Script script, ScriptGroup group) {
+        checkOwnGroup(group);
+        if (script != null && script.getGroup() != group) {
+            activeSetOf(script).remove(script);
+            script.setGroup(group);
+        }
+        return addScript(name, script);
+    }
+
+    /**
+     * Moves a managed script into a group, keeping the elapsed time of its current step.
+     * Takes effect between ticks.
+     *
+     * @param name the script name
+     * @param group the group, or null for no group
+     * @throws IllegalArgumentException if the script does not exist or the group belongs to another manager
+     */
+    public void setGroup(String name, ScriptGroup group) {
+        checkOwnGroup(group);
+        tickLock.lock();
+        try {
+            Script script = isNullOrEmpty(name) ? null : scripts.get(name);
+            if (script == null) {
+                throw new IllegalArgumentException("Unknown script: " + name);
+            }
+            if (script.getGroup() == group) return;
+            activeSetOf(script).remove(script);
+            script.setGroup(group);
+            activeSetOf(script).add(script);
+        } finally {
+            tickLock.unlock();
+        }
+        wakeUp();
+    }
+
+    /**
+     * Gets the earliest time at which any script can make progress.
+     * Returns as soon as one script needs every tick.
+     *
+     * @return the wall-clock wake-up time in milliseconds,
+     *         {@link IScriptStep#WAKE_EVERY_TICK}, or {@link IScriptStep#WAKE_ON_SIGNAL} if no script has work
+     */
+    public long nextWakeUp() {
+        if (!pending.isEmpty()) return IScriptStep.WAKE_EVERY_TICK;
+        long wakeUp = IScriptStep.WAKE_ON_SIGNAL;
+        for (Script script : scripts.values()) {
+            long scriptWakeUp = script.nextWakeUp();
+            if (scriptWakeUp == IScriptStep.WAKE_EVERY_TICK) return scriptWakeUp;
+            wakeUp = Math.min(wakeUp, scriptWakeUp);
+        }
+        return wakeUp;
+    }
+
+    /**
+     * Sets the callback run when a script is added, so an idle runtime stops sleeping.
+     *
+     * @param listener the callback, or null to remove it
+     */
+    public void setWakeUpListener(Runnable listener) {
+        this.wakeUpListener = listener;
+    }
+
+    /**
+     * Wakes an idle runtime driving this manager.
+     * Call after changing a script from outside a tick, for example clearing its interrupt flag.
+     */
+    public void wakeUp() {
+        Runnable listener = wakeUpListener;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Suspends a script. Its timers stand still and it is moved to a parked set that ticks
+     * do not visit until it is resumed.
+     *
+     * @param name the script name
+     * @return true if the script exists
+     */
+    public boolean suspend(String name) {
+        return withScript(name, Script::suspend);
+    }
+
+    /**
+     * Resumes a suspended script where it stopped.
+     * A script quarantined by the watchdog is released as by {@link #release(String)}.
+     *
+     * @param name the script name
+     * @return true if the script exists
+     */
+    public boolean resume(String name) {
+        return withScript(name, script -> {
+            ScriptWatchdog current = watchdog;
+            if (current != null) {
+                current.forget(script, name);
+            }
+            script.resume();
+        });
+    }
+
+    /**
+     * Counts suspended scripts.
+     *
+     * @return the number of suspended scripts
+     */
+    public int countSuspended() {
+        int count = 0;
+        for (Script script : parked) {
+            if (script.isSuspended()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Opens the mailbox of a script so other scripts and threads can send it messages.
+     * Returns the existing mailbox if the script already has one.
+     *
+     * @param name the script name
+     * @param capacity the maximum number of queued messages, rounded up to a power of two
+     * @return the mailbox, which can be kept as a handle for {@link Mailbox#send(Object)}
+     * @throws IllegalArgumentException if the script does not exist or capacity is out of range
+     */
+    public Mailbox openMailbox(String name, int capacity) {
+        Script script = isNullOrEmpty(name) ? null : scripts.get(name);
+        if (script == null) {
+            throw new IllegalArgumentException("Unknown script: " + name);
+        }
+        return script.openMailbox(capacity);
+    }
+
+    /**
+     * Sends a message to a script's mailbox. Safe to call from any thread; never blocks.
+     *
+     * @param name the script name
+     * @param message the message
+     * @return true if the message was queued, false if there is no such mailbox or it is full
+     * @throws NullPointerException if message is null
+     */
+    public boolean send(String name, Object message) {
+        java.util.Objects.requireNonNull(message, "Message cannot be null");
+        Script script = isNullOrEmpty(name) ? null : scripts.get(name);
+        Mailbox mailbox = script != null ? script.getMailbox() : null;
+        return mailbox != null && mailbox.send(message);
+    }
+
+    /**
+     * Releases a script from watchdog quarantine, clearing its strikes and resuming it.
+     *
+     * @param name the script name
+     * @return true if the script was quarantined
+     */
+    public boolean release(String name) {
+        ScriptWatchdog current = watchdog;
+        if (current == null || isNullOrEmpty(name)) return false;
+        tickLock.lock();
+        try {
+            Script script = scripts.get(name);
+            if (script == null || !current.forget(script, name)) return false;
+            script.resume();
+            return true;
+        } finally {
+            tickLock.unlock();
+        }
     }
 
     /**
@@ -67,7 +542,31 @@ public class ScriptManager {
      */
     public void removeScript(String name) {
         if (!isNullOrEmpty(name)) {
-            scripts.remove(name);
+            Script removed = scripts.remove(name);
+            if (removed != null) {
+                detach(removed);
+            }
+        }
+    }
+
+    /**
+     * Removes a script between ticks and hands it to the caller, for example to capture
+     * its state with {@link Script#saveState} and move it elsewhere.
+     *
+     * @param name the script name
+     * @return the removed script, or empty if there is no such script
+     */
+    public Optional<Script> detachScript(String name) {
+        if (isNullOrEmpty(name)) return Optional.empty();
+        tickLock.lock();
+        try {
+            Script removed = scripts.remove(name);
+            if (removed != null) {
+                detach(removed);
+            }
+            return Optional.ofNullable(removed);
+        } finally {
+            tickLock.unlock();
         }
     }
 
@@ -96,6 +595,7 @@ public class ScriptManager {
      * Removes all scripts from the manager.
      */
     public void clearAll() {
+        scripts.values().forEach(this::detach);
         scripts.clear();
     }
 
@@ -116,10 +616,17 @@ public class ScriptManager {
      */
     public void updateScript(String name, Supplier<Boolean> condition) {
         if (condition.get() && !isNullOrEmpty(name)) {
-            scripts.computeIfPresent(name, (k, script) -> {
-                script.update();
-                return script;
-            });
+            tickLock.lock();
+            try {
+                scripts.computeIfPresent(name, (k, script) -> {
+                    update(script);
+                    return script;
+                });
+                EffectBuffer.applyAll(dirtyEffects);
+                flushEvents();
+            } finally {
+                tickLock.unlock();
+            }
         }
     }
 
@@ -127,7 +634,250 @@ public class ScriptManager {
      * Updates all managed scripts.
      */
     public void updateAll() {
-        scripts.values().forEach(Script::update);
+        tickLock.lock();
+        try {
+            ManagerTickEvent event = new ManagerTickEvent();
+            event.begin();
+            applyPending();
+            long start = System.nanoTime();
+            int updated = 0;
+            for (Script script : ungrouped) {
+                update(script);
+                updated++;
+            }
+            for (ScriptGroup group : topGroups) {
+                updated += updateGroup(group);
+            }
+            EffectBuffer.applyAll(dirtyEffects);
+            tickStats.record(System.nanoTime() - start);
+            if (event.shouldCommit()) {
+                event.commit(updated, 1);
+            }
+            flushEvents();
+        } finally {
+            tickLock.unlock();
+        }
+    }
+
+    /**
+     * Updates all managed scripts in parallel on the given pool.
+     * Each script is updated exactly once; the call returns after every update has completed.
+     * Work is split into equal-sized batches by script count, unless
+     * {@link #setCostBalancing(boolean) cost balancing} is enabled.
+     *
+     * @param pool the pool to run updates on
+     * @throws NullPointerException if pool is null
+     */
+    public void updateAll(ForkJoinPool pool) {
+        java.util.Objects.requireNonNull(pool, "Pool cannot be null");
+        tickLock.lock();
+        try {
+            ManagerTickEvent event = new ManagerTickEvent();
+            event.begin();
+            applyPending();
+            long start = System.nanoTime();
+            List<Script> active = new ArrayList<>(scripts.size());
+            active.addAll(ungrouped);
+            for (ScriptGroup group : topGroups) {
+                collectActive(group, active);
+            }
+            Script[] snapshot = active.toArray(new Script[0]);
+            if (costBalancing) {
+                CostBalancedScheduler.run(pool, snapshot, this::update);
+            } else if (snapshot.length > 0) {
+                int batch = Math.max(MIN_PARALLEL_BATCH, snapshot.length / (pool.getParallelism() * 4));
+                pool.invoke(new UpdateTask(snapshot, 0, snapshot.length, batch));
+            }
+            EffectBuffer.applyAll(dirtyEffects);
+            tickStats.record(System.nanoTime() - start);
+            if (event.shouldCommit()) {
+                event.commit(snapshot.length, pool.getParallelism());
+            }
+            flushEvents();
+        } finally {
+            tickLock.unlock();
+        }
+    }
+
+    /**
+     * Fast-forwards every active script by a number of ticks.
+     * Scripts in paused groups and suspended scripts are left as they are.
+     *
+     * @param ticks the number of ticks to advance
+     * @throws IllegalArgumentException if ticks is negative
+     * @see Script#advance(long)
+     */
+    public void advanceAll(long ticks) {
+        if (ticks < 0) {
+            throw new IllegalArgumentException("Ticks cannot be negative");
+        }
+        forEachActive(script -> script.advance(ticks));
+    }
+
+    /**
+     * Fast-forwards the clocks of every active script by a time span.
+     * Scripts in paused groups and suspended scripts are left as they are.
+     *
+     * @param millis the time span in milliseconds
+     * @throws IllegalArgumentException if millis is negative
+     * @see Script#advanceTime(long)
+     */
+    public void advanceAllTime(long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("Duration cannot be negative");
+        }
+        forEachActive(script -> script.advanceTime(millis));
+    }
+
+    /**
+     * Gets the durations of recent {@link #updateAll()} ticks.
+     *
+     * @return the tick statistics of this manager
+     */
+    public TickStats getTickStats() {
+        return tickStats;
+    }
+
+    /**
+     * Gets the lifecycle event feed of this manager, delivering on the common pool.
+     * Events are buffered during each tick and published to subscribers after it.
+     *
+     * @return the event publisher
+     */
+    public ScriptEventPublisher events() {
+        ScriptEventPublisher publisher = events;
+        if (publisher != null) return publisher;
+        synchronized (this) {
+            if (events == null) {
+                events = new ScriptEventPublisher(ForkJoinPool.commonPool(), Flow.defaultBufferSize());
+            }
+            return events;
+        }
+    }
+
+    /**
+     * Creates the lifecycle event feed of this manager with a custom delivery executor.
+     * Up to {@link ScriptEventPublisher#DEFAULT_PENDING_CAPACITY} events are staged per tick.
+     *
+     * @param executor the executor used to deliver events
+     * @param bufferCapacity the maximum number of events buffered per subscriber
+     * @return the event publisher
+     * @throws IllegalStateException if the event feed was already created
+     */
+    public ScriptEventPublisher events(Executor executor, int bufferCapacity) {
+        return events(executor, bufferCapacity, ScriptEventPublisher.DEFAULT_PENDING_CAPACITY);
+    }
+
+    /**
+     * Creates the lifecycle event feed of this manager with a custom delivery executor.
+     *
+     * @param executor the executor used to deliver events
+     * @param bufferCapacity the maximum number of events buffered per subscriber
+     * @param pendingCapacity the maximum number of events staged per tick across all scripts
+     * @return the event publisher
+     * @throws IllegalStateException if the event feed was already created
+     */
+    public synchronized ScriptEventPublisher events(Executor executor, int bufferCapacity, int pendingCapacity) {
+        if (events != null) {
+            throw new IllegalStateException("Event feed already created");
+        }
+        events = new ScriptEventPublisher(executor, bufferCapacity, pendingCapacity);
+        return events;
+    }
+
+    /**
+     * Enables or disables ownership checks on all managed scripts.
+     * When enabled, every update of a managed script, whether issued by the manager or by
+     * user code calling {@link Script#update()}, {@link Script#advance(long)} or
+     * {@link Script#advanceTime(long)} directly, verifies that no other thread is updating
+     * the same script and throws {@link java.util.ConcurrentModificationException} otherwise.
+     * Intended for debugging; it adds two atomic operations per script update.
+     *
+     * @param enabled true to enable the checks
+     */
+    public void setOwnershipChecks(boolean enabled) {
+        tickLock.lock();
+        try {
+            this.ownershipChecks = enabled;
+            scripts.values().forEach(script -> script.setOwnershipChecks(enabled));
+        } finally {
+            tickLock.unlock();
+        }
+    }
+
+    /**
+     * Checks if ownership checks are enabled.
+     *
+     * @return true if enabled
+     */
+    public boolean isOwnershipChecks() {
+        return ownershipChecks;
+    }
+
+    /**
+     * Enables or disables effect buffering.
+     * While enabled, effects passed to {@link EffectBuffer#defer(Runnable)} during a script update
+     * are collected per worker thread and run on the ticking thread after every script of the
+     * update call has been updated, in a deterministic order. This is what makes
+     * {@link #updateAll(ForkJoinPool)} safe for scripts whose actions write to shared state.
+     *
+     * @param enabled true to buffer deferred effects
+     * @see EffectBuffer
+     */
+    public void setEffectBuffering(boolean enabled) {
+        this.effectBuffering = enabled;
+    }
+
+    /**
+     * Checks if effect buffering is enabled.
+     *
+     * @return true if deferred effects are buffered during ticks
+     */
+    public boolean isEffectBuffering() {
+        return effectBuffering;
+    }
+
+    /**
+     * Enables or disables cost-balanced parallel ticks.
+     * While enabled, {@link #updateAll(ForkJoinPool)} times every script update, keeps a moving
+     * average of each script's cost, and cuts the scripts into chunks of roughly equal estimated
+     * cost so that a few expensive scripts do not stall one worker. Timing every update adds
+     * overhead to each tick, so this pays off only when script costs are strongly skewed;
+     * compare {@link #getTickStats()} with and without it.
+     *
+     * @param enabled true to balance parallel ticks by measured cost
+     */
+    public void setCostBalancing(boolean enabled) {
+        this.costBalancing = enabled;
+    }
+
+    /**
+     * Checks if cost-balanced parallel ticks are enabled.
+     *
+     * @return true if parallel ticks are split by measured script cost
+     */
+    public boolean isCostBalancing() {
+        return costBalancing;
+    }
+
+    /**
+     * Installs a watchdog that times every script update, isolates exceptions per script
+     * and quarantines repeat offenders. Without a watchdog, an exception thrown by a script
+     * propagates out of the tick and the remaining scripts are not updated.
+     *
+     * @param watchdog the watchdog, or null to disable
+     */
+    public void setWatchdog(ScriptWatchdog watchdog) {
+        this.watchdog = watchdog;
+    }
+
+    /**
+     * Gets the installed watchdog.
+     *
+     * @return the watchdog, or null if none is installed
+     */
+    public ScriptWatchdog getWatchdog() {
+        return watchdog;
     }
 
     /**
@@ -148,7 +898,232 @@ public class ScriptManager {
         return Collections.unmodifiableMap(scripts);
     }
 
+    private Script attach(String name, Script script) {
+        return attach(name, script, effectOrders.getAndIncrement());
+    }
+
+    private Script attach(String name, Script script, long effectOrder) {
+        script.setName(name);
+        script.setEffectOrder(effectOrder);
+        script.setOwnershipChecks(ownershipChecks);
+        script.setListener(scriptListener);
+        activeSetOf(script).add(script);
+        return script;
+    }
+
+    private void detach(Script script) {
+        ScriptWatchdog current = watchdog;
+        if (current != null) {
+            current.forget(script, script.getName());
+        }
+        activeSetOf(script).remove(script);
+        script.setGroup(null);
+        script.setListener(null);
+        script.setOwnershipChecks(false);
+        script.setName(null);
+        script.complete();
+    }
+
+    private void stage(Map<String, Script> batch, String name, Script script) {
+        if (isNullOrEmpty(name) || script == null) {
+            throw new IllegalArgumentException("Script name or instance cannot be null or empty");
+        }
+        if (batch.put(name, script) != null) {
+            throw new IllegalArgumentException("Duplicate script name in batch: " + name);
+        }
+    }
+
+    private void enqueue(Runnable operation) {
+        pending.add(operation);
+        wakeUp();
+    }
+
+    private void applyPending() {
+        Runnable operation;
+        while ((operation = pending.poll()) != null) {
+            operation.run();
+        }
+        Script script;
+        while ((script = reactivated.poll()) != null) {
+            synchronized (script) {
+                if (script.getListener() == scriptListener && !script.isSuspended() && !script.isParked()) {
+                    membersOf(script.getGroup()).add(script);
+                }
+            }
+        }
+    }
+
+    private void applyAdditions(Map<String, Script> batch) {
+        if (!scripts.isEmpty()) {
+            batch.forEach((name, script) -> {
+                Script previous = scripts.get(name);
+                if (previous != null && previous != script) {
+                    detach(previous);
+                }
+            });
+        }
+        if (batch.size() >= BULK_PARALLEL_THRESHOLD) {
+            List<Map.Entry<String, Script>> entries = new ArrayList<>(batch.entrySet());
+            long firstOrder = effectOrders.getAndAdd(entries.size());
+            IntStream.range(0, entries.size()).parallel().forEach(i ->
+                    attach(entries.get(i).getKey(), entries.get(i).getValue(), firstOrder + i));
+        } else {
+            batch.forEach(this::attach);
+        }
+        scripts.putAll(batch);
+    }
+
+    private boolean withScript(String name, java.util.function.Consumer<Script> action) {
+        if (isNullOrEmpty(name)) return false;
+        tickLock.lock();
+        try {
+            Script script = scripts.get(name);
+            if (script == null) return false;
+            action.accept(script);
+            return true;
+        } finally {
+            tickLock.unlock();
+        }
+    }
+
+    private void checkOwnGroup(ScriptGroup group) {
+        if (group != null && group.manager() != this) {
+            throw new IllegalArgumentException("Group belongs to another manager: " + group.getName());
+        }
+    }
+
+    private Set<Script> activeSetOf(Script script) {
+        return script.isSuspended() || script.isParked() ? parked : membersOf(script.getGroup());
+    }
+
+    /**
+     * Moves a script between its group's members and the parked set after it was suspended,
+     * resumed, parked or unparked. Serialized per script, because unparking may happen on
+     * another thread while the script parks itself during a parallel tick. A script that
+     * becomes active again rejoins its group's members at the start of the next tick rather
+     * than while a tick may be iterating them, so whether it runs in the current tick does
+     * not depend on iteration order.
+     */
+    private void relocate(Script script) {
+        boolean active;
+        synchronized (script) {
+            active = !script.isSuspended() && !script.isParked();
+            if (active) {
+                if (parked.remove(script)) {
+                    reactivated.add(script);
+                }
+            } else {
+                membersOf(script.getGroup()).remove(script);
+                parked.add(script);
+            }
+        }
+        if (active) {
+            wakeUp();
+        }
+    }
+
+    private Set<Script> membersOf(ScriptGroup group) {
+        return group != null ? group.members() : ungrouped;
+    }
+
+    private int updateGroup(ScriptGroup group) {
+        if (group.isPaused()) return 0;
+        int count = 0;
+        for (Script script : group.members()) {
+            update(script);
+            count++;
+        }
+        for (ScriptGroup child : group.getChildren()) {
+            count += updateGroup(child);
+        }
+        return count;
+    }
+
+    private void forEachActive(Consumer<Script> action) {
+        tickLock.lock();
+        try {
+            applyPending();
+            List<Script> active = new ArrayList<>(scripts.size());
+            active.addAll(ungrouped);
+            for (ScriptGroup group : topGroups) {
+                collectActive(group, active);
+            }
+            active.forEach(action);
+            flushEvents();
+        } finally {
+            tickLock.unlock();
+        }
+    }
+
+    private void collectActive(ScriptGroup group, List<Script> into) {
+        if (group.isPaused()) return;
+        into.addAll(group.members());
+        for (ScriptGroup child : group.getChildren()) {
+            collectActive(child, into);
+        }
+    }
+
+    private void flushEvents() {
+        ScriptEventPublisher publisher = events;
+        if (publisher != null) {
+            publisher.flush();
+        }
+    }
+
+    private void update(Script script) {
+        if (!effectBuffering) {
+            updateDirect(script);
+            return;
+        }
+        EffectBuffer buffer = effectBuffers.get();
+        buffer.begin(script.getEffectOrder());
+        try {
+            updateDirect(script);
+        } finally {
+            buffer.end();
+        }
+    }
+
+    private void updateDirect(Script script) {
+        ScriptWatchdog current = watchdog;
+        if (current != null) {
+            current.update(script);
+        } else {
+            script.update();
+        }
+    }
+
     private boolean isNullOrEmpty(String str) {
-        return str == null || str.trim().isEmpty();
+        if (str == null) return true;
+        for (int i = 0; i < str.length(); i++) {
+            if (str.charAt(i) > ' ') return false;
+        }
+        return true;
+    }
+
+    private final class UpdateTask extends RecursiveAction {
+        private final Script[] scripts;
+        private final int from;
+        private final int to;
+        private final int batch;
+
+        UpdateTask(Script[] scripts, int from, int to, int batch) {
+            this.scripts = scripts;
+            this.from = from;
+            this.to = to;
+            this.batch = batch;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= batch) {
+                for (int i = from; i < to; i++) {
+                    update(scripts[i]);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new UpdateTask(scripts, from, mid, batch), new UpdateTask(scripts, mid, to, batch));
+        }
     }
 }
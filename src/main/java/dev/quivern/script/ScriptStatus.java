@@ -0,0 +1,67 @@
+package dev.quivern.script;
+
+/**
+ * Execution status of a named script as reported by {@link ScriptManager} queries.
+ * The {@link #code()} of each status is stable and fits into a byte, for bulk queries
+ * that fill primitive buffers.
+ */
+public enum ScriptStatus {
+    /**
+     * No script is registered under the name.
+     */
+    ABSENT,
+    /**
+     * The script has remaining steps or loops.
+     */
+    RUNNING,
+    /**
+     * The script is interrupted.
+     */
+    INTERRUPTED,
+    /**
+     * The script has completed all steps and loops, or has no steps.
+     */
+    FINISHED,
+    /**
+     * The script is suspended.
+     */
+    SUSPENDED;
+
+    private static final ScriptStatus[] VALUES = values();
+
+    /**
+     * Gets the byte code of this status.
+     *
+     * @return the code
+     */
+    public byte code() {
+        return (byte) ordinal();
+    }
+
+    /**
+     * Gets the status for a byte code.
+     *
+     * @param code the code returned by {@link #code()}
+     * @return the status
+     * @throws IllegalArgumentException if the code is unknown
+     */
+    public static ScriptStatus fromCode(byte code) {
+        if (code < 0 || code >= VALUES.length) {
+            throw new IllegalArgumentException("Unknown script status code: " + code);
+        }
+        return VALUES[code];
+    }
+
+    /**
+     * Gets the status of a script.
+     *
+     * @param script the script, or null if absent
+     * @return the status
+     */
+    static ScriptStatus of(Script script) {
+        if (script == null) return ABSENT;
+        if (script.isInterrupt()) return INTERRUPTED;
+        if (script.isSuspended()) return SUSPENDED;
+        return script.isFinished() ? FINISHED : RUNNING;
+    }
+}
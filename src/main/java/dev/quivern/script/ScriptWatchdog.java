@@ -0,0 +1,196 @@
+package dev.quivern.script;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Guards a {@link ScriptManager}'s ticks against misbehaving scripts.
+ * <p>
+ * While installed with {@link ScriptManager#setWatchdog(ScriptWatchdog)}, every script update
+ * is timed against a budget and exceptions are caught per script, so a throwing step no longer
+ * aborts the rest of the tick. Each overrun or failure is a strike against the script, and an
+ * update that completes within budget clears its strikes, so only consecutive offences count;
+ * a script that overruns now and then over a long run is never quarantined for it. On reaching
+ * the strike limit the script is quarantined: suspended, which takes it out of every tick, and
+ * recorded in a {@link QuarantineReport}. Quarantined scripts stay parked until
+ * {@link ScriptManager#release(String)} or {@link ScriptManager#resume(String)} is called,
+ * either of which clears the report.
+ * <p>
+ * Overruns are detected when an update returns; an update that never returns cannot be
+ * interrupted. Recording is thread-safe, so the watchdog also covers parallel ticks.
+ */
+public final class ScriptWatchdog {
+    /**
+     * Default per-update time budget: one millisecond.
+     */
+    public static final long DEFAULT_BUDGET_NANOS = 1_000_000;
+
+    /**
+     * Default number of strikes after which a script is quarantined.
+     */
+    public static final int DEFAULT_MAX_STRIKES = 3;
+
+    private final Map<Script, Integer> strikes = new ConcurrentHashMap<>();
+    private final Map<String, QuarantineReport> quarantined = new ConcurrentHashMap<>();
+    private final LongAdder overruns = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private volatile long budgetNanos = DEFAULT_BUDGET_NANOS;
+    private volatile int maxStrikes = DEFAULT_MAX_STRIKES;
+
+    /**
+     * Sets the time budget of a single script update.
+     *
+     * @param nanos the budget in nanoseconds
+     * @return this watchdog for chaining
+     * @throws IllegalArgumentException if nanos is not positive
+     */
+    public ScriptWatchdog setBudgetNanos(long nanos) {
+        if (nanos <= 0) {
+            throw new IllegalArgumentException("Budget must be positive");
+        }
+        this.budgetNanos = nanos;
+        return this;
+    }
+
+    /**
+     * Gets the time budget of a single script update.
+     *
+     * @return the budget in nanoseconds
+     */
+    public long getBudgetNanos() {
+        return budgetNanos;
+    }
+
+    /**
+     * Sets the number of consecutive strikes after which a script is quarantined.
+     *
+     * @param maxStrikes the strike limit; 1 quarantines on the first offence
+     * @return this watchdog for chaining
+     * @throws IllegalArgumentException if maxStrikes is not positive
+     */
+    public ScriptWatchdog setMaxStrikes(int maxStrikes) {
+        if (maxStrikes <= 0) {
+            throw new IllegalArgumentException("Max strikes must be positive");
+        }
+        this.maxStrikes = maxStrikes;
+        return this;
+    }
+
+    /**
+     * Gets the number of strikes after which a script is quarantined.
+     *
+     * @return the strike limit
+     */
+    public int getMaxStrikes() {
+        return maxStrikes;
+    }
+
+    /**
+     * Gets the total number of updates that exceeded the budget.
+     *
+     * @return the overrun count
+     */
+    public long getOverruns() {
+        return overruns.sum();
+    }
+
+    /**
+     * Gets the total number of updates that threw an exception.
+     *
+     * @return the failure count
+     */
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * Gets the reports of all currently quarantined scripts, oldest first.
+     *
+     * @return a snapshot of the quarantine reports
+     */
+    public List<QuarantineReport> getReports() {
+        List<QuarantineReport> reports = new ArrayList<>(quarantined.values());
+        reports.sort(Comparator.comparingLong(QuarantineReport::timeMillis));
+        return reports;
+    }
+
+    /**
+     * Gets the quarantine report of a script.
+     *
+     * @param name the script name
+     * @return the report, or empty if the script is not quarantined
+     */
+    public Optional<QuarantineReport> getReport(String name) {
+        return name == null ? Optional.empty() : Optional.ofNullable(quarantined.get(name));
+    }
+
+    /**
+     * Checks if a script is quarantined.
+     *
+     * @param name the script name
+     * @return true if quarantined
+     */
+    public boolean isQuarantined(String name) {
+        return name != null && quarantined.containsKey(name);
+    }
+
+    /**
+     * Gets the number of quarantined scripts.
+     *
+     * @return the quarantine count
+     */
+    public int quarantinedCount() {
+        return quarantined.size();
+    }
+
+    /**
+     * Updates a script under watch.
+     *
+     * @param script the script
+     */
+    void update(Script script) {
+        long start = System.nanoTime();
+        RuntimeException failure = null;
+        try {
+            script.update();
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (failure != null) {
+            failures.increment();
+            strike(script, QuarantineReport.Reason.FAILURE, failure, elapsed);
+        } else if (elapsed > budgetNanos) {
+            overruns.increment();
+            strike(script, QuarantineReport.Reason.OVERRUN, null, elapsed);
+        } else if (!strikes.isEmpty()) {
+            strikes.remove(script);
+        }
+    }
+
+    /**
+     * Clears the strikes and quarantine report of a script.
+     *
+     * @param script the script
+     * @param name the name the script is managed under
+     * @return true if the script was quarantined
+     */
+    boolean forget(Script script, String name) {
+        strikes.remove(script);
+        return name != null && quarantined.remove(name) != null;
+    }
+
+    private void strike(Script script, QuarantineReport.Reason reason, Throwable failure, long elapsed) {
+        int count = strikes.merge(script, 1, Integer::sum);
+        if (count < maxStrikes) return;
+        String name = script.getName();
+        if (name == null) return;
+        quarantined.put(name, new QuarantineReport(name, reason, failure, elapsed, count, System.currentTimeMillis()));
+        script.suspend();
+    }
+}
@@ -0,0 +1,83 @@
+package dev.quivern.script;
+
+import dev.quivern.script.api.IScriptStep;
+import dev.quivern.script.api.ScriptClock;
+
+/**
+ * Per-script clock that follows a base clock and can be frozen.
+ * Every timer in a script's step tree reads this clock, so suspending the script stops all
+ * of them at once and resuming continues them from the same instant. Switching the base clock
+ * keeps the script's time continuous.
+ */
+final class SuspendableClock implements ScriptClock {
+    private final Script owner;
+    private volatile ScriptClock base = ScriptClock.SYSTEM;
+    private volatile long offset;
+    private volatile long frozenAt;
+    private volatile boolean frozen;
+
+    SuspendableClock(Script owner) {
+        this.owner = owner;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return frozen ? frozenAt : base.currentTimeMillis() - offset;
+    }
+
+    @Override
+    public long toSystemTime(long time) {
+        return frozen ? IScriptStep.WAKE_ON_SIGNAL : base.toSystemTime(time + offset);
+    }
+
+    /**
+     * Stops this clock at the current time.
+     */
+    void freeze() {
+        if (frozen) return;
+        frozenAt = currentTimeMillis();
+        frozen = true;
+    }
+
+    /**
+     * Restarts this clock from the time it was frozen at.
+     */
+    void unfreeze() {
+        if (!frozen) return;
+        offset = base.currentTimeMillis() - frozenAt;
+        frozen = false;
+    }
+
+    /**
+     * Switches the clock this one follows without a jump in time.
+     *
+     * @param base the new base clock
+     */
+    void setBase(ScriptClock base) {
+        if (base == this.base) return;
+        long now = currentTimeMillis();
+        this.base = base;
+        offset = base.currentTimeMillis() - now;
+    }
+
+    /**
+     * Moves this clock forward without waiting.
+     *
+     * @param millis the time to skip in milliseconds
+     */
+    void advance(long millis) {
+        if (frozen) {
+            frozenAt += millis;
+        } else {
+            offset -= millis;
+        }
+    }
+
+    Script owner() {
+        return owner;
+    }
+
+    boolean isFrozen() {
+        return frozen;
+    }
+}
@@ -0,0 +1,112 @@
+package dev.quivern.script;
+
+import java.util.Arrays;
+
+/**
+ * Rolling statistics over the most recent tick durations.
+ * Keeps a fixed-size window of samples and computes percentiles on demand.
+ * Recording is thread-safe and allocation-free.
+ */
+public class TickStats {
+    private final long[] samples;
+    private long count;
+    private long overruns;
+    private long maxNanos;
+
+    /**
+     * Creates tick statistics with the given window size.
+     *
+     * @param window the number of recent samples to keep
+     * @throws IllegalArgumentException if window is not positive
+     */
+    public TickStats(int window) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("Window must be positive");
+        }
+        this.samples = new long[window];
+    }
+
+    /**
+     * Records the duration of one tick.
+     *
+     * @param nanos the tick duration in nanoseconds
+     */
+    public synchronized void record(long nanos) {
+        samples[(int) (count % samples.length)] = nanos;
+        count++;
+        maxNanos = Math.max(maxNanos, nanos);
+    }
+
+    /**
+     * Records a tick that exceeded its time budget.
+     */
+    public synchronized void recordOverrun() {
+        overruns++;
+    }
+
+    /**
+     * Gets a percentile of the tick durations in the current window.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the duration in nanoseconds, 0 if nothing was recorded
+     * @throws IllegalArgumentException if percentile is out of range
+     */
+    public long percentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        long[] window;
+        synchronized (this) {
+            window = Arrays.copyOf(samples, (int) Math.min(count, samples.length));
+        }
+        if (window.length == 0) {
+            return 0L;
+        }
+        Arrays.sort(window);
+        int index = (int) Math.ceil(percentile / 100.0 * window.length) - 1;
+        return window[Math.max(0, index)];
+    }
+
+    /**
+     * Gets the total number of recorded ticks.
+     *
+     * @return the tick count
+     */
+    public synchronized long count() {
+        return count;
+    }
+
+    /**
+     * Gets the number of recorded overruns.
+     *
+     * @return the overrun count
+     */
+    public synchronized long overruns() {
+        return overruns;
+    }
+
+    /**
+     * Gets the longest recorded tick.
+     *
+     * @return the maximum duration in nanoseconds
+     */
+    public synchronized long max() {
+        return maxNanos;
+    }
+
+    /**
+     * Clears all recorded samples.
+     */
+    public synchronized void reset() {
+        Arrays.fill(samples, 0L);
+        count = 0;
+        overruns = 0;
+        maxNanos = 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ticks=%d p50=%.3fms p90=%.3fms p99=%.3fms max=%.3fms overruns=%d",
+                count(), percentile(50) / 1e6, percentile(90) / 1e6, percentile(99) / 1e6, max() / 1e6, overruns());
+    }
+}
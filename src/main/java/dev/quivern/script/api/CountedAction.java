@@ -0,0 +1,16 @@
+package dev.quivern.script.api;
+
+/**
+ * Functional interface for an action that can be applied several times in one call.
+ * Lets tick-based steps catch up on many ticks at once without calling the action per tick.
+ */
+@FunctionalInterface
+public interface CountedAction {
+
+    /**
+     * Performs the action as if it ran the given number of times in a row.
+     *
+     * @param count the number of repetitions, at least 1
+     */
+    void perform(int count);
+}
@@ -1,11 +1,24 @@
 package dev.quivern.script.api;
 
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
 /**
  * Represents a single executable step in a script sequence.
  * Steps can be simple actions, delays, or complex compositions.
  */
 public interface IScriptStep {
 
+    /**
+     * Wake-up time returned by steps that must be updated on every tick.
+     */
+    long WAKE_EVERY_TICK = Long.MIN_VALUE;
+
+    /**
+     * Wake-up time returned when nothing will happen until an external change.
+     */
+    long WAKE_ON_SIGNAL = Long.MAX_VALUE;
+
     /**
      * Executes the step logic for the current frame/tick.
      *
@@ -24,4 +37,113 @@ public interface IScriptStep {
      * Resets the step to its initial state for reuse.
      */
     void reset();
+
+    /**
+     * Gets the earliest time at which updating this step can make progress.
+     * Lets a runtime sleep through ticks in which every script is only waiting.
+     * Steps that poll conditions or act on every tick keep the default.
+     *
+     * @param time the script time tracker
+     * @return the wake-up time in {@link ScriptTime} milliseconds,
+     *         {@link #WAKE_EVERY_TICK} or {@link #WAKE_ON_SIGNAL}
+     */
+    default long nextWakeUp(ScriptTime time) {
+        return WAKE_EVERY_TICK;
+    }
+
+    /**
+     * Skips ahead over up to the given number of ticks in one call, with the same outcome as
+     * performing the step that many times while script time stands still. Stops early when
+     * the step finishes. Steps that cannot compute the result in closed form keep the
+     * default, and callers then fall back to calling {@link #perform(ScriptTime)} tick by tick.
+     *
+     * @param ticks the maximum number of ticks to skip, at least 1
+     * @param time the script time tracker
+     * @return the number of ticks consumed, or -1 if fast-forwarding is not supported
+     */
+    default long fastForward(long ticks, ScriptTime time) {
+        return -1;
+    }
+
+    /**
+     * Gets the number of ticks this step takes from a reset until it finishes when performed
+     * tick by tick, if that number is fixed. Lets repeats and loops skip whole runs of the
+     * step arithmetically. Steps whose length depends on time or other state keep the default.
+     *
+     * @return the tick length, or -1 if it is not fixed
+     */
+    default long tickLength() {
+        return -1;
+    }
+
+    /**
+     * Applies the effects of running this step from a reset to its end a number of times in a
+     * row, with the same outcome as performing it {@code runs * tickLength()} times while
+     * resetting it after every run but the last. Called only on a freshly reset step with a
+     * positive {@link #tickLength()}; leaves the step finished. Steps whose effects can be
+     * batched override the default, which fast-forwards through each run in turn.
+     *
+     * @param runs the number of runs, at least 1
+     * @param time the script time tracker
+     */
+    default void completeRuns(long runs, ScriptTime time) {
+        long length = tickLength();
+        for (long run = 0; run < runs; run++) {
+            if (run > 0) {
+                reset();
+            }
+            long left = length;
+            while (left > 0 && !isFinished()) {
+                long used = fastForward(left, time);
+                if (used <= 0) {
+                    perform(time);
+                    used = 1;
+                }
+                left -= used;
+            }
+        }
+    }
+
+    /**
+     * Captures the progress of this step as a single packed value.
+     * Used to snapshot the current step of a script; steps without
+     * resumable progress keep the default.
+     *
+     * @return the packed progress of this step
+     */
+    default long saveState() {
+        return 0L;
+    }
+
+    /**
+     * Restores progress previously captured with {@link #saveState()}.
+     * Called on a freshly reset step.
+     *
+     * @param state the packed progress
+     */
+    default void restoreState(long state) {
+        // Default: nothing to restore
+    }
+
+    /**
+     * Captures the progress of this step, including that of any nested steps, as a stream
+     * of packed values. Composite steps write their own progress followed by that of their
+     * children; other steps write the single value of {@link #saveState()}.
+     *
+     * @param time the script time tracker
+     * @param out receives the packed values
+     */
+    default void saveState(ScriptTime time, LongConsumer out) {
+        out.accept(saveState());
+    }
+
+    /**
+     * Restores progress previously captured with {@link #saveState(ScriptTime, LongConsumer)},
+     * reading exactly the values that were written. Called on a freshly reset step.
+     *
+     * @param in supplies the packed values
+     */
+    default void restoreState(LongSupplier in) {
+        restoreState(in.getAsLong());
+    }
 }
\ No newline at end of file
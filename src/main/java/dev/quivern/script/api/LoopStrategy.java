@@ -33,4 +33,43 @@ public interface LoopStrategy {
     default void reset() {
         // Default: no-op for strategies that don't need reset
     }
+
+    /**
+     * Gets the current loop iteration.
+     *
+     * @return the current iteration, 0 if the strategy does not count iterations
+     */
+    default int currentLoop() {
+        return 0;
+    }
+
+    /**
+     * Gets how many more iterations the strategy will start, so that whole iterations can be
+     * skipped in bulk when fast-forwarding.
+     *
+     * @return the number of iterations left, 0 if unknown
+     */
+    default int remainingLoops() {
+        return 0;
+    }
+
+    /**
+     * Counts several iterations at once, as if {@link #onLoop()} were called that many times.
+     *
+     * @param loops the number of iterations, at most {@link #remainingLoops()}
+     */
+    default void skipLoops(int loops) {
+        for (int i = 0; i < loops; i++) {
+            onLoop();
+        }
+    }
+
+    /**
+     * Restores the loop iteration, e.g. from a state snapshot.
+     *
+     * @param loop the iteration previously returned by {@link #currentLoop()}
+     */
+    default void restoreLoop(int loop) {
+        // Default: no-op for strategies that don't count iterations
+    }
 }
\ No newline at end of file
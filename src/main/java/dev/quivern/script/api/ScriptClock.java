@@ -0,0 +1,31 @@
+package dev.quivern.script.api;
+
+/**
+ * Source of time for a {@link ScriptTime}.
+ * Lets scripts run in a time domain that can be paused or scaled instead of wall-clock time.
+ */
+@FunctionalInterface
+public interface ScriptClock {
+
+    /**
+     * Wall-clock time.
+     */
+    ScriptClock SYSTEM = System::currentTimeMillis;
+
+    /**
+     * Gets the current time of this clock.
+     *
+     * @return the time in milliseconds
+     */
+    long currentTimeMillis();
+
+    /**
+     * Converts a time of this clock to the wall-clock time at which it will be reached.
+     *
+     * @param time the time of this clock in milliseconds
+     * @return the wall-clock time, or {@link IScriptStep#WAKE_ON_SIGNAL} if this clock is stopped
+     */
+    default long toSystemTime(long time) {
+        return time;
+    }
+}
@@ -3,17 +3,65 @@ package dev.quivern.script.api;
 /**
  * Tracks time for script step execution.
  * Provides utilities for time-based delays and checks.
+ * Time is read from a {@link ScriptClock}, wall-clock time by default.
+ * <p>
+ * Like the script that owns it, a time tracker is not thread-safe and relies on
+ * the happens-before ordering between script updates for visibility.
  */
 public final class ScriptTime {
+    private ScriptClock clock;
     private long startTime;
 
     /**
      * Creates a new script time tracker initialized to current time.
      */
     public ScriptTime() {
+        this(ScriptClock.SYSTEM);
+    }
+
+    /**
+     * Creates a new script time tracker reading the given clock.
+     *
+     * @param clock the clock to read
+     * @throws NullPointerException if clock is null
+     */
+    public ScriptTime(ScriptClock clock) {
+        this.clock = java.util.Objects.requireNonNull(clock, "Clock cannot be null");
         reset();
     }
 
+    /**
+     * Gets the clock this tracker reads.
+     *
+     * @return the clock
+     */
+    public ScriptClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Switches to another clock, keeping the elapsed time.
+     *
+     * @param clock the clock to read
+     * @throws NullPointerException if clock is null
+     */
+    public void setClock(ScriptClock clock) {
+        java.util.Objects.requireNonNull(clock, "Clock cannot be null");
+        if (clock == this.clock) return;
+        long elapsed = elapsedTime();
+        this.clock = clock;
+        reset(-elapsed);
+    }
+
+    /**
+     * Gets the current time of this tracker's clock.
+     *
+     * @return the time in milliseconds
+     */
+    public long currentTime() {
+        return clock.currentTimeMillis();
+    }
+
     /**
      * Checks if a delay has elapsed.
      *
@@ -21,14 +69,14 @@ public final class ScriptTime {
      * @return true if the delay has passed, false otherwise
      */
     public boolean finished(final double delay) {
-        return System.currentTimeMillis() >= startTime + delay;
+        return clock.currentTimeMillis() >= startTime + delay;
     }
 
     /**
      * Resets the timer to current time.
      */
     public void reset() {
-        this.startTime = System.currentTimeMillis();
+        this.startTime = clock.currentTimeMillis();
     }
 
     /**
@@ -37,7 +85,17 @@ public final class ScriptTime {
      * @param delay the offset in milliseconds
      */
     public void reset(long delay) {
-        this.startTime = System.currentTimeMillis() + delay;
+        this.startTime = clock.currentTimeMillis() + delay;
+    }
+
+    /**
+     * Gets the time at which a delay measured from the last reset elapses.
+     *
+     * @param delay the delay in milliseconds
+     * @return the deadline in milliseconds
+     */
+    public long deadline(long delay) {
+        return startTime + delay;
     }
 
     /**
@@ -46,7 +104,7 @@ public final class ScriptTime {
      * @return elapsed time in milliseconds
      */
     public long elapsedTime() {
-        return System.currentTimeMillis() - this.startTime;
+        return clock.currentTimeMillis() - this.startTime;
     }
 
     /**
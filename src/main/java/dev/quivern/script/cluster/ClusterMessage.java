@@ -0,0 +1,137 @@
+package dev.quivern.script.cluster;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Messages exchanged between {@link ClusterNode}s, with their byte encoding.
+ * <p>
+ * Every message starts with a type byte; strings are written as a length followed by UTF-8 bytes.
+ */
+sealed interface ClusterMessage {
+    byte JOIN = 1;
+    byte LEAVE = 2;
+    byte SPAWN = 3;
+    byte MIGRATE = 4;
+
+    /**
+     * Encodes this message for a transport.
+     *
+     * @return the encoded bytes
+     */
+    byte[] encode();
+
+    /**
+     * Decodes a message received from a transport.
+     *
+     * @param bytes the encoded bytes
+     * @return the message
+     * @throws IllegalArgumentException if the bytes are not a valid message
+     */
+    static ClusterMessage decode(byte[] bytes) {
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        try {
+            byte type = in.get();
+            return switch (type) {
+                case JOIN -> new Join(readString(in));
+                case LEAVE -> new Leave(readString(in));
+                case SPAWN -> new Spawn(readString(in), readString(in));
+                case MIGRATE -> new Migrate(readString(in), readString(in),
+                        in.getInt(), in.getInt(), in.getInt(), in.getLong(), readLongs(in));
+                default -> throw new IllegalArgumentException("Unknown message type " + type);
+            };
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated message", e);
+        }
+    }
+
+    /**
+     * Announces that a node has joined the cluster.
+     */
+    record Join(String nodeId) implements ClusterMessage {
+        @Override
+        public byte[] encode() {
+            byte[] id = utf8(nodeId);
+            return ByteBuffer.allocate(1 + 4 + id.length).put(JOIN).putInt(id.length).put(id).array();
+        }
+    }
+
+    /**
+     * Announces that a node is leaving the cluster.
+     */
+    record Leave(String nodeId) implements ClusterMessage {
+        @Override
+        public byte[] encode() {
+            byte[] id = utf8(nodeId);
+            return ByteBuffer.allocate(1 + 4 + id.length).put(LEAVE).putInt(id.length).put(id).array();
+        }
+    }
+
+    /**
+     * Asks the owning node to create a script from a template.
+     */
+    record Spawn(String name, String templateId) implements ClusterMessage {
+        @Override
+        public byte[] encode() {
+            byte[] nameBytes = utf8(name);
+            byte[] template = utf8(templateId);
+            return ByteBuffer.allocate(1 + 8 + nameBytes.length + template.length)
+                    .put(SPAWN)
+                    .putInt(nameBytes.length).put(nameBytes)
+                    .putInt(template.length).put(template)
+                    .array();
+        }
+    }
+
+    /**
+     * Hands a running script to another node: its template and the execution state
+     * captured with {@link dev.quivern.script.Script#saveState}. The step state holds the
+     * packed values of the current step and its nested steps, without trailing zeros.
+     */
+    record Migrate(String name, String templateId, int stepIndex, int loop, int flags,
+                   long elapsed, long[] stepState) implements ClusterMessage {
+        @Override
+        public byte[] encode() {
+            byte[] nameBytes = utf8(name);
+            byte[] template = utf8(templateId);
+            ByteBuffer out = ByteBuffer.allocate(1 + 8 + nameBytes.length + template.length + 12 + 8
+                            + 4 + stepState.length * Long.BYTES)
+                    .put(MIGRATE)
+                    .putInt(nameBytes.length).put(nameBytes)
+                    .putInt(template.length).put(template)
+                    .putInt(stepIndex).putInt(loop).putInt(flags)
+                    .putLong(elapsed)
+                    .putInt(stepState.length);
+            for (long value : stepState) {
+                out.putLong(value);
+            }
+            return out.array();
+        }
+    }
+
+    private static byte[] utf8(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long[] readLongs(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0 || length > in.remaining() / Long.BYTES) {
+            throw new IllegalArgumentException("Invalid state length " + length);
+        }
+        long[] values = new long[length];
+        in.asLongBuffer().get(values);
+        in.position(in.position() + length * Long.BYTES);
+        return values;
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0 || length > in.remaining()) {
+            throw new IllegalArgumentException("Invalid string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
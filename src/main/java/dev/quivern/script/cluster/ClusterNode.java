@@ -0,0 +1,451 @@
+package dev.quivern.script.cluster;
+
+import dev.quivern.script.Script;
+import dev.quivern.script.ScriptManager;
+import dev.quivern.script.state.ScriptStateStore;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+
+/**
+ * One member of a sharded script cluster, wrapping a local {@link ScriptManager}.
+ * <p>
+ * Script names are assigned to nodes by a consistent {@link HashRing} over the cluster members.
+ * Scripts are spawned by name and template id and created on whichever node owns the name.
+ * When a node joins, every member hands the scripts the newcomer now owns over to it; when a
+ * node leaves, it hands all of its scripts to their new owners first. A script is moved by
+ * detaching it between ticks, capturing its state as with {@link Script#saveState}, and
+ * recreating it from its template on the target node, so it continues where it stopped.
+ * <p>
+ * Only scripts spawned through a node are sharded; scripts added to the local manager directly
+ * stay where they are. Migration keeps the state that {@link Script#saveState} captures,
+ * including the progress of nested steps up to {@value #MIGRATION_STATE_WORDS} packed values,
+ * but not the script's group. A script whose state does not fit, or whose hand-off fails to
+ * send, stays on this node and keeps running there while the other scripts move on; the failure
+ * is recorded in {@link #getMigrationFailures()}, and the hand-off is retried on the next
+ * membership change or {@link #retryMigrations()}. Failures are never thrown into the thread of
+ * the peer whose message triggered the migration. Membership changes are expected to happen one
+ * at a time.
+ * <p>
+ * Methods are thread-safe. Incoming messages are queued and handled under the node's lock as
+ * soon as it is free, never while the receiving thread waits for it, so nodes that message each
+ * other from different threads cannot deadlock.
+ */
+public class ClusterNode {
+    /**
+     * Number of packed state values beyond the first that a migrated script may carry.
+     */
+    public static final int MIGRATION_STATE_WORDS = 64;
+
+    private final String nodeId;
+    private final ScriptManager manager;
+    private final ScriptFactory factory;
+    private final ClusterTransport transport;
+    private final HashRing ring;
+    private final Map<String, String> templates = new HashMap<>();
+    private final ScriptStateStore stateBuffer = new ScriptStateStore(1, MIGRATION_STATE_WORDS);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Queue<byte[]> inbox = new ConcurrentLinkedQueue<>();
+    private final Map<String, RuntimeException> failures = new LinkedHashMap<>();
+    private boolean joined;
+    private long migratedIn;
+    private long migratedOut;
+
+    /**
+     * Creates a cluster node with {@value HashRing#DEFAULT_VIRTUAL_NODES} virtual points per node.
+     *
+     * @param nodeId the unique node id
+     * @param manager the local script manager
+     * @param factory creates scripts from template ids
+     * @param transport the transport connecting the nodes
+     * @throws NullPointerException if any argument is null
+     */
+    public ClusterNode(String nodeId, ScriptManager manager, ScriptFactory factory, ClusterTransport transport) {
+        this(nodeId, manager, factory, transport, HashRing.DEFAULT_VIRTUAL_NODES);
+    }
+
+    /**
+     * Creates a cluster node.
+     *
+     * @param nodeId the unique node id
+     * @param manager the local script manager
+     * @param factory creates scripts from template ids
+     * @param transport the transport connecting the nodes
+     * @param virtualNodes the number of virtual points per node; must match across the cluster
+     * @throws NullPointerException if any argument is null
+     * @throws IllegalArgumentException if virtualNodes is not positive
+     */
+    public ClusterNode(String nodeId, ScriptManager manager, ScriptFactory factory, ClusterTransport transport,
+                       int virtualNodes) {
+        this.nodeId = Objects.requireNonNull(nodeId, "Node id cannot be null");
+        this.manager = Objects.requireNonNull(manager, "Manager cannot be null");
+        this.factory = Objects.requireNonNull(factory, "Factory cannot be null");
+        this.transport = Objects.requireNonNull(transport, "Transport cannot be null");
+        this.ring = new HashRing(virtualNodes);
+    }
+
+    /**
+     * Joins the cluster formed by the nodes reachable through the transport.
+     * The other members then migrate the scripts this node now owns to it, and scripts this
+     * node kept from an earlier failed hand-off are handed to their owners.
+     *
+     * @throws IllegalStateException if already joined
+     */
+    public void join() {
+        lock.lock();
+        try {
+            if (joined) {
+                throw new IllegalStateException("Node already joined: " + nodeId);
+            }
+            transport.bind(nodeId, this::receive);
+            joined = true;
+            transport.nodes().forEach(ring::add);
+            ring.add(nodeId);
+            byte[] announcement = new ClusterMessage.Join(nodeId).encode();
+            for (String peer : peers()) {
+                transport.send(peer, announcement);
+            }
+            rebalance();
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Leaves the cluster, first migrating every sharded script to its new owner.
+     * If this is the last node, its scripts stay in the local manager, as do scripts whose
+     * hand-off fails; those are recorded in {@link #getMigrationFailures()}.
+     *
+     * @throws IllegalStateException if not joined
+     */
+    public void leave() {
+        lock.lock();
+        try {
+            requireJoined();
+            List<String> peers = peers();
+            byte[] announcement = new ClusterMessage.Leave(nodeId).encode();
+            for (String peer : peers) {
+                transport.send(peer, announcement);
+            }
+            ring.remove(nodeId);
+            if (!peers.isEmpty()) {
+                for (String name : new ArrayList<>(templates.keySet())) {
+                    tryMigrate(name, ring.nodeFor(name));
+                }
+            }
+            transport.unbind(nodeId);
+            for (String node : new ArrayList<>(ring.nodes())) {
+                ring.remove(node);
+            }
+            joined = false;
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Spawns a script on the node that owns its name.
+     *
+     * @param name the script name
+     * @param templateId the template the script is created from
+     * @return the id of the node the script was spawned on
+     * @throws NullPointerException if name or templateId is null
+     * @throws IllegalStateException if not joined
+     */
+    public String spawn(String name, String templateId) {
+        lock.lock();
+        try {
+            Objects.requireNonNull(name, "Script name cannot be null");
+            Objects.requireNonNull(templateId, "Template id cannot be null");
+            requireJoined();
+            String owner = ring.nodeFor(name);
+            if (owner.equals(nodeId)) {
+                addLocal(name, templateId, factory.create(templateId));
+            } else {
+                transport.send(owner, new ClusterMessage.Spawn(name, templateId).encode());
+            }
+            return owner;
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Gets the node that owns a script name.
+     *
+     * @param name the script name
+     * @return the owning node id, or null if not joined
+     */
+    public String ownerOf(String name) {
+        lock.lock();
+        try {
+            return joined ? ring.nodeFor(name) : null;
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Gets the ids of the cluster members known to this node.
+     *
+     * @return a snapshot of the member ids
+     */
+    public Set<String> members() {
+        lock.lock();
+        try {
+            return Set.copyOf(ring.nodes());
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Gets the names of the sharded scripts held by this node.
+     *
+     * @return a snapshot of the script names
+     */
+    public Set<String> localScripts() {
+        lock.lock();
+        try {
+            return Set.copyOf(templates.keySet());
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Gets the number of scripts migrated to this node.
+     *
+     * @return the incoming migration count
+     */
+    public long getMigratedIn() {
+        lock.lock();
+        try {
+            return migratedIn;
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Gets the number of scripts migrated away from this node.
+     *
+     * @return the outgoing migration count
+     */
+    public long getMigratedOut() {
+        lock.lock();
+        try {
+            return migratedOut;
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Gets the scripts whose last hand-off to another node failed and that are still held here,
+     * with the failure. Incoming spawns and migrations that could not be created are listed
+     * the same way.
+     *
+     * @return a snapshot of the failures by script name, oldest first
+     */
+    public Map<String, RuntimeException> getMigrationFailures() {
+        lock.lock();
+        try {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(failures));
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Retries handing over every script held here that another node owns.
+     *
+     * @return the number of scripts migrated
+     */
+    public int retryMigrations() {
+        lock.lock();
+        try {
+            return joined ? rebalance() : 0;
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Gets the node id.
+     *
+     * @return the node id
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Gets the local script manager.
+     *
+     * @return the manager
+     */
+    public ScriptManager getManager() {
+        return manager;
+    }
+
+    private void receive(byte[] bytes) {
+        inbox.add(bytes);
+        if (!lock.isHeldByCurrentThread()) {
+            drainInbox();
+        }
+    }
+
+    private void unlock() {
+        lock.unlock();
+        if (!lock.isHeldByCurrentThread()) {
+            drainInbox();
+        }
+    }
+
+    private void drainInbox() {
+        while (!inbox.isEmpty() && lock.tryLock()) {
+            try {
+                byte[] bytes;
+                while ((bytes = inbox.poll()) != null) {
+                    ClusterMessage message = ClusterMessage.decode(bytes);
+                    try {
+                        handle(message);
+                    } catch (RuntimeException e) {
+                        failures.put(nameOf(message), e);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void handle(ClusterMessage message) {
+        switch (message) {
+            case ClusterMessage.Join join -> {
+                if (ring.add(join.nodeId())) {
+                    rebalance();
+                }
+            }
+            case ClusterMessage.Leave leave -> ring.remove(leave.nodeId());
+            case ClusterMessage.Spawn spawn -> addLocal(spawn.name(), spawn.templateId(), factory.create(spawn.templateId()));
+            case ClusterMessage.Migrate migrate -> {
+                Script script = factory.create(migrate.templateId());
+                int slot = stateBuffer.allocate();
+                try {
+                    stateBuffer.setStepIndex(slot, migrate.stepIndex());
+                    stateBuffer.setLoop(slot, migrate.loop());
+                    stateBuffer.setFlags(slot, migrate.flags());
+                    stateBuffer.setElapsed(slot, migrate.elapsed());
+                    long[] stepState = migrate.stepState();
+                    LongConsumer writer = stateBuffer.stateWriter(slot);
+                    for (long value : stepState) {
+                        writer.accept(value);
+                    }
+                    script.restoreState(stateBuffer, slot);
+                } finally {
+                    stateBuffer.free(slot);
+                }
+                addLocal(migrate.name(), migrate.templateId(), script);
+                migratedIn++;
+            }
+        }
+    }
+
+    private int rebalance() {
+        int migrated = 0;
+        for (String name : new ArrayList<>(templates.keySet())) {
+            String owner = ring.nodeFor(name);
+            if (!owner.equals(nodeId) && tryMigrate(name, owner)) {
+                migrated++;
+            }
+        }
+        return migrated;
+    }
+
+    /**
+     * Hands a script over to another node, keeping it here if that fails.
+     *
+     * @return true if the script was sent
+     */
+    private boolean tryMigrate(String name, String target) {
+        String templateId = templates.get(name);
+        Optional<Script> detached = manager.detachScript(name);
+        if (detached.isEmpty()) {
+            templates.remove(name);
+            failures.remove(name);
+            return false;
+        }
+        Script script = detached.get();
+        try {
+            transport.send(target, captureMigration(name, templateId, script).encode());
+        } catch (RuntimeException e) {
+            manager.addScript(name, script);
+            failures.put(name, e);
+            return false;
+        }
+        templates.remove(name);
+        failures.remove(name);
+        migratedOut++;
+        return true;
+    }
+
+    private static String nameOf(ClusterMessage message) {
+        return switch (message) {
+            case ClusterMessage.Join join -> join.nodeId();
+            case ClusterMessage.Leave leave -> leave.nodeId();
+            case ClusterMessage.Spawn spawn -> spawn.name();
+            case ClusterMessage.Migrate migrate -> migrate.name();
+        };
+    }
+
+    private ClusterMessage.Migrate captureMigration(String name, String templateId, Script script) {
+        int slot = stateBuffer.allocate();
+        try {
+            script.saveState(stateBuffer, slot);
+            int words = MIGRATION_STATE_WORDS;
+            while (words > 0 && stateBuffer.getStateWord(slot, words - 1) == 0L) {
+                words--;
+            }
+            long[] stepState = new long[words + 1];
+            stepState[0] = stateBuffer.getStepState(slot);
+            for (int i = 0; i < words; i++) {
+                stepState[i + 1] = stateBuffer.getStateWord(slot, i);
+            }
+            return new ClusterMessage.Migrate(name, templateId, stateBuffer.getStepIndex(slot),
+                    stateBuffer.getLoop(slot), stateBuffer.getFlags(slot),
+                    stateBuffer.getElapsed(slot), stepState);
+        } finally {
+            stateBuffer.free(slot);
+        }
+    }
+
+    private void addLocal(String name, String templateId, Script script) {
+        manager.addScript(name, script);
+        templates.put(name, templateId);
+    }
+
+    private List<String> peers() {
+        List<String> peers = new ArrayList<>(ring.nodes());
+        peers.remove(nodeId);
+        return Collections.unmodifiableList(peers);
+    }
+
+    private void requireJoined() {
+        if (!joined) {
+            throw new IllegalStateException("Node has not joined: " + nodeId);
+        }
+    }
+}
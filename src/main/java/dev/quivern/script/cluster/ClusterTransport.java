@@ -0,0 +1,46 @@
+package dev.quivern.script.cluster;
+
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Delivers cluster messages between nodes.
+ * <p>
+ * Messages are opaque byte arrays encoded by {@link ClusterNode}, so an implementation only
+ * needs to move bytes, for example over sockets or a message broker. Messages from one sender
+ * to one receiver must arrive in the order they were sent. {@link LoopbackTransport} connects
+ * nodes inside one JVM.
+ */
+public interface ClusterTransport {
+
+    /**
+     * Starts receiving messages addressed to a node.
+     *
+     * @param nodeId the local node id
+     * @param receiver called with each message for the node
+     */
+    void bind(String nodeId, Consumer<byte[]> receiver);
+
+    /**
+     * Stops receiving messages addressed to a node.
+     *
+     * @param nodeId the local node id
+     */
+    void unbind(String nodeId);
+
+    /**
+     * Sends a message to a node.
+     *
+     * @param nodeId the target node id
+     * @param message the encoded message
+     * @throws IllegalArgumentException if the node is not reachable
+     */
+    void send(String nodeId, byte[] message);
+
+    /**
+     * Gets the ids of all nodes currently reachable through this transport, including bound local nodes.
+     *
+     * @return the node ids
+     */
+    Set<String> nodes();
+}
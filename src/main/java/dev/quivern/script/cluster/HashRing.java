@@ -0,0 +1,136 @@
+package dev.quivern.script.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Consistent-hash ring assigning keys to nodes.
+ * <p>
+ * Each node is placed on the ring at a number of virtual points, and a key belongs to the node
+ * owning the first point at or after the key's hash. Adding or removing a node therefore only
+ * moves the keys next to that node's points, about {@code 1/n} of all keys.
+ * Not thread-safe.
+ */
+public final class HashRing {
+    /**
+     * Default number of virtual points per node.
+     */
+    public static final int DEFAULT_VIRTUAL_NODES = 128;
+
+    private final int virtualNodes;
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+    private final Set<String> nodes = new TreeSet<>();
+
+    /**
+     * Creates an empty ring with {@value #DEFAULT_VIRTUAL_NODES} virtual points per node.
+     */
+    public HashRing() {
+        this(DEFAULT_VIRTUAL_NODES);
+    }
+
+    /**
+     * Creates an empty ring.
+     *
+     * @param virtualNodes the number of virtual points per node
+     * @throws IllegalArgumentException if virtualNodes is not positive
+     */
+    public HashRing(int virtualNodes) {
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("Virtual nodes must be positive");
+        }
+        this.virtualNodes = virtualNodes;
+    }
+
+    /**
+     * Adds a node to the ring.
+     *
+     * @param node the node id
+     * @return true if the node was not on the ring
+     * @throws NullPointerException if node is null
+     */
+    public boolean add(String node) {
+        Objects.requireNonNull(node, "Node cannot be null");
+        if (!nodes.add(node)) return false;
+        for (int i = 0; i < virtualNodes; i++) {
+            ring.putIfAbsent(hash(node + '#' + i), node);
+        }
+        return true;
+    }
+
+    /**
+     * Removes a node from the ring.
+     *
+     * @param node the node id
+     * @return true if the node was on the ring
+     */
+    public boolean remove(String node) {
+        if (node == null || !nodes.remove(node)) return false;
+        ring.values().removeIf(node::equals);
+        return true;
+    }
+
+    /**
+     * Gets the node owning a key.
+     *
+     * @param key the key
+     * @return the owning node, or null if the ring is empty
+     * @throws NullPointerException if key is null
+     */
+    public String nodeFor(String key) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        if (ring.isEmpty()) return null;
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    /**
+     * Checks if a node is on the ring.
+     *
+     * @param node the node id
+     * @return true if present
+     */
+    public boolean contains(String node) {
+        return nodes.contains(node);
+    }
+
+    /**
+     * Gets the nodes on the ring.
+     *
+     * @return an unmodifiable sorted view of the node ids
+     */
+    public Set<String> nodes() {
+        return Collections.unmodifiableSet(nodes);
+    }
+
+    /**
+     * Gets the number of nodes on the ring.
+     *
+     * @return the node count
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 mixer so that
+     * similar keys such as virtual point names spread evenly.
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
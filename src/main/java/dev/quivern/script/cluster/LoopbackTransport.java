@@ -0,0 +1,43 @@
+package dev.quivern.script.cluster;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * In-memory transport connecting nodes in the same JVM.
+ * Messages are copied and delivered synchronously on the sending thread, so a whole cluster
+ * can run and rebalance deterministically inside a single test.
+ */
+public class LoopbackTransport implements ClusterTransport {
+    private final ConcurrentHashMap<String, Consumer<byte[]>> receivers = new ConcurrentHashMap<>();
+
+    @Override
+    public void bind(String nodeId, Consumer<byte[]> receiver) {
+        Objects.requireNonNull(nodeId, "Node id cannot be null");
+        Objects.requireNonNull(receiver, "Receiver cannot be null");
+        if (receivers.putIfAbsent(nodeId, receiver) != null) {
+            throw new IllegalStateException("Node already bound: " + nodeId);
+        }
+    }
+
+    @Override
+    public void unbind(String nodeId) {
+        receivers.remove(nodeId);
+    }
+
+    @Override
+    public void send(String nodeId, byte[] message) {
+        Consumer<byte[]> receiver = receivers.get(nodeId);
+        if (receiver == null) {
+            throw new IllegalArgumentException("Unknown node: " + nodeId);
+        }
+        receiver.accept(message.clone());
+    }
+
+    @Override
+    public Set<String> nodes() {
+        return Set.copyOf(receivers.keySet());
+    }
+}
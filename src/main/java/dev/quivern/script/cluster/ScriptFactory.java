@@ -0,0 +1,21 @@
+package dev.quivern.script.cluster;
+
+import dev.quivern.script.Script;
+
+/**
+ * Creates fresh scripts from a template id, the same way on every node.
+ * Migration recreates a script from its template on the target node and then restores its
+ * execution state, so every node must map a template id to the same steps, for example with
+ * {@code id -> library.instantiate(id, bindings)}.
+ */
+@FunctionalInterface
+public interface ScriptFactory {
+
+    /**
+     * Creates a new script.
+     *
+     * @param templateId the template id
+     * @return a new script in its initial state
+     */
+    Script create(String templateId);
+}
@@ -0,0 +1,71 @@
+package dev.quivern.script.definition;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Named actions and conditions that script definitions refer to.
+ * Definitions only contain names; the code behind them is bound when a template is instantiated.
+ */
+public class ScriptBindings {
+    private final Map<String, Runnable> actions = new ConcurrentHashMap<>();
+    private final Map<String, BooleanSupplier> conditions = new ConcurrentHashMap<>();
+
+    /**
+     * Binds an action name used by {@code call} and {@code timed} steps.
+     *
+     * @param name the action name
+     * @param action the action
+     * @return these bindings for chaining
+     * @throws NullPointerException if name or action is null
+     */
+    public ScriptBindings action(String name, Runnable action) {
+        actions.put(Objects.requireNonNull(name, "Name cannot be null"), Objects.requireNonNull(action, "Action cannot be null"));
+        return this;
+    }
+
+    /**
+     * Binds a condition name used by {@code until}, {@code when}, {@code branch} and {@code cancel} steps.
+     *
+     * @param name the condition name
+     * @param condition the condition
+     * @return these bindings for chaining
+     * @throws NullPointerException if name or condition is null
+     */
+    public ScriptBindings condition(String name, BooleanSupplier condition) {
+        conditions.put(Objects.requireNonNull(name, "Name cannot be null"), Objects.requireNonNull(condition, "Condition cannot be null"));
+        return this;
+    }
+
+    /**
+     * Gets a bound action.
+     *
+     * @param name the action name
+     * @return the action
+     * @throws IllegalArgumentException if the name is not bound
+     */
+    public Runnable getAction(String name) {
+        Runnable action = actions.get(name);
+        if (action == null) {
+            throw new IllegalArgumentException("Unknown action: " + name);
+        }
+        return action;
+    }
+
+    /**
+     * Gets a bound condition.
+     *
+     * @param name the condition name
+     * @return the condition
+     * @throws IllegalArgumentException if the name is not bound
+     */
+    public BooleanSupplier getCondition(String name) {
+        BooleanSupplier condition = conditions.get(name);
+        if (condition == null) {
+            throw new IllegalArgumentException("Unknown condition: " + name);
+        }
+        return condition;
+    }
+}
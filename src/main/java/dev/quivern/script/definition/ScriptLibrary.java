@@ -0,0 +1,228 @@
+package dev.quivern.script.definition;
+
+import dev.quivern.script.Script;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * Named script templates loaded from definition files.
+ * Files are compiled through a {@link TemplateCache}, so reloading unchanged files is cheap,
+ * and bulk loads compile files in parallel. Loading a definition with an existing name
+ * replaces the previous template, except within a single bulk load, where a name defined by
+ * more than one file is rejected rather than resolved by whichever file finishes last.
+ * Precompiled {@link TemplateArchive}s can be added as a fallback; their templates are
+ * decoded when first looked up.
+ */
+public class ScriptLibrary {
+    /**
+     * File extension picked up by {@link #loadDirectory(Path)}.
+     */
+    public static final String FILE_EXTENSION = ".luma";
+
+    private final TemplateCache cache;
+    private final Map<String, ScriptTemplate> templates = new ConcurrentHashMap<>();
+    private final List<TemplateArchive> archives = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates a library with its own template cache.
+     */
+    public ScriptLibrary() {
+        this(new TemplateCache());
+    }
+
+    /**
+     * Creates a library backed by a shared template cache.
+     *
+     * @param cache the template cache
+     * @throws NullPointerException if cache is null
+     */
+    public ScriptLibrary(TemplateCache cache) {
+        this.cache = Objects.requireNonNull(cache, "Cache cannot be null");
+    }
+
+    /**
+     * Loads the definitions in a string.
+     *
+     * @param sourceName the source name used in error messages
+     * @param source the definition text
+     * @return the number of templates loaded
+     * @throws ScriptSyntaxException if the definition is malformed
+     */
+    public int load(String sourceName, String source) {
+        Objects.requireNonNull(source, "Source cannot be null");
+        return register(cache.compile(sourceName, source.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Loads the definitions in a file.
+     *
+     * @param file the UTF-8 definition file
+     * @return the number of templates loaded
+     * @throws UncheckedIOException if the file cannot be read
+     * @throws ScriptSyntaxException if the definition is malformed
+     */
+    public int load(Path file) {
+        return register(compile(file));
+    }
+
+    /**
+     * Loads many definition files, compiling them in parallel on the common fork/join pool.
+     * Nothing is loaded if a file fails or two files define the same script name.
+     *
+     * @param files the definition files
+     * @return the number of templates loaded
+     * @throws UncheckedIOException if a file cannot be read
+     * @throws ScriptSyntaxException if a definition is malformed
+     * @throws IllegalArgumentException if a script name is defined in more than one file
+     */
+    public int loadAll(Collection<Path> files) {
+        Objects.requireNonNull(files, "Files cannot be null");
+        List<Path> paths = List.copyOf(files);
+        List<List<ScriptTemplate>> compiled = paths.parallelStream().map(this::compile).toList();
+        Map<String, Path> origins = new HashMap<>();
+        for (int i = 0; i < paths.size(); i++) {
+            for (ScriptTemplate template : compiled.get(i)) {
+                Path other = origins.putIfAbsent(template.getName(), paths.get(i));
+                if (other != null && !other.equals(paths.get(i))) {
+                    throw new IllegalArgumentException("Script '" + template.getName() + "' is defined in both "
+                            + other + " and " + paths.get(i));
+                }
+            }
+        }
+        int loaded = 0;
+        for (List<ScriptTemplate> templates : compiled) {
+            loaded += register(templates);
+        }
+        return loaded;
+    }
+
+    /**
+     * Loads every {@value #FILE_EXTENSION} file below a directory in parallel.
+     *
+     * @param directory the root directory
+     * @return the number of templates loaded
+     * @throws UncheckedIOException if the directory or a file cannot be read
+     * @throws ScriptSyntaxException if a definition is malformed
+     */
+    public int loadDirectory(Path directory) {
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(directory)) {
+            files = walk.filter(path -> path.toString().endsWith(FILE_EXTENSION) && Files.isRegularFile(path)).toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list " + directory, e);
+        }
+        return loadAll(files);
+    }
+
+    /**
+     * Adds a precompiled archive consulted for names that were not loaded from text.
+     * Archives added later take precedence over earlier ones.
+     *
+     * @param archive the archive
+     * @throws NullPointerException if archive is null
+     */
+    public void addArchive(TemplateArchive archive) {
+        archives.add(0, Objects.requireNonNull(archive, "Archive cannot be null"));
+    }
+
+    /**
+     * Writes all loaded templates to a precompiled archive.
+     *
+     * @param file the target file, replaced if it exists
+     * @throws IOException if the file cannot be written
+     */
+    public void writeArchive(Path file) throws IOException {
+        TemplateArchive.write(file, templates.values());
+    }
+
+    /**
+     * Gets a template by script name, decoding it from an archive if it was not loaded from text.
+     *
+     * @param name the script name
+     * @return optional containing the template, empty if unknown
+     */
+    public Optional<ScriptTemplate> getTemplate(String name) {
+        if (name == null) return Optional.empty();
+        ScriptTemplate template = templates.get(name);
+        if (template != null) return Optional.of(template);
+        for (TemplateArchive archive : archives) {
+            Optional<ScriptTemplate> archived = archive.getTemplate(name);
+            if (archived.isPresent()) return archived;
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Creates a new script from a loaded template.
+     *
+     * @param name the script name
+     * @param bindings the actions and conditions referenced by the definition
+     * @return the new script
+     * @throws IllegalArgumentException if no template has this name or a referenced name is not bound
+     */
+    public Script instantiate(String name, ScriptBindings bindings) {
+        return getTemplate(name)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown script template: " + name))
+                .instantiate(bindings);
+    }
+
+    /**
+     * Gets the names of all templates loaded from text.
+     *
+     * @return an unmodifiable view of the names
+     */
+    public Set<String> names() {
+        return Collections.unmodifiableSet(templates.keySet());
+    }
+
+    /**
+     * Gets the number of templates loaded from text.
+     *
+     * @return the template count
+     */
+    public int size() {
+        return templates.size();
+    }
+
+    /**
+     * Gets the cache this library compiles through.
+     *
+     * @return the template cache
+     */
+    public TemplateCache getCache() {
+        return cache;
+    }
+
+    private List<ScriptTemplate> compile(Path file) {
+        Objects.requireNonNull(file, "File cannot be null");
+        byte[] content;
+        try {
+            content = Files.readAllBytes(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + file, e);
+        }
+        return cache.compile(file.toString(), content);
+    }
+
+    private int register(List<ScriptTemplate> compiled) {
+        for (ScriptTemplate template : compiled) {
+            templates.put(template.getName(), template);
+        }
+        return compiled.size();
+    }
+}
@@ -0,0 +1,318 @@
+package dev.quivern.script.definition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Single-pass parser for the textual script definition format.
+ * <p>
+ * A source holds any number of definitions. Steps are separated by whitespace, newlines or
+ * {@code ;}, and {@code #} starts a comment that runs to the end of the line:
+ * <pre>
+ * script intro loop 2 {
+ *     wait 500ms
+ *     call greet
+ *     timed 20t spin
+ *     until ready
+ *     when ready { call wave }
+ *     branch boss { call fight } else { call explore }
+ *     parallel { wait 1s; call music }
+ *     sequence { call a; call b }
+ *     repeat 3 { call jump }
+ *     timeout 2s { until doorOpen }
+ *     cancel aborted { wait 10s }
+ * }
+ * </pre>
+ * Durations take a unit: {@code ms}, {@code s} or {@code t} (ticks). A block with several
+ * steps runs them in sequence. Names after {@code call}, {@code timed}, {@code until}, {@code when},
+ * {@code branch} and {@code cancel} refer to {@link ScriptBindings} entries.
+ * <p>
+ * The parser reads the source in place, one token at a time, and only allocates for
+ * names and the compiled nodes.
+ */
+public final class ScriptParser {
+    private static final int EOF = 0;
+    private static final int WORD = 1;
+    private static final int NUMBER = 2;
+    private static final int OPEN = 3;
+    private static final int CLOSE = 4;
+
+    private final String sourceName;
+    private final CharSequence source;
+    private final int length;
+    private int pos;
+    private int line = 1;
+    private int lineStart;
+
+    private int type;
+    private int start;
+    private int end;
+    private int tokenLine;
+    private int tokenColumn;
+    private long number;
+    private int unitStart;
+
+    private ScriptParser(String sourceName, CharSequence source) {
+        this.sourceName = sourceName;
+        this.source = source;
+        this.length = source.length();
+    }
+
+    /**
+     * Parses all script definitions in a source.
+     *
+     * @param source the definition text
+     * @return the compiled templates in source order
+     * @throws NullPointerException if source is null
+     * @throws ScriptSyntaxException if the source is malformed
+     */
+    public static List<ScriptTemplate> parse(CharSequence source) {
+        return parse("<source>", source);
+    }
+
+    /**
+     * Parses all script definitions in a source.
+     *
+     * @param sourceName the source name used in error messages
+     * @param source the definition text
+     * @return the compiled templates in source order
+     * @throws NullPointerException if source name or source is null
+     * @throws ScriptSyntaxException if the source is malformed
+     */
+    public static List<ScriptTemplate> parse(String sourceName, CharSequence source) {
+        Objects.requireNonNull(sourceName, "Source name cannot be null");
+        Objects.requireNonNull(source, "Source cannot be null");
+        return new ScriptParser(sourceName, source).parseSource();
+    }
+
+    private List<ScriptTemplate> parseSource() {
+        List<ScriptTemplate> templates = new ArrayList<>();
+        next();
+        while (type != EOF) {
+            templates.add(parseDefinition());
+        }
+        return templates;
+    }
+
+    private ScriptTemplate parseDefinition() {
+        if (!isWord("script")) throw error("Expected 'script'");
+        next();
+        String name = expectName("script name");
+        int loopCount = 0;
+        if (isWord("loop")) {
+            next();
+            if (isWord("forever")) {
+                next();
+                loopCount = ScriptTemplate.LOOP_FOREVER;
+            } else {
+                loopCount = expectCount("loop count");
+            }
+        }
+        return new ScriptTemplate(name, loopCount, parseBlock());
+    }
+
+    private TemplateNode[] parseBlock() {
+        if (type != OPEN) throw error("Expected '{'");
+        int blockLine = tokenLine;
+        int blockColumn = tokenColumn;
+        next();
+        List<TemplateNode> nodes = new ArrayList<>();
+        while (type != CLOSE) {
+            if (type == EOF) throw new ScriptSyntaxException(sourceName, blockLine, blockColumn, "Unclosed block");
+            nodes.add(parseStep());
+        }
+        if (nodes.isEmpty()) throw new ScriptSyntaxException(sourceName, blockLine, blockColumn, "Empty block");
+        next();
+        return nodes.toArray(new TemplateNode[0]);
+    }
+
+    private TemplateNode parseBody() {
+        TemplateNode[] nodes = parseBlock();
+        return nodes.length == 1 ? nodes[0] : new TemplateNode(StepKind.SEQUENCE, 0, null, nodes);
+    }
+
+    private TemplateNode parseStep() {
+        if (type != WORD) throw error("Expected a step");
+        if (isWord("wait")) {
+            next();
+            boolean ticks = isTicks();
+            long duration = expectDuration();
+            return new TemplateNode(ticks ? StepKind.WAIT_TICKS : StepKind.WAIT_MILLIS, duration, null, null);
+        }
+        if (isWord("call")) {
+            next();
+            return new TemplateNode(StepKind.CALL, 0, expectName("action name"), null);
+        }
+        if (isWord("timed")) {
+            next();
+            boolean ticks = isTicks();
+            long duration = expectDuration();
+            return new TemplateNode(ticks ? StepKind.TIMED_TICKS : StepKind.TIMED_MILLIS, duration, expectName("action name"), null);
+        }
+        if (isWord("until")) {
+            next();
+            return new TemplateNode(StepKind.UNTIL, 0, expectName("condition name"), null);
+        }
+        if (isWord("when")) {
+            next();
+            String condition = expectName("condition name");
+            return new TemplateNode(StepKind.WHEN, 0, condition, new TemplateNode[]{parseBody()});
+        }
+        if (isWord("branch")) {
+            next();
+            String condition = expectName("condition name");
+            TemplateNode ifBody = parseBody();
+            TemplateNode elseBody;
+            if (isWord("else")) {
+                next();
+                elseBody = parseBody();
+            } else {
+                elseBody = new TemplateNode(StepKind.NOOP, 0, null, null);
+            }
+            return new TemplateNode(StepKind.BRANCH, 0, condition, new TemplateNode[]{ifBody, elseBody});
+        }
+        if (isWord("parallel")) {
+            next();
+            return new TemplateNode(StepKind.PARALLEL, 0, null, parseBlock());
+        }
+        if (isWord("sequence")) {
+            next();
+            return new TemplateNode(StepKind.SEQUENCE, 0, null, parseBlock());
+        }
+        if (isWord("repeat")) {
+            next();
+            int count = expectCount("repeat count");
+            return new TemplateNode(StepKind.REPEAT, count, null, new TemplateNode[]{parseBody()});
+        }
+        if (isWord("timeout")) {
+            next();
+            if (isTicks()) throw error("Timeout must be given in ms or s");
+            long timeout = expectDuration();
+            return new TemplateNode(StepKind.TIMEOUT, timeout, null, new TemplateNode[]{parseBody()});
+        }
+        if (isWord("cancel")) {
+            next();
+            String condition = expectName("condition name");
+            return new TemplateNode(StepKind.CANCEL, 0, condition, new TemplateNode[]{parseBody()});
+        }
+        throw error("Unknown step '" + source.subSequence(start, end) + "'");
+    }
+
+    private String expectName(String what) {
+        if (type != WORD) throw error("Expected " + what);
+        String name = source.subSequence(start, end).toString();
+        next();
+        return name;
+    }
+
+    private int expectCount(String what) {
+        if (type != NUMBER || unitStart != end) throw error("Expected " + what);
+        if (number > Integer.MAX_VALUE) throw error("Number too large");
+        int count = (int) number;
+        next();
+        return count;
+    }
+
+    private long expectDuration() {
+        if (type != NUMBER) throw error("Expected a duration");
+        long value;
+        if (isUnit("ms") || isUnit("t")) {
+            value = number;
+        } else if (isUnit("s")) {
+            if (number > Long.MAX_VALUE / 1000) throw error("Number too large");
+            value = number * 1000;
+        } else {
+            throw error("Expected a duration unit: ms, s or t");
+        }
+        if (isUnit("t") && value > Integer.MAX_VALUE) throw error("Number too large");
+        next();
+        return value;
+    }
+
+    private boolean isTicks() {
+        return type == NUMBER && isUnit("t");
+    }
+
+    private boolean isUnit(String unit) {
+        return regionEquals(unitStart, end, unit);
+    }
+
+    private boolean isWord(String word) {
+        return type == WORD && regionEquals(start, end, word);
+    }
+
+    private boolean regionEquals(int from, int to, String text) {
+        if (to - from != text.length()) return false;
+        for (int i = 0; i < text.length(); i++) {
+            if (source.charAt(from + i) != text.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private void next() {
+        skipSeparators();
+        start = pos;
+        tokenLine = line;
+        tokenColumn = pos - lineStart + 1;
+        if (pos >= length) {
+            type = EOF;
+            end = pos;
+            return;
+        }
+        char c = source.charAt(pos);
+        if (c == '{' || c == '}') {
+            type = c == '{' ? OPEN : CLOSE;
+            end = ++pos;
+        } else if (c >= '0' && c <= '9') {
+            long value = 0;
+            while (pos < length && (c = source.charAt(pos)) >= '0' && c <= '9') {
+                if (value > (Long.MAX_VALUE - (c - '0')) / 10) throw error("Number too large");
+                value = value * 10 + (c - '0');
+                pos++;
+            }
+            unitStart = pos;
+            while (pos < length && Character.isLetter(source.charAt(pos))) {
+                pos++;
+            }
+            type = NUMBER;
+            number = value;
+            end = pos;
+        } else if (Character.isLetter(c) || c == '_') {
+            while (pos < length && isNamePart(source.charAt(pos))) {
+                pos++;
+            }
+            type = WORD;
+            end = pos;
+        } else {
+            throw error("Unexpected character '" + c + "'");
+        }
+    }
+
+    private void skipSeparators() {
+        while (pos < length) {
+            char c = source.charAt(pos);
+            if (c == '\n') {
+                pos++;
+                line++;
+                lineStart = pos;
+            } else if (c == ' ' || c == '\t' || c == '\r' || c == ';') {
+                pos++;
+            } else if (c == '#') {
+                while (pos < length && source.charAt(pos) != '\n') {
+                    pos++;
+                }
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static boolean isNamePart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '.' || c == '-' || c == ':';
+    }
+
+    private ScriptSyntaxException error(String message) {
+        return new ScriptSyntaxException(sourceName, tokenLine, tokenColumn, message);
+    }
+}
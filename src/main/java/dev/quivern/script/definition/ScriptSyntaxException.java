@@ -0,0 +1,28 @@
+package dev.quivern.script.definition;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a script definition cannot be parsed.
+ */
+@Getter
+public class ScriptSyntaxException extends IllegalArgumentException {
+    private final String sourceName;
+    private final int line;
+    private final int column;
+
+    /**
+     * Creates a syntax exception.
+     *
+     * @param sourceName the name of the definition source
+     * @param line the 1-based line of the error
+     * @param column the 1-based column of the error
+     * @param message the error description
+     */
+    public ScriptSyntaxException(String sourceName, int line, int column, String message) {
+        super(sourceName + ":" + line + ":" + column + ": " + message);
+        this.sourceName = sourceName;
+        this.line = line;
+        this.column = column;
+    }
+}
@@ -0,0 +1,82 @@
+package dev.quivern.script.definition;
+
+import dev.quivern.script.Script;
+import dev.quivern.script.strategy.FiniteLoopStrategy;
+import dev.quivern.script.strategy.InfiniteLoopStrategy;
+
+import java.util.Objects;
+
+/**
+ * Compiled, immutable form of one script definition.
+ * A template is parsed once and can be instantiated any number of times, from any thread,
+ * into independent {@link Script} instances.
+ */
+public final class ScriptTemplate {
+    /**
+     * Loop count of a template that loops indefinitely.
+     */
+    public static final int LOOP_FOREVER = -1;
+
+    private final String name;
+    private final int loopCount;
+    private final TemplateNode[] steps;
+
+    ScriptTemplate(String name, int loopCount, TemplateNode[] steps) {
+        this.name = name;
+        this.loopCount = loopCount;
+        this.steps = steps;
+    }
+
+    /**
+     * Creates a new script from this template.
+     *
+     * @param bindings the actions and conditions referenced by the definition
+     * @return the new script
+     * @throws NullPointerException if bindings is null
+     * @throws IllegalArgumentException if a referenced name is not bound
+     */
+    public Script instantiate(ScriptBindings bindings) {
+        Objects.requireNonNull(bindings, "Bindings cannot be null");
+        Script script = new Script();
+        if (loopCount == LOOP_FOREVER) {
+            script.setLoopStrategy(new InfiniteLoopStrategy());
+        } else if (loopCount > 0) {
+            script.setLoopStrategy(new FiniteLoopStrategy(loopCount));
+        }
+        for (TemplateNode step : steps) {
+            script.addStep(step.build(bindings));
+        }
+        return script;
+    }
+
+    /**
+     * Gets the script name from the definition.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the loop count, {@link #LOOP_FOREVER}, or 0 if the script does not loop.
+     *
+     * @return the loop count
+     */
+    public int getLoopCount() {
+        return loopCount;
+    }
+
+    /**
+     * Gets the number of top-level steps.
+     *
+     * @return the step count
+     */
+    public int stepCount() {
+        return steps.length;
+    }
+
+    TemplateNode[] steps() {
+        return steps;
+    }
+}
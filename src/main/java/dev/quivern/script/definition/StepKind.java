@@ -0,0 +1,64 @@
+package dev.quivern.script.definition;
+
+/**
+ * Step types a {@link ScriptTemplate} node can describe.
+ * The ordinal order is part of the compiled form and must only be appended to.
+ */
+enum StepKind {
+    /**
+     * Waits for {@code arg} milliseconds.
+     */
+    WAIT_MILLIS,
+    /**
+     * Waits for {@code arg} ticks.
+     */
+    WAIT_TICKS,
+    /**
+     * Runs the action {@code symbol} once.
+     */
+    CALL,
+    /**
+     * Runs the action {@code symbol} every tick for {@code arg} milliseconds.
+     */
+    TIMED_MILLIS,
+    /**
+     * Runs the action {@code symbol} every tick for {@code arg} ticks.
+     */
+    TIMED_TICKS,
+    /**
+     * Waits until the condition {@code symbol} holds.
+     */
+    UNTIL,
+    /**
+     * Runs the single child while the condition {@code symbol} holds.
+     */
+    WHEN,
+    /**
+     * Runs the first child if the condition {@code symbol} holds, otherwise the second.
+     */
+    BRANCH,
+    /**
+     * Runs all children at the same time.
+     */
+    PARALLEL,
+    /**
+     * Runs all children one after another.
+     */
+    SEQUENCE,
+    /**
+     * Runs the single child {@code arg} times.
+     */
+    REPEAT,
+    /**
+     * Runs the single child for at most {@code arg} milliseconds.
+     */
+    TIMEOUT,
+    /**
+     * Runs the single child until the condition {@code symbol} holds.
+     */
+    CANCEL,
+    /**
+     * Does nothing; used for a branch without an else block.
+     */
+    NOOP
+}
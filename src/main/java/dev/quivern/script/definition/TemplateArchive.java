@@ -0,0 +1,353 @@
+package dev.quivern.script.definition;
+
+import dev.quivern.script.Script;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Versioned binary archive of compiled script templates.
+ * <p>
+ * An archive is memory-mapped when opened and nothing but its header is read up front.
+ * A template is decoded the first time it is looked up, so startup cost follows the scripts
+ * actually used rather than the number of scripts in the archive. Actions and conditions are
+ * stored by name and bound on {@link #instantiate(String, ScriptBindings)} as for text definitions.
+ * <p>
+ * Layout, little-endian:
+ * <pre>
+ * header   magic "LUMT", version, template count, symbol count,
+ *          symbol table offset, index offset (32 bytes)
+ * symbols  per symbol: byte offset and length of its UTF-8 text (8 bytes), then the text blob
+ * index    per template, sorted by name bytes: name symbol, body offset (8 bytes)
+ * bodies   loop count, step count, then each node depth-first as
+ *          kind (1 byte), argument (8), symbol or -1 (4), child count (4), children
+ * </pre>
+ * Safe for concurrent lookups.
+ */
+public final class TemplateArchive {
+    private static final int MAGIC = 0x544D554C; // "LUMT"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int SYMBOL_ENTRY_SIZE = 8;
+    private static final int INDEX_ENTRY_SIZE = 8;
+    private static final int NO_SYMBOL = -1;
+    private static final StepKind[] KINDS = StepKind.values();
+
+    private final ByteBuffer buffer;
+    private final int templateCount;
+    private final int symbolCount;
+    private final int symbolTable;
+    private final int index;
+    private final AtomicReferenceArray<String> symbols;
+    private final Map<String, ScriptTemplate> decoded = new ConcurrentHashMap<>();
+
+    private TemplateArchive(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.templateCount = buffer.getInt(8);
+        this.symbolCount = buffer.getInt(12);
+        this.symbolTable = buffer.getInt(16);
+        this.index = buffer.getInt(20);
+        this.symbols = new AtomicReferenceArray<>(symbolCount);
+    }
+
+    /**
+     * Writes templates to an archive file.
+     * If several templates share a name, the last one wins.
+     *
+     * @param file the target file, replaced if it exists
+     * @param templates the templates to store
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path file, Collection<ScriptTemplate> templates) throws IOException {
+        Objects.requireNonNull(file, "File cannot be null");
+        Objects.requireNonNull(templates, "Templates cannot be null");
+        Map<String, ScriptTemplate> byName = new LinkedHashMap<>();
+        for (ScriptTemplate template : templates) {
+            byName.put(template.getName(), template);
+        }
+        List<ScriptTemplate> sorted = new ArrayList<>(byName.values());
+        sorted.sort((a, b) -> Arrays.compareUnsigned(utf8(a.getName()), utf8(b.getName())));
+
+        Map<String, Integer> symbolIds = new LinkedHashMap<>();
+        for (ScriptTemplate template : sorted) {
+            symbolIds.computeIfAbsent(template.getName(), k -> symbolIds.size());
+            for (TemplateNode step : template.steps()) {
+                collectSymbols(step, symbolIds);
+            }
+        }
+
+        Output bodies = new Output();
+        int[] bodyOffsets = new int[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            ScriptTemplate template = sorted.get(i);
+            bodyOffsets[i] = bodies.size();
+            bodies.putInt(template.getLoopCount());
+            bodies.putInt(template.stepCount());
+            for (TemplateNode step : template.steps()) {
+                writeNode(bodies, step, symbolIds);
+            }
+        }
+
+        Output text = new Output();
+        Output symbolTable = new Output();
+        int symbolTableOffset = HEADER_SIZE;
+        int textOffset = symbolTableOffset + symbolIds.size() * SYMBOL_ENTRY_SIZE;
+        for (String symbol : symbolIds.keySet()) {
+            byte[] bytes = utf8(symbol);
+            symbolTable.putInt(textOffset + text.size());
+            symbolTable.putInt(bytes.length);
+            text.write(bytes, 0, bytes.length);
+        }
+        int indexOffset = textOffset + text.size();
+        int bodyOffset = indexOffset + sorted.size() * INDEX_ENTRY_SIZE;
+
+        Output out = new Output();
+        out.putInt(MAGIC);
+        out.putInt(VERSION);
+        out.putInt(sorted.size());
+        out.putInt(symbolIds.size());
+        out.putInt(symbolTableOffset);
+        out.putInt(indexOffset);
+        out.putInt(0);
+        out.putInt(0);
+        symbolTable.writeTo(out);
+        text.writeTo(out);
+        for (int i = 0; i < sorted.size(); i++) {
+            out.putInt(symbolIds.get(sorted.get(i).getName()));
+            out.putInt(bodyOffset + bodyOffsets[i]);
+        }
+        bodies.writeTo(out);
+        Files.write(file, out.toByteArray());
+    }
+
+    /**
+     * Maps an archive file for reading.
+     *
+     * @param file the archive file
+     * @return the archive
+     * @throws IOException if the file cannot be mapped
+     * @throws IllegalArgumentException if the file is not a supported archive
+     */
+    public static TemplateArchive open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Not a template archive: " + file);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION) {
+                throw new IllegalArgumentException("Unsupported template archive: " + file);
+            }
+            long indexEnd = (long) mapped.getInt(20) + (long) mapped.getInt(8) * INDEX_ENTRY_SIZE;
+            long symbolsEnd = (long) mapped.getInt(16) + (long) mapped.getInt(12) * SYMBOL_ENTRY_SIZE;
+            if (mapped.getInt(8) < 0 || mapped.getInt(12) < 0 || indexEnd > channel.size() || symbolsEnd > channel.size()) {
+                throw new IllegalArgumentException("Truncated template archive: " + file);
+            }
+            return new TemplateArchive(mapped);
+        }
+    }
+
+    /**
+     * Gets a template by script name, decoding it on first use.
+     *
+     * @param name the script name
+     * @return optional containing the template, empty if the archive has no such script
+     * @throws IllegalArgumentException if the archive data is corrupt
+     */
+    public Optional<ScriptTemplate> getTemplate(String name) {
+        if (name == null) return Optional.empty();
+        ScriptTemplate template = decoded.get(name);
+        if (template == null) {
+            int slot = find(utf8(name));
+            if (slot < 0) return Optional.empty();
+            template = decoded.computeIfAbsent(name, k -> decode(k, buffer.getInt(index + slot * INDEX_ENTRY_SIZE + 4)));
+        }
+        return Optional.of(template);
+    }
+
+    /**
+     * Creates a new script from an archived template.
+     *
+     * @param name the script name
+     * @param bindings the actions and conditions referenced by the template
+     * @return the new script
+     * @throws IllegalArgumentException if no template has this name or a referenced name is not bound
+     */
+    public Script instantiate(String name, ScriptBindings bindings) {
+        return getTemplate(name)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown script template: " + name))
+                .instantiate(bindings);
+    }
+
+    /**
+     * Gets the names of all archived templates in archive order.
+     *
+     * @return the names
+     */
+    public List<String> names() {
+        List<String> names = new ArrayList<>(templateCount);
+        for (int i = 0; i < templateCount; i++) {
+            names.add(symbol(buffer.getInt(index + i * INDEX_ENTRY_SIZE)));
+        }
+        return names;
+    }
+
+    /**
+     * Gets the number of archived templates.
+     *
+     * @return the template count
+     */
+    public int size() {
+        return templateCount;
+    }
+
+    /**
+     * Gets the number of templates decoded so far.
+     *
+     * @return the decoded template count
+     */
+    public int decodedCount() {
+        return decoded.size();
+    }
+
+    private int find(byte[] name) {
+        int low = 0;
+        int high = templateCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareSymbol(buffer.getInt(index + mid * INDEX_ENTRY_SIZE), name);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private int compareSymbol(int id, byte[] name) {
+        int entry = symbolEntry(id);
+        int offset = buffer.getInt(entry);
+        int length = buffer.getInt(entry + 4);
+        int common = Math.min(length, name.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = Byte.compareUnsigned(buffer.get(offset + i), name[i]);
+            if (cmp != 0) return cmp;
+        }
+        return Integer.compare(length, name.length);
+    }
+
+    private ScriptTemplate decode(String name, int offset) {
+        try {
+            int[] cursor = {offset + 8};
+            int loopCount = buffer.getInt(offset);
+            TemplateNode[] steps = new TemplateNode[checkCount(buffer.getInt(offset + 4))];
+            for (int i = 0; i < steps.length; i++) {
+                steps[i] = readNode(cursor);
+            }
+            return new ScriptTemplate(name, loopCount, steps);
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Corrupt template archive entry: " + name, e);
+        }
+    }
+
+    private TemplateNode readNode(int[] cursor) {
+        int at = cursor[0];
+        int kind = buffer.get(at);
+        long arg = buffer.getLong(at + 1);
+        int symbolId = buffer.getInt(at + 9);
+        TemplateNode[] children = new TemplateNode[checkCount(buffer.getInt(at + 13))];
+        cursor[0] = at + 17;
+        if (kind < 0 || kind >= KINDS.length) {
+            throw new IllegalArgumentException("Corrupt template archive: unknown step kind " + kind);
+        }
+        for (int i = 0; i < children.length; i++) {
+            children[i] = readNode(cursor);
+        }
+        return new TemplateNode(KINDS[kind], arg, symbolId == NO_SYMBOL ? null : symbol(symbolId), children);
+    }
+
+    private int checkCount(int count) {
+        if (count < 0 || count > buffer.capacity()) {
+            throw new IllegalArgumentException("Corrupt template archive: bad count " + count);
+        }
+        return count;
+    }
+
+    private String symbol(int id) {
+        String symbol = symbols.get(id);
+        if (symbol == null) {
+            int entry = symbolEntry(id);
+            byte[] bytes = new byte[buffer.getInt(entry + 4)];
+            buffer.get(buffer.getInt(entry), bytes);
+            symbol = new String(bytes, StandardCharsets.UTF_8);
+            symbols.compareAndSet(id, null, symbol);
+        }
+        return symbol;
+    }
+
+    private int symbolEntry(int id) {
+        if (id < 0 || id >= symbolCount) {
+            throw new IllegalArgumentException("Corrupt template archive: bad symbol " + id);
+        }
+        return symbolTable + id * SYMBOL_ENTRY_SIZE;
+    }
+
+    private static void collectSymbols(TemplateNode node, Map<String, Integer> symbolIds) {
+        if (node.symbol != null) {
+            symbolIds.computeIfAbsent(node.symbol, k -> symbolIds.size());
+        }
+        for (TemplateNode child : node.children) {
+            collectSymbols(child, symbolIds);
+        }
+    }
+
+    private static void writeNode(Output out, TemplateNode node, Map<String, Integer> symbolIds) {
+        out.write(node.kind.ordinal());
+        out.putLong(node.arg);
+        out.putInt(node.symbol == null ? NO_SYMBOL : symbolIds.get(node.symbol));
+        out.putInt(node.children.length);
+        for (TemplateNode child : node.children) {
+            writeNode(out, child, symbolIds);
+        }
+    }
+
+    private static byte[] utf8(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Growable little-endian output buffer.
+     */
+    private static final class Output extends ByteArrayOutputStream {
+        private final ByteBuffer scratch = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+        void putInt(int value) {
+            write(scratch.putInt(0, value).array(), 0, Integer.BYTES);
+        }
+
+        void putLong(long value) {
+            write(scratch.putLong(0, value).array(), 0, Long.BYTES);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package dev.quivern.script.definition;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compiled templates keyed by the SHA-256 hash of their definition text.
+ * A definition whose content has not changed is never parsed twice, whatever file it comes from.
+ * The cache remembers which content each source name last compiled to, and drops the old
+ * templates once a source is compiled with new content and no other source still uses them,
+ * so reloading edited files does not grow the cache.
+ * Safe to share between threads and between libraries.
+ */
+public class TemplateCache {
+    private final Map<String, List<ScriptTemplate>> templates = new ConcurrentHashMap<>();
+    private final Map<String, String> sourceKeys = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Gets the templates compiled from a definition, parsing it only on a cache miss.
+     *
+     * @param sourceName the source name used in error messages
+     * @param content the UTF-8 definition text
+     * @return the compiled templates in source order
+     * @throws NullPointerException if source name or content is null
+     * @throws ScriptSyntaxException if the definition is malformed
+     */
+    public List<ScriptTemplate> compile(String sourceName, byte[] content) {
+        Objects.requireNonNull(sourceName, "Source name cannot be null");
+        Objects.requireNonNull(content, "Content cannot be null");
+        String key = hash(content);
+        String previous = sourceKeys.put(sourceName, key);
+        if (previous != null && !previous.equals(key) && !sourceKeys.containsValue(previous)) {
+            templates.remove(previous);
+        }
+        List<ScriptTemplate> cached = templates.get(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        List<ScriptTemplate> compiled = List.copyOf(ScriptParser.parse(sourceName, new String(content, StandardCharsets.UTF_8)));
+        cached = templates.putIfAbsent(key, compiled);
+        return cached != null ? cached : compiled;
+    }
+
+    /**
+     * Gets the number of cached definitions.
+     *
+     * @return the cache size
+     */
+    public int size() {
+        return templates.size();
+    }
+
+    /**
+     * Gets the number of lookups answered from the cache.
+     *
+     * @return the hit count
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of definitions that had to be parsed.
+     *
+     * @return the miss count
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Removes all cached templates.
+     */
+    public void clear() {
+        templates.clear();
+        sourceKeys.clear();
+    }
+
+    /**
+     * Computes the cache key of a definition.
+     *
+     * @param content the definition bytes
+     * @return the hex-encoded SHA-256 hash
+     */
+    static String hash(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package dev.quivern.script.definition;
+
+import dev.quivern.script.api.IScriptStep;
+import dev.quivern.script.api.ScriptAction;
+import dev.quivern.script.steps.DelayedStep;
+import dev.quivern.script.steps.DelayedTickStep;
+import dev.quivern.script.steps.TimedStep;
+import dev.quivern.script.steps.TimedTickStep;
+import dev.quivern.script.steps.advanced.BranchStep;
+import dev.quivern.script.steps.advanced.CallbackStep;
+import dev.quivern.script.steps.advanced.CancelableStep;
+import dev.quivern.script.steps.advanced.ConditionalStep;
+import dev.quivern.script.steps.advanced.ParallelStep;
+import dev.quivern.script.steps.advanced.RepeatStep;
+import dev.quivern.script.steps.advanced.SequenceStep;
+import dev.quivern.script.steps.advanced.TimeoutStep;
+import dev.quivern.script.steps.advanced.WaitUntilStep;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable node of a compiled script definition.
+ * Holds everything needed to build one step: its kind, a numeric argument,
+ * the name of a bound action or condition and its child nodes.
+ */
+final class TemplateNode {
+    private static final TemplateNode[] NO_CHILDREN = new TemplateNode[0];
+    private static final ScriptAction NO_OP = () -> {};
+
+    final StepKind kind;
+    final long arg;
+    final String symbol;
+    final TemplateNode[] children;
+
+    TemplateNode(StepKind kind, long arg, String symbol, TemplateNode[] children) {
+        this.kind = kind;
+        this.arg = arg;
+        this.symbol = symbol;
+        this.children = children == null ? NO_CHILDREN : children;
+    }
+
+    /**
+     * Builds a fresh step tree for this node.
+     *
+     * @param bindings the actions and conditions referenced by name
+     * @return the step
+     * @throws IllegalArgumentException if a referenced name is not bound
+     */
+    IScriptStep build(ScriptBindings bindings) {
+        return switch (kind) {
+            case WAIT_MILLIS -> new DelayedStep(arg, NO_OP);
+            case WAIT_TICKS -> new DelayedTickStep((int) arg, NO_OP);
+            case CALL -> new CallbackStep(bindings.getAction(symbol));
+            case TIMED_MILLIS -> new TimedStep(arg, bindings.getAction(symbol)::run);
+            case TIMED_TICKS -> new TimedTickStep((int) arg, bindings.getAction(symbol)::run);
+            case UNTIL -> new WaitUntilStep(bindings.getCondition(symbol));
+            case WHEN -> new ConditionalStep(bindings.getCondition(symbol), children[0].build(bindings));
+            case BRANCH -> new BranchStep(bindings.getCondition(symbol), children[0].build(bindings), children[1].build(bindings));
+            case PARALLEL -> new ParallelStep(buildChildren(bindings));
+            case SEQUENCE -> new SequenceStep(buildChildren(bindings));
+            case REPEAT -> new RepeatStep(children[0].build(bindings), (int) arg);
+            case TIMEOUT -> new TimeoutStep(children[0].build(bindings), arg);
+            case CANCEL -> new CancelableStep(children[0].build(bindings), bindings.getCondition(symbol));
+            case NOOP -> new CallbackStep(NO_OP::perform);
+        };
+    }
+
+    private List<IScriptStep> buildChildren(ScriptBindings bindings) {
+        List<IScriptStep> steps = new ArrayList<>(children.length);
+        for (TemplateNode child : children) {
+            steps.add(child.build(bindings));
+        }
+        return steps;
+    }
+}
@@ -0,0 +1,54 @@
+package dev.quivern.script.event;
+
+/**
+ * A lifecycle transition of a managed script.
+ *
+ * @param scriptName the name of the script
+ * @param type the kind of transition
+ * @param stepIndex the step index after the transition
+ * @param timestamp the time of the transition in milliseconds
+ */
+public record ScriptEvent(String scriptName, Type type, int stepIndex, long timestamp) {
+
+    /**
+     * Kinds of script lifecycle transitions.
+     */
+    public enum Type {
+        /**
+         * The script performed its first step.
+         */
+        STARTED,
+        /**
+         * A step finished and the script moved to the next one.
+         */
+        STEP_ADVANCED,
+        /**
+         * The script started a new loop iteration.
+         */
+        LOOPED,
+        /**
+         * The script finished all steps and loops.
+         */
+        FINISHED,
+        /**
+         * The script was interrupted.
+         */
+        INTERRUPTED,
+        /**
+         * The script was suspended.
+         */
+        SUSPENDED,
+        /**
+         * The script was resumed after being suspended.
+         */
+        RESUMED,
+        /**
+         * The script parked to wait for another script.
+         */
+        PARKED,
+        /**
+         * The script was unparked.
+         */
+        UNPARKED
+    }
+}
@@ -0,0 +1,219 @@
+package dev.quivern.script.event;
+
+import dev.quivern.script.api.ScriptTime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Publishes script lifecycle events to reactive-streams subscribers.
+ * Events emitted during a tick are buffered and handed to the delivery executor as one
+ * batch when the tick is flushed, so the tick thread never waits for subscribers.
+ * Delivery honors each subscriber's demand; events that do not fit the per-tick staging
+ * buffer or a subscriber's buffer are dropped and counted. Staging is sized for the number of
+ * transitions in one tick across all scripts, subscriber buffers for how far one subscriber
+ * may fall behind.
+ * <p>
+ * Subscriber presence is tracked in a counter maintained on subscribe, cancel and completion,
+ * so emitting without subscribers costs a single volatile read. A subscriber counts from the
+ * moment {@link #subscribe} returns, so events emitted before its {@code onSubscribe} runs on
+ * the delivery executor are buffered for it rather than skipped.
+ */
+public class ScriptEventPublisher implements Flow.Publisher<ScriptEvent>, AutoCloseable {
+    /**
+     * Default maximum number of events staged per tick.
+     */
+    public static final int DEFAULT_PENDING_CAPACITY = 1 << 20;
+
+    private final SubmissionPublisher<ScriptEvent> delegate;
+    private final Executor executor;
+    private final int maxPending;
+    private final ConcurrentLinkedQueue<ScriptEvent> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final ConcurrentLinkedQueue<List<ScriptEvent>> batches = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private volatile boolean closed;
+
+    /**
+     * Creates an event publisher with the default per-tick staging capacity.
+     *
+     * @param executor the executor used to deliver events
+     * @param bufferCapacity the maximum number of events buffered per subscriber
+     * @throws NullPointerException if executor is null
+     * @throws IllegalArgumentException if bufferCapacity is not positive
+     */
+    public ScriptEventPublisher(Executor executor, int bufferCapacity) {
+        this(executor, bufferCapacity, DEFAULT_PENDING_CAPACITY);
+    }
+
+    /**
+     * Creates an event publisher.
+     *
+     * @param executor the executor used to deliver events
+     * @param bufferCapacity the maximum number of events buffered per subscriber
+     * @param pendingCapacity the maximum number of events staged per tick
+     * @throws NullPointerException if executor is null
+     * @throws IllegalArgumentException if a capacity is not positive
+     */
+    public ScriptEventPublisher(Executor executor, int bufferCapacity, int pendingCapacity) {
+        if (bufferCapacity <= 0 || pendingCapacity <= 0) {
+            throw new IllegalArgumentException("Buffer capacity must be positive");
+        }
+        this.executor = Objects.requireNonNull(executor, "Executor cannot be null");
+        this.delegate = new SubmissionPublisher<>(executor, bufferCapacity);
+        this.maxPending = pendingCapacity;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ScriptEvent> subscriber) {
+        Objects.requireNonNull(subscriber, "Subscriber cannot be null");
+        subscribers.incrementAndGet();
+        delegate.subscribe(new CountedSubscriber(subscriber));
+    }
+
+    /**
+     * Checks if anyone is subscribed.
+     *
+     * @return true if there is at least one subscriber
+     */
+    public boolean hasSubscribers() {
+        return subscribers.get() > 0;
+    }
+
+    /**
+     * Buffers an event for the next flush. Does nothing without subscribers.
+     *
+     * @param scriptName the script name
+     * @param type the kind of transition
+     * @param stepIndex the step index after the transition
+     */
+    public void emit(String scriptName, ScriptEvent.Type type, int stepIndex) {
+        if (subscribers.get() == 0 || closed) return;
+        if (pendingCount.incrementAndGet() > maxPending) {
+            pendingCount.decrementAndGet();
+            dropped.increment();
+            return;
+        }
+        pending.add(new ScriptEvent(scriptName, type, stepIndex, ScriptTime.now()));
+    }
+
+    /**
+     * Hands all buffered events to the delivery executor as one batch.
+     * Called by the manager at the end of each tick.
+     */
+    public void flush() {
+        if (pending.isEmpty()) return;
+        List<ScriptEvent> batch = new ArrayList<>(pendingCount.get());
+        ScriptEvent event;
+        while ((event = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            batch.add(event);
+        }
+        batches.add(batch);
+        scheduleDrain();
+    }
+
+    /**
+     * Gets the number of events dropped because a buffer was full.
+     *
+     * @return the dropped event count
+     */
+    public long droppedEvents() {
+        return dropped.sum();
+    }
+
+    /**
+     * Delivers the remaining events and completes all subscribers.
+     */
+    @Override
+    public void close() {
+        flush();
+        closed = true;
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        do {
+            List<ScriptEvent> batch;
+            while ((batch = batches.poll()) != null) {
+                for (ScriptEvent event : batch) {
+                    delegate.offer(event, (subscriber, item) -> {
+                        dropped.increment();
+                        return false;
+                    });
+                }
+            }
+            if (closed && batches.isEmpty()) {
+                delegate.close();
+            }
+            draining.set(false);
+        } while ((!batches.isEmpty() || closed && !delegate.isClosed()) && draining.compareAndSet(false, true));
+    }
+
+    /**
+     * Keeps the subscriber count up to date over a subscription's lifetime.
+     */
+    private final class CountedSubscriber implements Flow.Subscriber<ScriptEvent> {
+        private final Flow.Subscriber<? super ScriptEvent> subscriber;
+        private final AtomicBoolean active = new AtomicBoolean(true);
+
+        CountedSubscriber(Flow.Subscriber<? super ScriptEvent> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    subscription.request(n);
+                }
+
+                @Override
+                public void cancel() {
+                    end();
+                    subscription.cancel();
+                }
+            });
+        }
+
+        @Override
+        public void onNext(ScriptEvent item) {
+            subscriber.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            end();
+            subscriber.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            end();
+            subscriber.onComplete();
+        }
+
+        private void end() {
+            if (active.compareAndSet(true, false)) {
+                subscribers.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package dev.quivern.script.event;
+
+import dev.quivern.script.Script;
+
+/**
+ * Receives lifecycle transitions of a script.
+ * Called synchronously on the thread that updates the script, so implementations must be cheap.
+ */
+@FunctionalInterface
+public interface ScriptListener {
+
+    /**
+     * Called when the script goes through a lifecycle transition.
+     *
+     * @param script the script
+     * @param type the kind of transition
+     * @param stepIndex the step index after the transition
+     */
+    void onTransition(Script script, ScriptEvent.Type type, int stepIndex);
+}
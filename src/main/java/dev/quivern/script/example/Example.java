@@ -3,6 +3,7 @@ package dev.quivern.script.example;
 import dev.quivern.script.Script;
 import dev.quivern.script.ScriptManager;
 import dev.quivern.script.api.IScriptStep;
+import dev.quivern.script.runtime.ScriptRuntime;
 import dev.quivern.script.steps.DelayedStep;
 import dev.quivern.script.steps.DelayedTickStep;
 import dev.quivern.script.steps.TimedStep;
@@ -103,17 +104,9 @@ public class Example {
                         .addStep(new CallbackStep(() -> System.out.println("\n  Countdown done!")))
         );
 
-        int ticks = 0;
-        while (!manager.finished("greet") || !manager.finished("countdown")) {
-            manager.updateAll();
-            ticks++;
-            try {
-                Thread.sleep(100);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        }
-        System.out.println("  ✓ All scripts completed in " + ticks + " ticks");
+        ScriptRuntime runtime = new ScriptRuntime(manager, 10);
+        runtime.runUntil(() -> manager.finished("greet") && manager.finished("countdown"));
+        System.out.println("  ✓ All scripts completed in " + runtime.getStats().count() + " ticks");
     }
 
     /**
@@ -0,0 +1,38 @@
+package dev.quivern.script.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a script starting a new loop iteration.
+ */
+@Name("dev.quivern.script.LoopIteration")
+@Label("Loop Iteration")
+@Description("A script started a new loop iteration")
+@Category({"Luma Script"})
+@Enabled(false)
+@StackTrace(false)
+public final class LoopIterationEvent extends Event {
+    @Label("Script")
+    String scriptName;
+
+    @Label("Iteration")
+    int iteration;
+
+    /**
+     * Fills in the event fields and commits the event.
+     *
+     * @param scriptName the script name, null for unmanaged scripts
+     * @param iteration the iteration that started
+     */
+    public void commit(String scriptName, int iteration) {
+        this.scriptName = scriptName;
+        this.iteration = iteration;
+        commit();
+    }
+}
@@ -0,0 +1,38 @@
+package dev.quivern.script.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event covering one {@code ScriptManager.updateAll()} tick.
+ */
+@Name("dev.quivern.script.ManagerTick")
+@Label("Script Manager Tick")
+@Description("Update of all scripts of a manager")
+@Category({"Luma Script"})
+@Threshold("5 ms")
+@StackTrace(false)
+public final class ManagerTickEvent extends Event {
+    @Label("Script Count")
+    int scriptCount;
+
+    @Label("Parallelism")
+    int parallelism;
+
+    /**
+     * Fills in the event fields and commits the event.
+     *
+     * @param scriptCount the number of updated scripts
+     * @param parallelism the number of workers, 1 for sequential ticks
+     */
+    public void commit(int scriptCount, int parallelism) {
+        this.scriptCount = scriptCount;
+        this.parallelism = parallelism;
+        commit();
+    }
+}
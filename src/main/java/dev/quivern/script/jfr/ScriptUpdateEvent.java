@@ -0,0 +1,46 @@
+package dev.quivern.script.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event covering one {@code Script.update()} call.
+ * Disabled by default because it fires for every script on every tick.
+ */
+@Name("dev.quivern.script.ScriptUpdate")
+@Label("Script Update")
+@Description("Update of a single script")
+@Category({"Luma Script"})
+@Enabled(false)
+@Threshold("1 ms")
+@StackTrace(false)
+public final class ScriptUpdateEvent extends Event {
+    @Label("Script")
+    String scriptName;
+
+    @Label("Step Index")
+    int stepIndex;
+
+    @Label("Step Class")
+    Class<?> stepClass;
+
+    /**
+     * Fills in the event fields and commits the event.
+     *
+     * @param scriptName the script name, null for unmanaged scripts
+     * @param stepIndex the index of the performed step
+     * @param stepClass the class of the performed step
+     */
+    public void commit(String scriptName, int stepIndex, Class<?> stepClass) {
+        this.scriptName = scriptName;
+        this.stepIndex = stepIndex;
+        this.stepClass = stepClass;
+        commit();
+    }
+}
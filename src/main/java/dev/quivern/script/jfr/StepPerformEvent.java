@@ -0,0 +1,41 @@
+package dev.quivern.script.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event for a step whose {@code perform()} call ran longer than the threshold.
+ */
+@Name("dev.quivern.script.StepPerform")
+@Label("Long Step Perform")
+@Description("A step perform() call that exceeded the threshold")
+@Category({"Luma Script"})
+@Threshold("10 ms")
+public final class StepPerformEvent extends Event {
+    @Label("Script")
+    String scriptName;
+
+    @Label("Step Index")
+    int stepIndex;
+
+    @Label("Step Class")
+    Class<?> stepClass;
+
+    /**
+     * Fills in the event fields and commits the event.
+     *
+     * @param scriptName the script name, null for unmanaged scripts
+     * @param stepIndex the index of the performed step
+     * @param stepClass the class of the performed step
+     */
+    public void commit(String scriptName, int stepIndex, Class<?> stepClass) {
+        this.scriptName = scriptName;
+        this.stepIndex = stepIndex;
+        this.stepClass = stepClass;
+        commit();
+    }
+}
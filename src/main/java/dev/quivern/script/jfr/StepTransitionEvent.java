@@ -0,0 +1,43 @@
+package dev.quivern.script.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a script moving past a finished step.
+ */
+@Name("dev.quivern.script.StepTransition")
+@Label("Step Transition")
+@Description("A script finished a step and moved to the next one")
+@Category({"Luma Script"})
+@Enabled(false)
+@StackTrace(false)
+public final class StepTransitionEvent extends Event {
+    @Label("Script")
+    String scriptName;
+
+    @Label("Finished Step Index")
+    int stepIndex;
+
+    @Label("Finished Step Class")
+    Class<?> stepClass;
+
+    /**
+     * Fills in the event fields and commits the event.
+     *
+     * @param scriptName the script name, null for unmanaged scripts
+     * @param stepIndex the index of the finished step
+     * @param stepClass the class of the finished step
+     */
+    public void commit(String scriptName, int stepIndex, Class<?> stepClass) {
+        this.scriptName = scriptName;
+        this.stepIndex = stepIndex;
+        this.stepClass = stepClass;
+        commit();
+    }
+}
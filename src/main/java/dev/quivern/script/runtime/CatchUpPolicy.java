@@ -0,0 +1,22 @@
+package dev.quivern.script.runtime;
+
+/**
+ * Defines how a {@link ScriptRuntime} handles ticks missed because a tick or the
+ * host thread ran late.
+ */
+public enum CatchUpPolicy {
+    /**
+     * Drops missed ticks and continues on the original schedule.
+     */
+    SKIP,
+    /**
+     * Runs up to the configured number of missed ticks back-to-back and drops the rest.
+     */
+    BURST,
+    /**
+     * Catches up on every missed tick at once before continuing, using
+     * {@link dev.quivern.script.ScriptManager#advanceAll(long)} so tick-based steps
+     * skip their missed ticks in closed form instead of being updated once per tick.
+     */
+    FAST_FORWARD
+}
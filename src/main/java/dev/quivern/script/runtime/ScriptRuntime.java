@@ -0,0 +1,330 @@
+package dev.quivern.script.runtime;
+
+import dev.quivern.script.ScriptManager;
+import dev.quivern.script.TickStats;
+import dev.quivern.script.api.IScriptStep;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Drives a {@link ScriptManager} at a fixed tick rate.
+ * Ticks are scheduled on a fixed grid measured with {@link System#nanoTime()}, so a late
+ * tick does not shift later ones, and the runtime parks between ticks instead of spinning.
+ * Missed ticks are handled according to the configured {@link CatchUpPolicy}.
+ * <p>
+ * In idle-aware mode the runtime asks the manager for the earliest script deadline after each
+ * tick and sleeps until then when no script needs the ticks in between. Adding a script or
+ * calling {@link #wakeUp()} ends the sleep early. Sleeping does not count as missed ticks.
+ */
+public class ScriptRuntime implements AutoCloseable {
+    private static final int TICK_STATS_WINDOW = 1024;
+
+    private final ScriptManager manager;
+    private final long periodNanos;
+    private final TickStats stats = new TickStats(TICK_STATS_WINDOW);
+    private CatchUpPolicy catchUpPolicy = CatchUpPolicy.BURST;
+    private int maxBurst = 5;
+    private ForkJoinPool pool;
+    private volatile boolean running;
+    private volatile long skippedTicks;
+    private volatile RuntimeException failure;
+    private volatile boolean idleAware;
+    private volatile boolean wakeRequested;
+    private volatile Thread tickThread;
+    private volatile long idleSleeps;
+    private Thread thread;
+
+    /**
+     * Creates a runtime with its own script manager.
+     *
+     * @param ticksPerSecond the tick rate
+     * @throws IllegalArgumentException if the tick rate is not positive
+     */
+    public ScriptRuntime(int ticksPerSecond) {
+        this(new ScriptManager(), ticksPerSecond);
+    }
+
+    /**
+     * Creates a runtime driving an existing script manager.
+     *
+     * @param manager the manager to drive
+     * @param ticksPerSecond the tick rate
+     * @throws NullPointerException if manager is null
+     * @throws IllegalArgumentException if the tick rate is not positive
+     */
+    public ScriptRuntime(ScriptManager manager, int ticksPerSecond) {
+        if (ticksPerSecond <= 0) {
+            throw new IllegalArgumentException("Tick rate must be positive");
+        }
+        this.manager = Objects.requireNonNull(manager, "Manager cannot be null");
+        this.periodNanos = TimeUnit.SECONDS.toNanos(1) / ticksPerSecond;
+    }
+
+    /**
+     * Sets how missed ticks are handled.
+     *
+     * @param policy the catch-up policy
+     * @return this runtime for chaining
+     * @throws NullPointerException if policy is null
+     */
+    public ScriptRuntime setCatchUpPolicy(CatchUpPolicy policy) {
+        this.catchUpPolicy = Objects.requireNonNull(policy, "Catch-up policy cannot be null");
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of extra ticks run back-to-back under {@link CatchUpPolicy#BURST}.
+     *
+     * @param maxBurst the maximum number of extra ticks
+     * @return this runtime for chaining
+     * @throws IllegalArgumentException if maxBurst is negative
+     */
+    public ScriptRuntime setMaxBurst(int maxBurst) {
+        if (maxBurst < 0) {
+            throw new IllegalArgumentException("Max burst cannot be negative");
+        }
+        this.maxBurst = maxBurst;
+        return this;
+    }
+
+    /**
+     * Runs ticks in parallel on the given pool instead of on the runtime thread.
+     *
+     * @param pool the pool, or null for sequential ticks
+     * @return this runtime for chaining
+     */
+    public ScriptRuntime setPool(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    /**
+     * Enables sleeping until the next script deadline while every script is waiting.
+     * A {@link #runUntil(BooleanSupplier)} condition is not checked during the sleep, so a
+     * condition that changes from outside the scripts should be followed by {@link #wakeUp()}.
+     *
+     * @param idleAware true to sleep through idle ticks
+     * @return this runtime for chaining
+     */
+    public ScriptRuntime setIdleAware(boolean idleAware) {
+        this.idleAware = idleAware;
+        wakeUp();
+        return this;
+    }
+
+    /**
+     * Ends an idle sleep so the next tick runs on schedule.
+     * Safe to call from any thread; does nothing if the runtime is not sleeping.
+     */
+    public void wakeUp() {
+        wakeRequested = true;
+        Thread current = tickThread;
+        if (current != null) {
+            LockSupport.unpark(current);
+        }
+    }
+
+    /**
+     * Starts ticking on a new background thread.
+     *
+     * @throws IllegalStateException if the runtime is already running
+     */
+    public synchronized void start() {
+        if (running) {
+            throw new IllegalStateException("Runtime is already running");
+        }
+        running = true;
+        failure = null;
+        thread = new Thread(() -> loop(() -> false), "luma-script-runtime");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Runs ticks on the calling thread until the condition holds or the runtime is stopped.
+     * The condition is checked before every tick.
+     *
+     * @param condition the stop condition
+     * @throws IllegalStateException if the runtime is already running
+     */
+    public void runUntil(BooleanSupplier condition) {
+        Objects.requireNonNull(condition, "Condition cannot be null");
+        synchronized (this) {
+            if (running) {
+                throw new IllegalStateException("Runtime is already running");
+            }
+            running = true;
+            failure = null;
+        }
+        loop(condition);
+        RuntimeException error = failure;
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * Stops ticking and waits for the background thread to finish its current tick.
+     */
+    public void stop() {
+        Thread current;
+        synchronized (this) {
+            running = false;
+            current = thread;
+            thread = null;
+        }
+        wakeUp();
+        if (current != null && current != Thread.currentThread()) {
+            LockSupport.unpark(current);
+            try {
+                current.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+    /**
+     * Checks if the runtime is ticking.
+     *
+     * @return true if running
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Gets the driven script manager.
+     *
+     * @return the manager
+     */
+    public ScriptManager getManager() {
+        return manager;
+    }
+
+    /**
+     * Gets tick durations and overruns measured by this runtime.
+     *
+     * @return the tick statistics
+     */
+    public TickStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Gets the number of ticks dropped by the catch-up policy.
+     *
+     * @return the skipped tick count
+     */
+    public long getSkippedTicks() {
+        return skippedTicks;
+    }
+
+    /**
+     * Gets the number of times the runtime slept through idle ticks.
+     *
+     * @return the idle sleep count
+     */
+    public long getIdleSleeps() {
+        return idleSleeps;
+    }
+
+    /**
+     * Gets the exception that stopped the runtime, if any.
+     *
+     * @return the failure, or null
+     */
+    public RuntimeException getFailure() {
+        return failure;
+    }
+
+    private void loop(BooleanSupplier stopCondition) {
+        long next = System.nanoTime();
+        tickThread = Thread.currentThread();
+        manager.setWakeUpListener(this::wakeUp);
+        try {
+            while (running && !stopCondition.getAsBoolean()) {
+                long now = System.nanoTime();
+                long wait = next - now;
+                if (wait > 0) {
+                    LockSupport.parkNanos(this, wait);
+                    continue;
+                }
+                long missed = (now - next) / periodNanos;
+                long ticks = 1 + catchUp(missed);
+                next += missed * periodNanos;
+                for (long i = 0; i < ticks && running; i++) {
+                    tick();
+                }
+                next += periodNanos;
+                if (idleAware && !stopCondition.getAsBoolean() && sleepUntilWakeUp(next)) {
+                    next = System.nanoTime();
+                }
+            }
+        } catch (RuntimeException e) {
+            failure = e;
+        } finally {
+            manager.setWakeUpListener(null);
+            tickThread = null;
+            running = false;
+        }
+    }
+
+    /**
+     * Sleeps until the earliest script deadline if it lies beyond the next scheduled tick.
+     *
+     * @param nextTick the time of the next scheduled tick
+     * @return true if the runtime slept and the tick grid must be re-anchored
+     */
+    private boolean sleepUntilWakeUp(long nextTick) {
+        wakeRequested = false;
+        long wakeUp = manager.nextWakeUp();
+        if (wakeUp == IScriptStep.WAKE_EVERY_TICK) return false;
+        long deadline = wakeUp == IScriptStep.WAKE_ON_SIGNAL
+                ? Long.MAX_VALUE
+                : System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, wakeUp - System.currentTimeMillis()));
+        if (deadline != Long.MAX_VALUE && deadline - nextTick <= 0) return false;
+        idleSleeps++;
+        while (running && !wakeRequested) {
+            long remaining = deadline == Long.MAX_VALUE ? Long.MAX_VALUE : deadline - System.nanoTime();
+            if (remaining <= 0) break;
+            LockSupport.parkNanos(this, remaining);
+        }
+        return true;
+    }
+
+    private long catchUp(long missed) {
+        if (missed <= 0) return 0;
+        if (catchUpPolicy == CatchUpPolicy.FAST_FORWARD) {
+            manager.advanceAll(missed);
+            return 0;
+        }
+        long extra = catchUpPolicy == CatchUpPolicy.BURST ? Math.min(missed, maxBurst) : 0;
+        skippedTicks += missed - extra;
+        return extra;
+    }
+
+    private void tick() {
+        long start = System.nanoTime();
+        ForkJoinPool tickPool = pool;
+        if (tickPool != null) {
+            manager.updateAll(tickPool);
+        } else {
+            manager.updateAll();
+        }
+        long duration = System.nanoTime() - start;
+        stats.record(duration);
+        if (duration > periodNanos) {
+            stats.recordOverrun();
+        }
+    }
+}
@@ -0,0 +1,433 @@
+package dev.quivern.script.state;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Off-heap snapshot buffer for script execution state.
+ * Scripts keep their live state on the heap; {@link dev.quivern.script.Script#saveState} copies it
+ * into a record here and {@link dev.quivern.script.Script#restoreState} copies it back. Each
+ * snapshot occupies one fixed-stride record in a single direct buffer. The buffer layout is also
+ * the file layout: a store can be dumped with {@link #writeTo(Path)} and memory-mapped back with
+ * {@link #map(Path)}.
+ * <p>
+ * Record layout (little-endian, {@value #RECORD_SIZE} bytes plus 8 bytes per state word):
+ * <pre>
+ *  0  int  step index (program counter)
+ *  4  int  loop iteration
+ *  8  int  flags
+ * 12  int  reserved
+ * 16  long elapsed time in the current step, in milliseconds
+ * 24  long first packed state value of the current step
+ * 32  long further packed state values, one per state word
+ * </pre>
+ * Composite steps capture the progress of their nested steps as further packed values; a store
+ * created without state words only holds the first value, which suffices for simple steps.
+ * <p>
+ * Stores are not thread-safe; confine a store to the thread that saves and restores its scripts.
+ */
+public final class ScriptStateStore {
+    /**
+     * Size of a record without state words, in bytes.
+     */
+    public static final int RECORD_SIZE = 32;
+
+    /**
+     * Size of the file header in bytes.
+     */
+    public static final int HEADER_SIZE = 32;
+
+    /**
+     * Flag set when the script was interrupted.
+     */
+    public static final int FLAG_INTERRUPTED = 1 << 1;
+
+    /**
+     * Flag set when the script was suspended.
+     */
+    public static final int FLAG_SUSPENDED = 1 << 2;
+
+    private static final int MAGIC = 0x414D554C; // "LUMA"
+    private static final int VERSION = 1;
+    private static final int FLAG_IN_USE = 1;
+
+    private static final int STEP_INDEX = 0;
+    private static final int LOOP = 4;
+    private static final int FLAGS = 8;
+    private static final int ELAPSED = 16;
+    private static final int STEP_STATE = 24;
+
+    private final ByteBuffer buffer;
+    private final int capacity;
+    private final int recordSize;
+    private final int[] freeSlots;
+    private int freeCount;
+    private int highWater;
+    private int size;
+
+    /**
+     * Creates an empty store without state words backed by a newly allocated direct buffer.
+     *
+     * @param capacity the maximum number of records
+     * @throws IllegalArgumentException if capacity is not positive or too large
+     */
+    public ScriptStateStore(int capacity) {
+        this(capacity, 0);
+    }
+
+    /**
+     * Creates an empty store backed by a newly allocated direct buffer.
+     *
+     * @param capacity the maximum number of records
+     * @param stateWords the number of packed state values each record holds beyond the first
+     * @throws IllegalArgumentException if capacity is not positive, stateWords is negative,
+     *                                  or the store would be too large
+     */
+    public ScriptStateStore(int capacity, int stateWords) {
+        this(ByteBuffer.allocateDirect(checkedByteSize(capacity, checkedRecordSize(stateWords))), capacity,
+                RECORD_SIZE + stateWords * Long.BYTES);
+        writeHeader();
+    }
+
+    private ScriptStateStore(ByteBuffer buffer, int capacity, int recordSize) {
+        this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+        this.capacity = capacity;
+        this.recordSize = recordSize;
+        this.freeSlots = new int[capacity];
+    }
+
+    /**
+     * Memory-maps a snapshot previously written with {@link #writeTo(Path)}.
+     * Changes to the returned store are written through to the file.
+     *
+     * @param file the snapshot file
+     * @return a store backed by the mapped file
+     * @throws IOException if the file cannot be mapped
+     * @throws IllegalArgumentException if the file is not a valid snapshot
+     */
+    public static ScriptStateStore map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IllegalArgumentException("Not a script state snapshot: " + file);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            int recordSize = mapped.getInt(8);
+            if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION || recordSize < RECORD_SIZE
+                    || (recordSize - RECORD_SIZE) % Long.BYTES != 0) {
+                throw new IllegalArgumentException("Unsupported script state snapshot: " + file);
+            }
+            int capacity = mapped.getInt(12);
+            int highWater = mapped.getInt(16);
+            if (capacity <= 0 || highWater < 0 || highWater > capacity) {
+                throw new IllegalArgumentException("Corrupt script state snapshot header: " + file);
+            }
+            if (channel.size() < (long) HEADER_SIZE + (long) capacity * recordSize) {
+                throw new IllegalArgumentException("Truncated script state snapshot: " + file);
+            }
+            ScriptStateStore store = new ScriptStateStore(mapped, capacity, recordSize);
+            store.rebuildFreeList(highWater);
+            return store;
+        }
+    }
+
+    /**
+     * Writes the whole store, header included, to a file.
+     *
+     * @param file the target file, replaced if it exists
+     * @throws IOException if the file cannot be written
+     */
+    public void writeTo(Path file) throws IOException {
+        writeHeader();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer view = buffer.duplicate().clear();
+            while (view.hasRemaining()) {
+                channel.write(view);
+            }
+        }
+    }
+
+    /**
+     * Allocates a cleared record.
+     *
+     * @return the slot of the new record
+     * @throws IllegalStateException if the store is full
+     */
+    public int allocate() {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else if (highWater < capacity) {
+            slot = highWater++;
+            buffer.putInt(16, highWater);
+        } else {
+            throw new IllegalStateException("Script state store is full (capacity " + capacity + ")");
+        }
+        int base = offset(slot);
+        for (int i = 0; i < recordSize; i += Long.BYTES) {
+            buffer.putLong(base + i, 0L);
+        }
+        buffer.putInt(base + FLAGS, FLAG_IN_USE);
+        size++;
+        return slot;
+    }
+
+    /**
+     * Releases a record so its slot can be reused.
+     *
+     * @param slot the slot to release
+     * @throws IllegalArgumentException if the slot is not allocated
+     */
+    public void free(int slot) {
+        int base = checkedOffset(slot);
+        buffer.putInt(base + FLAGS, 0);
+        freeSlots[freeCount++] = slot;
+        size--;
+    }
+
+    /**
+     * Checks whether a slot currently holds a record.
+     *
+     * @param slot the slot
+     * @return true if the slot is allocated
+     */
+    public boolean isAllocated(int slot) {
+        return slot >= 0 && slot < highWater && (buffer.getInt(offset(slot) + FLAGS) & FLAG_IN_USE) != 0;
+    }
+
+    /**
+     * Gets the stored step index.
+     */
+    public int getStepIndex(int slot) {
+        return buffer.getInt(checkedOffset(slot) + STEP_INDEX);
+    }
+
+    /**
+     * Sets the stored step index.
+     */
+    public void setStepIndex(int slot, int stepIndex) {
+        buffer.putInt(checkedOffset(slot) + STEP_INDEX, stepIndex);
+    }
+
+    /**
+     * Gets the stored loop iteration.
+     */
+    public int getLoop(int slot) {
+        return buffer.getInt(checkedOffset(slot) + LOOP);
+    }
+
+    /**
+     * Sets the stored loop iteration.
+     */
+    public void setLoop(int slot, int loop) {
+        buffer.putInt(checkedOffset(slot) + LOOP, loop);
+    }
+
+    /**
+     * Gets the public flags of a record, such as {@link #FLAG_INTERRUPTED}.
+     *
+     * @param slot the slot
+     * @return the flags
+     */
+    public int getFlags(int slot) {
+        return buffer.getInt(checkedOffset(slot) + FLAGS) & ~FLAG_IN_USE;
+    }
+
+    /**
+     * Sets the public flags of a record.
+     */
+    public void setFlags(int slot, int flags) {
+        buffer.putInt(checkedOffset(slot) + FLAGS, flags | FLAG_IN_USE);
+    }
+
+    /**
+     * Gets the elapsed time in the current step, in milliseconds.
+     */
+    public long getElapsed(int slot) {
+        return buffer.getLong(checkedOffset(slot) + ELAPSED);
+    }
+
+    /**
+     * Sets the elapsed time in the current step, in milliseconds.
+     */
+    public void setElapsed(int slot, long elapsed) {
+        buffer.putLong(checkedOffset(slot) + ELAPSED, elapsed);
+    }
+
+    /**
+     * Gets the packed state of the current step.
+     */
+    public long getStepState(int slot) {
+        return buffer.getLong(checkedOffset(slot) + STEP_STATE);
+    }
+
+    /**
+     * Sets the packed state of the current step.
+     */
+    public void setStepState(int slot, long stepState) {
+        buffer.putLong(checkedOffset(slot) + STEP_STATE, stepState);
+    }
+
+    /**
+     * Gets a stored packed state value beyond the first.
+     *
+     * @param slot the slot
+     * @param word the index of the state word
+     * @return the packed value
+     * @throws IndexOutOfBoundsException if word is out of range
+     */
+    public long getStateWord(int slot, int word) {
+        return buffer.getLong(checkedOffset(slot) + stateWordOffset(word));
+    }
+
+    /**
+     * Sets a stored packed state value beyond the first.
+     *
+     * @param slot the slot
+     * @param word the index of the state word
+     * @param value the packed value
+     * @throws IndexOutOfBoundsException if word is out of range
+     */
+    public void setStateWord(int slot, int word, long value) {
+        buffer.putLong(checkedOffset(slot) + stateWordOffset(word), value);
+    }
+
+    /**
+     * Creates a sink for the packed state values of a step, as written by
+     * {@link dev.quivern.script.api.IScriptStep#saveState(dev.quivern.script.api.ScriptTime, LongConsumer)}.
+     * The first value goes to the step state field, the rest to the state words.
+     *
+     * @param slot the slot to write
+     * @return the sink; it throws {@link IllegalStateException} when the record is out of state words
+     */
+    public LongConsumer stateWriter(int slot) {
+        checkedOffset(slot);
+        return new LongConsumer() {
+            private int next;
+
+            @Override
+            public void accept(long value) {
+                if (next == 0) {
+                    setStepState(slot, value);
+                } else if (next <= stateWords()) {
+                    setStateWord(slot, next - 1, value);
+                } else {
+                    throw new IllegalStateException("Step state of slot " + slot + " needs more than "
+                            + stateWords() + " state words");
+                }
+                next++;
+            }
+        };
+    }
+
+    /**
+     * Creates a source for the packed state values written through {@link #stateWriter(int)}.
+     *
+     * @param slot the slot to read
+     * @return the source; it supplies 0 once the record's state words are exhausted
+     */
+    public LongSupplier stateReader(int slot) {
+        checkedOffset(slot);
+        return new LongSupplier() {
+            private int next;
+
+            @Override
+            public long getAsLong() {
+                int word = next++;
+                if (word == 0) return getStepState(slot);
+                return word <= stateWords() ? getStateWord(slot, word - 1) : 0L;
+            }
+        };
+    }
+
+    /**
+     * Gets the number of packed state values each record holds beyond the first.
+     *
+     * @return the number of state words
+     */
+    public int stateWords() {
+        return (recordSize - RECORD_SIZE) / Long.BYTES;
+    }
+
+    /**
+     * Gets the maximum number of records.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the number of allocated records.
+     *
+     * @return the number of records in use
+     */
+    public int size() {
+        return size;
+    }
+
+    private void rebuildFreeList(int storedHighWater) {
+        highWater = Math.min(storedHighWater, capacity);
+        for (int slot = highWater - 1; slot >= 0; slot--) {
+            if ((buffer.getInt(offset(slot) + FLAGS) & FLAG_IN_USE) != 0) {
+                size++;
+            } else {
+                freeSlots[freeCount++] = slot;
+            }
+        }
+    }
+
+    private void writeHeader() {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(8, recordSize);
+        buffer.putInt(12, capacity);
+        buffer.putInt(16, highWater);
+    }
+
+    private int checkedOffset(int slot) {
+        if (!isAllocated(slot)) {
+            throw new IllegalArgumentException("Slot is not allocated: " + slot);
+        }
+        return offset(slot);
+    }
+
+    private int offset(int slot) {
+        return HEADER_SIZE + slot * recordSize;
+    }
+
+    private int stateWordOffset(int word) {
+        if (word < 0 || word >= stateWords()) {
+            throw new IndexOutOfBoundsException("State word " + word + " out of range for " + stateWords() + " words");
+        }
+        return RECORD_SIZE + word * Long.BYTES;
+    }
+
+    private static int checkedRecordSize(int stateWords) {
+        if (stateWords < 0) {
+            throw new IllegalArgumentException("State words cannot be negative");
+        }
+        int maxStateWords = (Integer.MAX_VALUE - HEADER_SIZE - RECORD_SIZE) / Long.BYTES;
+        if (stateWords > maxStateWords) {
+            throw new IllegalArgumentException("State words cannot exceed " + maxStateWords);
+        }
+        return RECORD_SIZE + stateWords * Long.BYTES;
+    }
+
+    private static int checkedByteSize(int capacity, int recordSize) {
+        if (capacity <= 0 || capacity > (Integer.MAX_VALUE - HEADER_SIZE) / recordSize) {
+            throw new IllegalArgumentException("Capacity must be between 1 and "
+                    + (Integer.MAX_VALUE - HEADER_SIZE) / recordSize);
+        }
+        return HEADER_SIZE + capacity * recordSize;
+    }
+}
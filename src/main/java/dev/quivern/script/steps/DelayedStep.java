@@ -6,11 +6,12 @@ import dev.quivern.script.api.ScriptTime;
 
 /**
  * Waits for a time-based delay, then executes an action.
+ * The delay is stored as its bitwise complement once the step has finished, so the
+ * finished state needs no field of its own.
  */
 public class DelayedStep implements IScriptStep {
-    private final long delay;
     private final ScriptAction action;
-    private boolean finished = false;
+    private long delay;
 
     /**
      * Creates a delayed step.
@@ -30,20 +31,34 @@ public class DelayedStep implements IScriptStep {
 
     @Override
     public void perform(ScriptTime time) {
-        if (finished) return;
-        if (time.finished(delay)) {
+        if (delay >= 0 && time.finished(delay)) {
             action.perform();
-            finished = true;
+            delay = ~delay;
         }
     }
 
+    @Override
+    public long fastForward(long ticks, ScriptTime time) {
+        if (delay < 0 || !time.finished(delay)) return ticks;
+        action.perform();
+        delay = ~delay;
+        return 1;
+    }
+
     @Override
     public boolean isFinished() {
-        return finished;
+        return delay < 0;
     }
 
     @Override
     public void reset() {
-        finished = false;
+        if (delay < 0) {
+            delay = ~delay;
+        }
+    }
+
+    @Override
+    public long nextWakeUp(ScriptTime time) {
+        return delay < 0 ? WAKE_EVERY_TICK : time.deadline(delay);
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -8,10 +8,11 @@ import dev.quivern.script.api.ScriptTime;
  * Waits for a number of ticks/updates, then executes an action.
  */
 public class DelayedTickStep implements IScriptStep {
+    private static final int FINISHED = -1;
+
     private final int ticks;
     private final ScriptAction action;
     private int ticksLeft;
-    private boolean finished = false;
 
     /**
      * Creates a delayed tick step.
@@ -32,24 +33,54 @@ public class DelayedTickStep implements IScriptStep {
 
     @Override
     public void perform(ScriptTime time) {
-        if (finished) return;
-        if (ticksLeft > 0) {
-            ticksLeft--;
-            if (ticksLeft == 0) {
-                action.perform();
-                finished = true;
-            }
+        if (ticksLeft > 0 && --ticksLeft == 0) {
+            action.perform();
+            ticksLeft = FINISHED;
+        }
+    }
+
+    @Override
+    public long fastForward(long ticks, ScriptTime time) {
+        if (ticksLeft <= 0) return ticks;
+        int consumed = (int) Math.min(ticks, ticksLeft);
+        ticksLeft -= consumed;
+        if (ticksLeft == 0) {
+            action.perform();
+            ticksLeft = FINISHED;
+        }
+        return consumed;
+    }
+
+    @Override
+    public long tickLength() {
+        return ticks > 0 ? ticks : -1;
+    }
+
+    @Override
+    public void completeRuns(long runs, ScriptTime time) {
+        for (long run = 0; run < runs; run++) {
+            action.perform();
         }
+        ticksLeft = FINISHED;
     }
 
     @Override
     public boolean isFinished() {
-        return finished;
+        return ticksLeft == FINISHED;
     }
 
     @Override
     public void reset() {
         ticksLeft = ticks;
-        finished = false;
     }
-} 
\ No newline at end of file
+
+    @Override
+    public long saveState() {
+        return ticksLeft;
+    }
+
+    @Override
+    public void restoreState(long state) {
+        ticksLeft = (int) state;
+    }
+}
\ No newline at end of file
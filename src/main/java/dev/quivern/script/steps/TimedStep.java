@@ -2,18 +2,30 @@ package dev.quivern.script.steps;
 
 import dev.quivern.script.api.IScriptStep;
 import dev.quivern.script.api.ScriptAction;
+import dev.quivern.script.api.ScriptClock;
 import dev.quivern.script.api.ScriptTime;
 
 /**
  * Executes an action repeatedly for a specified duration.
- * Uses its own internal timer to avoid interfering with other steps.
+ * The duration is measured on the clock of the script performing the step.
+ * <p>
+ * The step keeps its whole progress in one {@code long}: the start time while running, or a
+ * sentinel for not started, finished, or restored but not yet performed again. It reads the
+ * shared clock of the performing script instead of owning a timer.
  */
 public class TimedStep implements IScriptStep {
+    private static final long NOT_STARTED = Long.MIN_VALUE;
+    private static final long FINISHED = Long.MAX_VALUE;
+    /**
+     * Start values at or below this bound hold the elapsed time of a restored state, offset
+     * from {@link #NOT_STARTED}; real clock readings never come near it.
+     */
+    private static final long RESTORED_LIMIT = Long.MIN_VALUE / 2;
+
     private final long duration;
     private final ScriptAction action;
-    private final ScriptTime internalTimer = new ScriptTime();
-    private boolean started = false;
-    private boolean finished = false;
+    private ScriptClock clock;
+    private long start = NOT_STARTED;
 
     /**
      * Creates a timed step.
@@ -33,25 +45,48 @@ public class TimedStep implements IScriptStep {
 
     @Override
     public void perform(ScriptTime time) {
-        if (!started) {
-            internalTimer.reset();
-            started = true;
+        if (start == FINISHED) return;
+        if (time != null) {
+            clock = time.getClock();
+        } else if (clock == null) {
+            clock = ScriptClock.SYSTEM;
+        }
+        long now = clock.currentTimeMillis();
+        if (start == NOT_STARTED) {
+            start = now;
+        } else if (start <= RESTORED_LIMIT) {
+            start = now - (start - NOT_STARTED - 1);
         }
-        if (finished) return;
         action.perform();
-        if (internalTimer.finished(duration)) {
-            finished = true;
+        if (now - start >= duration) {
+            start = FINISHED;
         }
     }
 
     @Override
     public boolean isFinished() {
-        return finished;
+        return start == FINISHED;
     }
 
     @Override
     public void reset() {
-        started = false;
-        finished = false;
+        start = NOT_STARTED;
+    }
+
+    @Override
+    public long saveState() {
+        if (start == NOT_STARTED) return -1L;
+        if (start == FINISHED) return FINISHED;
+        if (start <= RESTORED_LIMIT) return start - NOT_STARTED - 1;
+        return clock.currentTimeMillis() - start;
+    }
+
+    @Override
+    public void restoreState(long state) {
+        if (state == FINISHED) {
+            start = FINISHED;
+        } else if (state >= 0) {
+            start = NOT_STARTED + 1 + Math.min(state, -RESTORED_LIMIT - 1);
+        }
     }
-} 
\ No newline at end of file
+}
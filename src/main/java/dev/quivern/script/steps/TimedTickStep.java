@@ -1,17 +1,21 @@
 package dev.quivern.script.steps;
 
+import dev.quivern.script.api.CountedAction;
 import dev.quivern.script.api.IScriptStep;
 import dev.quivern.script.api.ScriptAction;
 import dev.quivern.script.api.ScriptTime;
 
 /**
  * Executes an action for a specified number of ticks.
+ * Created with a {@link CountedAction}, the step can fast-forward over any number of ticks
+ * with a single call of the action.
  */
 public class TimedTickStep implements IScriptStep {
+    private static final int FINISHED = -1;
+
     private final int ticks;
-    private final ScriptAction action;
+    private final CountedAction action;
     private int ticksLeft;
-    private boolean finished = false;
 
     /**
      * Creates a timed tick step.
@@ -20,6 +24,20 @@ public class TimedTickStep implements IScriptStep {
      * @param action the action to perform each tick
      */
     public TimedTickStep(int ticks, ScriptAction action) {
+        this(ticks, count -> {
+            for (int i = 0; i < count; i++) {
+                action.perform();
+            }
+        });
+    }
+
+    /**
+     * Creates a timed tick step whose action can catch up on several ticks at once.
+     *
+     * @param ticks the number of ticks to execute
+     * @param action the action to perform, told how many ticks it covers
+     */
+    public TimedTickStep(int ticks, CountedAction action) {
         this.ticks = ticks;
         this.action = action;
         this.ticksLeft = ticks;
@@ -28,22 +46,58 @@ public class TimedTickStep implements IScriptStep {
     @Override
     public void perform(ScriptTime time) {
         if (ticksLeft > 0) {
-            action.perform();
-            ticksLeft--;
-            if (ticksLeft == 0) {
-                finished = true;
+            action.perform(1);
+            if (--ticksLeft == 0) {
+                ticksLeft = FINISHED;
             }
         }
     }
 
+    @Override
+    public long fastForward(long ticks, ScriptTime time) {
+        if (ticksLeft <= 0) return ticks;
+        int count = (int) Math.min(ticks, ticksLeft);
+        action.perform(count);
+        ticksLeft -= count;
+        if (ticksLeft == 0) {
+            ticksLeft = FINISHED;
+        }
+        return count;
+    }
+
+    @Override
+    public long tickLength() {
+        return ticks > 0 ? ticks : -1;
+    }
+
+    @Override
+    public void completeRuns(long runs, ScriptTime time) {
+        long total = runs * ticks;
+        while (total > 0) {
+            int count = (int) Math.min(total, Integer.MAX_VALUE);
+            action.perform(count);
+            total -= count;
+        }
+        ticksLeft = FINISHED;
+    }
+
     @Override
     public boolean isFinished() {
-        return finished;
+        return ticksLeft == FINISHED;
     }
 
     @Override
     public void reset() {
         ticksLeft = ticks;
-        finished = false;
     }
-} 
\ No newline at end of file
+
+    @Override
+    public long saveState() {
+        return ticksLeft;
+    }
+
+    @Override
+    public void restoreState(long state) {
+        ticksLeft = (int) state;
+    }
+}
\ No newline at end of file
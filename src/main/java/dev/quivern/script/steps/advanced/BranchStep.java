@@ -5,6 +5,8 @@ import dev.quivern.script.api.ScriptTime;
 
 import java.util.Objects;
 import java.util.function.BooleanSupplier;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
 
 /**
  * Executes one of two steps based on a condition (if-else logic).
@@ -47,4 +49,16 @@ public class BranchStep implements IScriptStep {
         ifStep.reset();
         elseStep.reset();
     }
-}
\ No newline at end of file
+
+    @Override
+    public void saveState(ScriptTime time, LongConsumer out) {
+        ifStep.saveState(time, out);
+        elseStep.saveState(time, out);
+    }
+
+    @Override
+    public void restoreState(LongSupplier in) {
+        ifStep.restoreState(in);
+        elseStep.restoreState(in);
+    }
+}
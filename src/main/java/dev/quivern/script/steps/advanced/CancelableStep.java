@@ -4,6 +4,8 @@ import dev.quivern.script.api.IScriptStep;
 import dev.quivern.script.api.ScriptTime;
 
 import java.util.function.BooleanSupplier;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
 
 /**
  * Wraps a step with a cancellation condition.
@@ -40,4 +42,14 @@ public class CancelableStep implements IScriptStep {
     public void reset() {
         step.reset();
     }
-}
\ No newline at end of file
+
+    @Override
+    public void saveState(ScriptTime time, LongConsumer out) {
+        step.saveState(time, out);
+    }
+
+    @Override
+    public void restoreState(LongSupplier in) {
+        step.restoreState(in);
+    }
+}
@@ -3,22 +3,40 @@ package dev.quivern.script.steps.advanced;
 import dev.quivern.script.api.IScriptStep;
 import dev.quivern.script.api.ScriptTime;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 /**
  * Executes steps sequentially and dynamically adds new steps from a supplier.
  * Finishes when the supplier returns null.
+ * <p>
+ * A chain created with the constructor keeps every step it has run so that {@link #reset()}
+ * can replay them. A chain created with {@link #streaming(Supplier, int)} is meant for
+ * long-lived or unbounded generators instead: it drops each step once it completes, keeping
+ * at most a fixed number of recent ones as history, performs a newly supplied step in the
+ * same tick it is obtained, and restarts by asking its factory for a fresh generator, so its
+ * memory stays flat regardless of how many steps it runs.
+ * <p>
+ * Restoring a saved state asks the supplier, or a fresh generator, for the steps completed
+ * before the snapshot again, so it only reproduces the chain when the supplier yields the same
+ * steps each time it is recreated.
  */
 public class ChainStep implements IScriptStep {
-    private final List<IScriptStep> steps = new LinkedList<>();
-    private final Supplier<IScriptStep> nextStepSupplier;
+    private final List<IScriptStep> steps = new ArrayList<>();
+    private final Supplier<? extends Supplier<IScriptStep>> generatorFactory;
+    private final IScriptStep[] history;
+    private Supplier<IScriptStep> nextStepSupplier;
+    private IScriptStep current;
     private int currentIndex = 0;
+    private long completed;
     private boolean finished = false;
 
     /**
-     * Creates a chain step.
+     * Creates a chain step that retains all of its steps.
      *
      * @param initialSteps the initial list of steps
      * @param nextStepSupplier supplier that provides next steps, returns null when done
@@ -28,16 +46,59 @@ public class ChainStep implements IScriptStep {
             steps.addAll(initialSteps);
         }
         this.nextStepSupplier = nextStepSupplier;
+        this.generatorFactory = null;
+        this.history = null;
+    }
+
+    private ChainStep(Supplier<? extends Supplier<IScriptStep>> generatorFactory, int historySize) {
+        this.generatorFactory = generatorFactory;
+        this.history = new IScriptStep[historySize];
+        this.nextStepSupplier = newGenerator();
+    }
+
+    /**
+     * Creates a streaming chain step that keeps no completed steps.
+     *
+     * @param generatorFactory creates the step generator, once now and again on every reset;
+     *                         each generator returns null when done
+     * @return the chain step
+     * @throws NullPointerException if the factory is null or creates a null generator
+     */
+    public static ChainStep streaming(Supplier<? extends Supplier<IScriptStep>> generatorFactory) {
+        return streaming(generatorFactory, 0);
+    }
+
+    /**
+     * Creates a streaming chain step that keeps a bounded window of its most recently completed steps.
+     *
+     * @param generatorFactory creates the step generator, once now and again on every reset;
+     *                         each generator returns null when done
+     * @param historySize the number of completed steps to keep
+     * @return the chain step
+     * @throws NullPointerException if the factory is null or creates a null generator
+     * @throws IllegalArgumentException if historySize is negative
+     */
+    public static ChainStep streaming(Supplier<? extends Supplier<IScriptStep>> generatorFactory, int historySize) {
+        java.util.Objects.requireNonNull(generatorFactory, "Generator factory cannot be null");
+        if (historySize < 0) {
+            throw new IllegalArgumentException("History size cannot be negative");
+        }
+        return new ChainStep(generatorFactory, historySize);
     }
 
     @Override
     public void perform(ScriptTime time) {
         if (finished) return;
+        if (history != null) {
+            performStreaming(time);
+            return;
+        }
         if (currentIndex < steps.size()) {
-            IScriptStep current = steps.get(currentIndex);
-            current.perform(time);
-            if (current.isFinished()) {
+            IScriptStep step = steps.get(currentIndex);
+            step.perform(time);
+            if (step.isFinished()) {
                 currentIndex++;
+                completed++;
             }
         } else {
             IScriptStep next = nextStepSupplier.get();
@@ -49,6 +110,24 @@ public class ChainStep implements IScriptStep {
         }
     }
 
+    private void performStreaming(ScriptTime time) {
+        if (current == null) {
+            current = nextStepSupplier.get();
+            if (current == null) {
+                finished = true;
+                return;
+            }
+        }
+        current.perform(time);
+        if (current.isFinished()) {
+            if (history.length > 0) {
+                history[(int) (completed % history.length)] = current;
+            }
+            completed++;
+            current = null;
+        }
+    }
+
     @Override
     public boolean isFinished() {
         return finished;
@@ -56,8 +135,122 @@ public class ChainStep implements IScriptStep {
 
     @Override
     public void reset() {
-        steps.forEach(IScriptStep::reset);
-        currentIndex = 0;
+        if (history != null) {
+            nextStepSupplier = newGenerator();
+            Arrays.fill(history, null);
+            current = null;
+        } else {
+            steps.forEach(IScriptStep::reset);
+            currentIndex = 0;
+        }
+        completed = 0;
         finished = false;
     }
-} 
\ No newline at end of file
+
+    @Override
+    public long nextWakeUp(ScriptTime time) {
+        if (history != null) {
+            return current != null ? current.nextWakeUp(time) : WAKE_EVERY_TICK;
+        }
+        return currentIndex < steps.size() ? steps.get(currentIndex).nextWakeUp(time) : WAKE_EVERY_TICK;
+    }
+
+    @Override
+    public void saveState(ScriptTime time, LongConsumer out) {
+        if (finished) {
+            out.accept(-1L);
+            return;
+        }
+        out.accept(completed);
+        IScriptStep active = history != null ? current
+                : currentIndex < steps.size() ? steps.get(currentIndex) : null;
+        if (active != null) {
+            out.accept(1L);
+            active.saveState(time, out);
+        } else {
+            out.accept(0L);
+        }
+    }
+
+    @Override
+    public void restoreState(LongSupplier in) {
+        long state = in.getAsLong();
+        if (state < 0) {
+            finished = true;
+            return;
+        }
+        boolean active = in.getAsLong() != 0;
+        if (history != null) {
+            for (long i = 0; i < state; i++) {
+                if (nextStepSupplier.get() == null) {
+                    finished = true;
+                    return;
+                }
+            }
+            completed = state;
+            if (active) {
+                current = nextStepSupplier.get();
+                if (current == null) {
+                    finished = true;
+                    return;
+                }
+                current.restoreState(in);
+            }
+            return;
+        }
+        int index = (int) state;
+        while (steps.size() < (active ? index + 1 : index)) {
+            IScriptStep next = nextStepSupplier.get();
+            if (next == null) {
+                finished = true;
+                return;
+            }
+            steps.add(next);
+        }
+        currentIndex = index;
+        completed = index;
+        if (active) {
+            steps.get(index).restoreState(in);
+        }
+    }
+
+    /**
+     * Checks if this chain drops completed steps.
+     *
+     * @return true if created with {@link #streaming(Supplier, int)}
+     */
+    public boolean isStreaming() {
+        return history != null;
+    }
+
+    /**
+     * Gets the number of steps completed since the chain was created or last reset.
+     *
+     * @return the completed step count
+     */
+    public long getCompletedCount() {
+        return completed;
+    }
+
+    /**
+     * Gets the retained completed steps, oldest first.
+     * A streaming chain returns at most its history size of the most recent steps.
+     *
+     * @return a copy of the completed steps
+     */
+    public List<IScriptStep> getHistory() {
+        if (history == null) {
+            return new ArrayList<>(steps.subList(0, currentIndex));
+        }
+        int kept = (int) Math.min(completed, history.length);
+        List<IScriptStep> result = new ArrayList<>(kept);
+        for (long i = completed - kept; i < completed; i++) {
+            result.add(history[(int) (i % history.length)]);
+        }
+        return result;
+    }
+
+    private Supplier<IScriptStep> newGenerator() {
+        return java.util.Objects.requireNonNull(generatorFactory.get(), "Generator cannot be null");
+    }
+}
@@ -4,6 +4,8 @@ import dev.quivern.script.api.IScriptStep;
 import dev.quivern.script.api.ScriptTime;
 
 import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
 import java.util.function.Predicate;
 
 /**
@@ -44,4 +46,18 @@ public class CompositeStep implements IScriptStep {
     public void reset() {
         steps.forEach(IScriptStep::reset);
     }
-} 
\ No newline at end of file
+
+    @Override
+    public void saveState(ScriptTime time, LongConsumer out) {
+        for (IScriptStep step : steps) {
+            step.saveState(time, out);
+        }
+    }
+
+    @Override
+    public void restoreState(LongSupplier in) {
+        for (IScriptStep step : steps) {
+            step.restoreState(in);
+        }
+    }
+}
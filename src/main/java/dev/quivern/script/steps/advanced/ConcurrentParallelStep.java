@@ -0,0 +1,192 @@
+package dev.quivern.script.steps.advanced;
+
+import dev.quivern.script.EffectBuffer;
+import dev.quivern.script.api.IScriptStep;
+import dev.quivern.script.api.ScriptTime;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Executes multiple steps at the same time on an executor.
+ * Finishes when all steps are complete.
+ * <p>
+ * Unlike {@link ParallelStep}, which performs its children one after another on the ticking
+ * thread, this step hands unfinished children to the executor, such as a {@code ForkJoinPool}
+ * or a virtual-thread executor, and waits for all of them before returning. One child always
+ * runs on the calling thread. While the measured per-tick cost of the unfinished children is
+ * below the inline threshold, all of them run on the calling thread, because the hand-off
+ * would cost more than it saves.
+ * <p>
+ * Children must be independent of each other: they may run on different threads in the same
+ * tick and must not share mutable state without synchronization. Joining makes every child's
+ * work visible to the ticking thread before this step returns.
+ * <p>
+ * When the update runs with {@link EffectBuffer effect buffering}, effects deferred by the
+ * children are collected per child and added to the update's buffer after joining, in child
+ * order, so they are applied exactly as if the children had run inline.
+ */
+public class ConcurrentParallelStep implements IScriptStep {
+    /**
+     * Default combined per-tick cost below which children run inline.
+     */
+    public static final long DEFAULT_INLINE_THRESHOLD_NANOS = 50_000;
+
+    private final IScriptStep[] steps;
+    private final Executor executor;
+    private final long inlineThresholdNanos;
+    private final long[] costs;
+    private final int[] active;
+    private EffectBuffer.Collector[] collectors;
+
+    /**
+     * Creates a concurrent parallel step with the default inline threshold.
+     *
+     * @param steps the list of steps to execute concurrently
+     * @param executor the executor children are handed to
+     * @throws NullPointerException if steps or executor is null
+     * @throws IllegalArgumentException if steps is empty
+     */
+    public ConcurrentParallelStep(List<IScriptStep> steps, Executor executor) {
+        this(steps, executor, DEFAULT_INLINE_THRESHOLD_NANOS);
+    }
+
+    /**
+     * Creates a concurrent parallel step.
+     *
+     * @param steps the list of steps to execute concurrently
+     * @param executor the executor children are handed to
+     * @param inlineThresholdNanos combined per-tick child cost below which children run inline
+     * @throws NullPointerException if steps or executor is null
+     * @throws IllegalArgumentException if steps is empty or the threshold is negative
+     */
+    public ConcurrentParallelStep(List<IScriptStep> steps, Executor executor, long inlineThresholdNanos) {
+        java.util.Objects.requireNonNull(steps, "Steps list cannot be null");
+        if (steps.isEmpty()) {
+            throw new IllegalArgumentException("Steps list cannot be empty");
+        }
+        if (inlineThresholdNanos < 0) {
+            throw new IllegalArgumentException("Inline threshold cannot be negative");
+        }
+        this.steps = steps.toArray(new IScriptStep[0]);
+        this.executor = java.util.Objects.requireNonNull(executor, "Executor cannot be null");
+        this.inlineThresholdNanos = inlineThresholdNanos;
+        this.costs = new long[this.steps.length];
+        this.active = new int[this.steps.length];
+    }
+
+    @Override
+    public void perform(ScriptTime time) {
+        int count = 0;
+        long totalCost = 0;
+        for (int i = 0; i < steps.length; i++) {
+            if (!steps[i].isFinished()) {
+                active[count++] = i;
+                totalCost += costs[i];
+            }
+        }
+        if (count <= 1 || totalCost < inlineThresholdNanos) {
+            for (int i = 0; i < count; i++) {
+                performChild(active[i], time);
+            }
+            return;
+        }
+        EffectBuffer.Collector[] collecting = EffectBuffer.isBuffering() ? collectors() : null;
+        CompletableFuture<?>[] forked = new CompletableFuture<?>[count - 1];
+        for (int i = 0; i < forked.length; i++) {
+            int index = active[i];
+            forked[i] = CompletableFuture.runAsync(() -> performChild(index, time, collecting), executor);
+        }
+        Throwable inlineFailure = null;
+        try {
+            performChild(active[count - 1], time, collecting);
+        } catch (RuntimeException | Error e) {
+            inlineFailure = e;
+        }
+        try {
+            CompletableFuture.allOf(forked).join();
+        } catch (CompletionException e) {
+            if (inlineFailure == null) {
+                inlineFailure = e.getCause() != null ? e.getCause() : e;
+            }
+        }
+        if (collecting != null) {
+            for (int i = 0; i < count; i++) {
+                collecting[active[i]].flush();
+            }
+        }
+        if (inlineFailure instanceof RuntimeException runtimeException) throw runtimeException;
+        if (inlineFailure instanceof Error error) throw error;
+        if (inlineFailure != null) throw new CompletionException(inlineFailure);
+    }
+
+    @Override
+    public boolean isFinished() {
+        for (IScriptStep step : steps) {
+            if (!step.isFinished()) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void reset() {
+        for (IScriptStep step : steps) {
+            step.reset();
+        }
+    }
+
+    @Override
+    public void saveState(ScriptTime time, LongConsumer out) {
+        for (IScriptStep step : steps) {
+            step.saveState(time, out);
+        }
+    }
+
+    @Override
+    public void restoreState(LongSupplier in) {
+        for (IScriptStep step : steps) {
+            step.restoreState(in);
+        }
+    }
+
+    @Override
+    public long nextWakeUp(ScriptTime time) {
+        long wakeUp = WAKE_ON_SIGNAL;
+        for (IScriptStep step : steps) {
+            if (!step.isFinished()) {
+                wakeUp = Math.min(wakeUp, step.nextWakeUp(time));
+            }
+        }
+        return wakeUp;
+    }
+
+    private void performChild(int index, ScriptTime time, EffectBuffer.Collector[] collecting) {
+        if (collecting != null) {
+            collecting[index].collect(() -> performChild(index, time));
+        } else {
+            performChild(index, time);
+        }
+    }
+
+    private EffectBuffer.Collector[] collectors() {
+        if (collectors == null) {
+            EffectBuffer.Collector[] created = new EffectBuffer.Collector[steps.length];
+            for (int i = 0; i < created.length; i++) {
+                created[i] = new EffectBuffer.Collector();
+            }
+            collectors = created;
+        }
+        return collectors;
+    }
+
+    private void performChild(int index, ScriptTime time) {
+        long start = System.nanoTime();
+        steps[index].perform(time);
+        long cost = System.nanoTime() - start;
+        costs[index] += (cost - costs[index]) >> 2;
+    }
+}
@@ -0,0 +1,210 @@
+package dev.quivern.script.steps.advanced;
+
+import dev.quivern.script.Script;
+import dev.quivern.script.ScriptManager;
+import dev.quivern.script.api.IScriptStep;
+import dev.quivern.script.api.ScriptTime;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Spawns child scripts into a manager and finishes in the same tick.
+ * <p>
+ * Children live no longer than the script that forked them: when the parent finishes or is
+ * removed from its manager, children still running are removed as well. Resetting the fork,
+ * for example when the parent loops, also removes its running children before the next
+ * iteration forks new ones. Use a {@link JoinStep} to wait for the children; it is woken by
+ * their completion instead of polling them.
+ */
+public class ForkStep implements IScriptStep {
+    private final ScriptManager manager;
+    private final int count;
+    private final IntFunction<String> names;
+    private final IntFunction<Script> children;
+    private final List<String> forkedNames = new ArrayList<>();
+    private final List<Script> forked = new ArrayList<>();
+    private final Set<Script> anyWaiters = new LinkedHashSet<>();
+    private final Set<Script> allWaiters = new LinkedHashSet<>();
+    private int generation;
+    private int completed;
+    private boolean finished;
+    private volatile Script parent;
+
+    /**
+     * Creates a fork step spawning one child.
+     *
+     * @param manager the manager to add the child to
+     * @param name the child script name
+     * @param child supplies the child script
+     * @throws NullPointerException if any argument is null
+     */
+    public ForkStep(ScriptManager manager, String name, Supplier<Script> child) {
+        this(manager, 1, nameOf(name), index -> child.get());
+        java.util.Objects.requireNonNull(child, "Child supplier cannot be null");
+    }
+
+    /**
+     * Creates a fork step spawning several children.
+     *
+     * @param manager the manager to add the children to
+     * @param count the number of children
+     * @param names maps a child index in {@code [0, count)} to a unique script name
+     * @param children maps a child index to a new child script
+     * @throws NullPointerException if manager, names or children is null
+     * @throws IllegalArgumentException if count is not positive
+     */
+    public ForkStep(ScriptManager manager, int count, IntFunction<String> names, IntFunction<Script> children) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Child count must be positive");
+        }
+        this.manager = java.util.Objects.requireNonNull(manager, "Manager cannot be null");
+        this.count = count;
+        this.names = java.util.Objects.requireNonNull(names, "Name function cannot be null");
+        this.children = java.util.Objects.requireNonNull(children, "Child function cannot be null");
+    }
+
+    @Override
+    public void perform(ScriptTime time) {
+        if (finished) return;
+        Script owner = Script.of(time);
+        if (owner != null && owner != parent) {
+            parent = owner;
+            owner.whenDone(this::parentDone);
+        }
+        int forkGeneration;
+        synchronized (this) {
+            forkGeneration = generation;
+        }
+        for (int i = 0; i < count; i++) {
+            String name = names.apply(i);
+            Script child = children.apply(i);
+            synchronized (this) {
+                forkedNames.add(name);
+                forked.add(child);
+            }
+            manager.addScript(name, child);
+            child.whenDone(() -> childDone(forkGeneration));
+        }
+        synchronized (this) {
+            finished = true;
+        }
+    }
+
+    @Override
+    public synchronized boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public void reset() {
+        cancel(true);
+        synchronized (this) {
+            finished = false;
+        }
+    }
+
+    /**
+     * Gets the number of children this fork spawns.
+     *
+     * @return the child count
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Gets the number of children of the current fork that have finished or were removed.
+     *
+     * @return the completed child count
+     */
+    public synchronized int completedCount() {
+        return completed;
+    }
+
+    /**
+     * Checks if the fork has run and all of its children are done.
+     *
+     * @return true if all children are done
+     */
+    public synchronized boolean isAllDone() {
+        return finished && completed >= count;
+    }
+
+    /**
+     * Checks if the fork has run and at least one of its children is done.
+     *
+     * @return true if any child is done
+     */
+    public synchronized boolean isAnyDone() {
+        return finished && completed > 0;
+    }
+
+    /**
+     * Registers a script to unpark when children complete.
+     *
+     * @param waiter the waiting script
+     * @param any true to wake on the next completed child, false to wake once all are done
+     */
+    synchronized void addWaiter(Script waiter, boolean any) {
+        (any ? anyWaiters : allWaiters).add(waiter);
+    }
+
+    private void childDone(int forkGeneration) {
+        List<Script> wake = new ArrayList<>();
+        synchronized (this) {
+            if (forkGeneration != generation) return;
+            completed++;
+            wake.addAll(anyWaiters);
+            anyWaiters.clear();
+            if (completed >= count) {
+                wake.addAll(allWaiters);
+                allWaiters.clear();
+            }
+        }
+        wake.forEach(Script::unpark);
+    }
+
+    private void parentDone() {
+        parent = null;
+        cancel(false);
+    }
+
+    /**
+     * Removes running children and starts a new generation so their late completions are ignored.
+     *
+     * @param restart true to also clear the completion count for the next fork
+     */
+    private void cancel(boolean restart) {
+        List<String> cancelledNames;
+        List<Script> cancelled;
+        synchronized (this) {
+            cancelledNames = new ArrayList<>(forkedNames);
+            cancelled = new ArrayList<>(forked);
+            forkedNames.clear();
+            forked.clear();
+            anyWaiters.clear();
+            allWaiters.clear();
+            if (restart) {
+                completed = 0;
+            }
+            generation++;
+        }
+        for (int i = 0; i < cancelled.size(); i++) {
+            Script child = cancelled.get(i);
+            String name = cancelledNames.get(i);
+            if (!child.isFinished() && manager.getAllScripts().get(name) == child) {
+                manager.removeScript(name);
+            }
+        }
+    }
+
+    private static IntFunction<String> nameOf(String name) {
+        java.util.Objects.requireNonNull(name, "Name cannot be null");
+        return index -> name;
+    }
+}
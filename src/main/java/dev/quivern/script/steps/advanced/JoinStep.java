@@ -0,0 +1,116 @@
+package dev.quivern.script.steps.advanced;
+
+import dev.quivern.script.Script;
+import dev.quivern.script.api.IScriptStep;
+import dev.quivern.script.api.ScriptTime;
+
+/**
+ * Waits for the children of one or more {@link ForkStep}s.
+ * <p>
+ * While the children are running, the script performing this step is parked: ticks skip it
+ * entirely until a child completion unparks it, so waiting costs nothing per tick no matter
+ * how many children are outstanding. In {@link Mode#ALL} mode the script is woken only when
+ * a fork has no children left; in {@link Mode#ANY} mode on the next completed child.
+ * Outside a script, the step just checks its forks on every perform.
+ */
+public class JoinStep implements IScriptStep {
+
+    /**
+     * Which children must be done for the join to finish.
+     */
+    public enum Mode {
+        /**
+         * Every child of every fork.
+         */
+        ALL,
+        /**
+         * At least one child of any fork.
+         */
+        ANY
+    }
+
+    private final ForkStep[] forks;
+    private final Mode mode;
+    private boolean finished;
+
+    /**
+     * Creates a join step.
+     *
+     * @param mode which children must be done
+     * @param forks the forks whose children to wait for
+     * @throws NullPointerException if mode or forks is null
+     * @throws IllegalArgumentException if no forks are given
+     */
+    public JoinStep(Mode mode, ForkStep... forks) {
+        this.mode = java.util.Objects.requireNonNull(mode, "Mode cannot be null");
+        java.util.Objects.requireNonNull(forks, "Forks cannot be null");
+        if (forks.length == 0) {
+            throw new IllegalArgumentException("Forks cannot be empty");
+        }
+        for (ForkStep fork : forks) {
+            java.util.Objects.requireNonNull(fork, "Fork cannot be null");
+        }
+        this.forks = forks.clone();
+    }
+
+    /**
+     * Creates a step waiting until every child of the forks is done.
+     * With a single one-child fork, this waits for that one child.
+     *
+     * @param forks the forks
+     * @return the join step
+     */
+    public static JoinStep all(ForkStep... forks) {
+        return new JoinStep(Mode.ALL, forks);
+    }
+
+    /**
+     * Creates a step waiting until any child of the forks is done.
+     *
+     * @param forks the forks
+     * @return the join step
+     */
+    public static JoinStep any(ForkStep... forks) {
+        return new JoinStep(Mode.ANY, forks);
+    }
+
+    @Override
+    public void perform(ScriptTime time) {
+        if (finished) return;
+        Script script = Script.of(time);
+        if (script != null) {
+            // Register before checking so a completion in between unparks us instead of being missed
+            for (ForkStep fork : forks) {
+                fork.addWaiter(script, mode == Mode.ANY);
+            }
+        }
+        if (isSatisfied()) {
+            finished = true;
+        } else if (script != null) {
+            script.park();
+        }
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public void reset() {
+        finished = false;
+    }
+
+    private boolean isSatisfied() {
+        if (mode == Mode.ALL) {
+            for (ForkStep fork : forks) {
+                if (!fork.isAllDone()) return false;
+            }
+            return true;
+        }
+        for (ForkStep fork : forks) {
+            if (fork.isAnyDone()) return true;
+        }
+        return false;
+    }
+}
@@ -5,6 +5,8 @@ import dev.quivern.script.api.ScriptTime;
 
 import java.util.List;
 import java.util.function.BooleanSupplier;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
 
 /**
  * Executes a step only when all conditions are true.
@@ -41,4 +43,14 @@ public class MultiConditionStep implements IScriptStep {
     public void reset() {
         step.reset();
     }
-} 
\ No newline at end of file
+
+    @Override
+    public void saveState(ScriptTime time, LongConsumer out) {
+        step.saveState(time, out);
+    }
+
+    @Override
+    public void restoreState(LongSupplier in) {
+        step.restoreState(in);
+    }
+}
@@ -4,6 +4,8 @@ import dev.quivern.script.api.IScriptStep;
 import dev.quivern.script.api.ScriptTime;
 
 import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
 
 /**
  * Executes multiple steps in parallel.
@@ -44,4 +46,29 @@ public class ParallelStep implements IScriptStep {
     public void reset() {
         steps.forEach(IScriptStep::reset);
     }
+
+    @Override
+    public void saveState(ScriptTime time, LongConsumer out) {
+        for (IScriptStep step : steps) {
+            step.saveState(time, out);
+        }
+    }
+
+    @Override
+    public void restoreState(LongSupplier in) {
+        for (IScriptStep step : steps) {
+            step.restoreState(in);
+        }
+    }
+
+    @Override
+    public long nextWakeUp(ScriptTime time) {
+        long wakeUp = WAKE_ON_SIGNAL;
+        for (IScriptStep step : steps) {
+            if (!step.isFinished()) {
+                wakeUp = Math.min(wakeUp, step.nextWakeUp(time));
+            }
+        }
+        return wakeUp;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package dev.quivern.script.steps.advanced;
+
+import dev.quivern.script.Mailbox;
+import dev.quivern.script.api.IScriptStep;
+import dev.quivern.script.api.ScriptTime;
+
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Takes the oldest message of a type that matches a filter from the script's {@link Mailbox}.
+ * Messages that do not match stay in the mailbox, in order, for later receives.
+ * While no message matches, the script is parked and woken by the next send.
+ *
+ * @param <T> the message type
+ */
+public class ReceiveMatchingStep<T> implements IScriptStep {
+    private final Class<T> type;
+    private final Predicate<? super T> filter;
+    private final Consumer<? super T> handler;
+    private boolean finished;
+
+    /**
+     * Creates a step receiving the next message of a type.
+     *
+     * @param type the message type
+     * @param handler called with the received message
+     * @throws NullPointerException if type or handler is null
+     */
+    public ReceiveMatchingStep(Class<T> type, Consumer<? super T> handler) {
+        this(type, message -> true, handler);
+    }
+
+    /**
+     * Creates a selective receive step.
+     *
+     * @param type the message type
+     * @param filter the condition the message must meet
+     * @param handler called with the received message
+     * @throws NullPointerException if any argument is null
+     */
+    public ReceiveMatchingStep(Class<T> type, Predicate<? super T> filter, Consumer<? super T> handler) {
+        this.type = java.util.Objects.requireNonNull(type, "Type cannot be null");
+        this.filter = java.util.Objects.requireNonNull(filter, "Filter cannot be null");
+        this.handler = java.util.Objects.requireNonNull(handler, "Handler cannot be null");
+    }
+
+    @Override
+    public void perform(ScriptTime time) {
+        if (finished) return;
+        Mailbox mailbox = ReceiveStep.mailboxOf(time);
+        T message = mailbox.pollMatching(type, filter);
+        if (message == null) {
+            mailbox.awaitMessage();
+            return;
+        }
+        handler.accept(message);
+        finished = true;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public void reset() {
+        finished = false;
+    }
+}
@@ -0,0 +1,60 @@
+package dev.quivern.script.steps.advanced;
+
+import dev.quivern.script.Mailbox;
+import dev.quivern.script.Script;
+import dev.quivern.script.api.IScriptStep;
+import dev.quivern.script.api.ScriptTime;
+
+import java.util.function.Consumer;
+
+/**
+ * Takes the next message from the script's {@link Mailbox} and hands it to a handler.
+ * While the mailbox is empty, the script is parked and woken by the next send,
+ * so waiting costs nothing per tick.
+ */
+public class ReceiveStep implements IScriptStep {
+    private final Consumer<Object> handler;
+    private boolean finished;
+
+    /**
+     * Creates a receive step.
+     *
+     * @param handler called with the received message
+     * @throws NullPointerException if handler is null
+     */
+    public ReceiveStep(Consumer<Object> handler) {
+        this.handler = java.util.Objects.requireNonNull(handler, "Handler cannot be null");
+    }
+
+    @Override
+    public void perform(ScriptTime time) {
+        if (finished) return;
+        Mailbox mailbox = mailboxOf(time);
+        Object message = mailbox.poll();
+        if (message == null) {
+            mailbox.awaitMessage();
+            return;
+        }
+        handler.accept(message);
+        finished = true;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public void reset() {
+        finished = false;
+    }
+
+    static Mailbox mailboxOf(ScriptTime time) {
+        Script script = Script.of(time);
+        Mailbox mailbox = script != null ? script.getMailbox() : null;
+        if (mailbox == null) {
+            throw new IllegalStateException("Script has no mailbox; open one with ScriptManager.openMailbox");
+        }
+        return mailbox;
+    }
+}
@@ -3,9 +3,15 @@ package dev.quivern.script.steps.advanced;
 import dev.quivern.script.api.IScriptStep;
 import dev.quivern.script.api.ScriptTime;
 
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
 /**
  * Repeats a step a specified number of times.
  * Each time the step completes, it is reset and executed again.
+ * <p>
+ * When the repeated step has a fixed {@link IScriptStep#tickLength()}, fast-forwarding skips
+ * all whole repetitions that fit in the span with one {@link IScriptStep#completeRuns} call.
  */
 public class RepeatStep implements IScriptStep {
     private final IScriptStep step;
@@ -36,6 +42,54 @@ public class RepeatStep implements IScriptStep {
         }
     }
 
+    @Override
+    public long fastForward(long ticks, ScriptTime time) {
+        long consumed = 0;
+        long length = step.tickLength();
+        boolean fresh = false;
+        while (consumed < ticks && !isFinished()) {
+            if (fresh && length > 0) {
+                long runs = Math.min((ticks - consumed) / length, repeatCount - current);
+                if (runs > 0) {
+                    step.completeRuns(runs, time);
+                    consumed += runs * length;
+                    current += (int) runs;
+                    if (current < repeatCount) {
+                        step.reset();
+                    }
+                    continue;
+                }
+            }
+            fresh = false;
+            if (step.isFinished()) return ticks;
+            long used = step.fastForward(ticks - consumed, time);
+            if (used < 0) return consumed == 0 ? -1 : consumed;
+            if (used == 0) break;
+            consumed += used;
+            if (step.isFinished()) {
+                current++;
+                if (current < repeatCount) {
+                    step.reset();
+                    fresh = true;
+                }
+            }
+        }
+        return consumed;
+    }
+
+    @Override
+    public long tickLength() {
+        long length = step.tickLength();
+        if (length <= 0 || repeatCount <= 0 || length > Long.MAX_VALUE / repeatCount) return -1;
+        return length * repeatCount;
+    }
+
+    @Override
+    public void completeRuns(long runs, ScriptTime time) {
+        step.completeRuns(runs * repeatCount, time);
+        current = repeatCount;
+    }
+
     @Override
     public boolean isFinished() {
         return current >= repeatCount;
@@ -46,4 +100,35 @@ public class RepeatStep implements IScriptStep {
         step.reset();
         current = 0;
     }
+
+    @Override
+    public long saveState() {
+        return current;
+    }
+
+    @Override
+    public void restoreState(long state) {
+        current = (int) state;
+    }
+
+    @Override
+    public void saveState(ScriptTime time, LongConsumer out) {
+        out.accept(current);
+        if (!isFinished()) {
+            step.saveState(time, out);
+        }
+    }
+
+    @Override
+    public void restoreState(LongSupplier in) {
+        current = (int) in.getAsLong();
+        if (!isFinished()) {
+            step.restoreState(in);
+        }
+    }
+
+    @Override
+    public long nextWakeUp(ScriptTime time) {
+        return step.isFinished() ? WAKE_EVERY_TICK : step.nextWakeUp(time);
+    }
 }
\ No newline at end of file
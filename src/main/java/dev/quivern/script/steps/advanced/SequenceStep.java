@@ -4,6 +4,8 @@ import dev.quivern.script.api.IScriptStep;
 import dev.quivern.script.api.ScriptTime;
 
 import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
 
 /**
  * Executes steps sequentially, one after another.
@@ -38,6 +40,33 @@ public class SequenceStep implements IScriptStep {
         }
     }
 
+    @Override
+    public long fastForward(long ticks, ScriptTime time) {
+        long consumed = 0;
+        while (consumed < ticks && index < steps.size()) {
+            IScriptStep current = steps.get(index);
+            long used = current.fastForward(ticks - consumed, time);
+            if (used < 0) return consumed == 0 ? -1 : consumed;
+            if (used == 0) break;
+            consumed += used;
+            if (current.isFinished()) {
+                index++;
+            }
+        }
+        return consumed;
+    }
+
+    @Override
+    public long tickLength() {
+        long length = 0;
+        for (IScriptStep step : steps) {
+            long stepLength = step.tickLength();
+            if (stepLength <= 0 || stepLength > Long.MAX_VALUE - length) return -1;
+            length += stepLength;
+        }
+        return length;
+    }
+
     @Override
     public boolean isFinished() {
         return index >= steps.size();
@@ -48,4 +77,35 @@ public class SequenceStep implements IScriptStep {
         index = 0;
         steps.forEach(IScriptStep::reset);
     }
+
+    @Override
+    public long saveState() {
+        return index;
+    }
+
+    @Override
+    public void restoreState(long state) {
+        index = (int) state;
+    }
+
+    @Override
+    public void saveState(ScriptTime time, LongConsumer out) {
+        out.accept(index);
+        if (index < steps.size()) {
+            steps.get(index).saveState(time, out);
+        }
+    }
+
+    @Override
+    public void restoreState(LongSupplier in) {
+        index = (int) in.getAsLong();
+        if (index >= 0 && index < steps.size()) {
+            steps.get(index).restoreState(in);
+        }
+    }
+
+    @Override
+    public long nextWakeUp(ScriptTime time) {
+        return index < steps.size() ? steps.get(index).nextWakeUp(time) : WAKE_EVERY_TICK;
+    }
 }
\ No newline at end of file
@@ -3,15 +3,28 @@ package dev.quivern.script.steps.advanced;
 import dev.quivern.script.api.IScriptStep;
 import dev.quivern.script.api.ScriptTime;
 
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
 /**
  * Wraps a step with a timeout.
  * The step is finished when either it completes or the timeout is reached.
+ * <p>
+ * The timeout is tracked as a single deadline on the performing script's clock and is
+ * checked when the step is performed, so it needs no timer of its own.
  */
 public class TimeoutStep implements IScriptStep {
+    private static final long NOT_STARTED = Long.MIN_VALUE;
+    private static final long TIMED_OUT = Long.MAX_VALUE;
+    /**
+     * Deadlines at or below this bound hold the remaining time of a restored state, offset
+     * from {@link #NOT_STARTED}; real clock readings never come near it.
+     */
+    private static final long RESTORED_LIMIT = Long.MIN_VALUE / 2;
+
     private final IScriptStep step;
     private final long timeout;
-    private final ScriptTime timer = new ScriptTime();
-    private boolean started = false;
+    private long deadline = NOT_STARTED;
 
     /**
      * Creates a timeout step.
@@ -26,24 +39,64 @@ public class TimeoutStep implements IScriptStep {
 
     @Override
     public void perform(ScriptTime time) {
-        if (!started) {
-            timer.reset();
-            started = true;
+        if (deadline == TIMED_OUT) return;
+        long now = time != null ? time.currentTime() : ScriptTime.now();
+        if (deadline == NOT_STARTED) {
+            deadline = deadlineAfter(now, timeout);
+        } else if (deadline <= RESTORED_LIMIT) {
+            deadline = deadlineAfter(now, deadline - NOT_STARTED - 1);
         }
-        if (!step.isFinished() && !timer.finished(timeout)) {
+        if (now >= deadline) {
+            deadline = TIMED_OUT;
+        } else if (!step.isFinished()) {
             step.perform(time);
         }
     }
 
     @Override
     public boolean isFinished() {
-        return step.isFinished() || timer.finished(timeout);
+        return deadline == TIMED_OUT || step.isFinished();
     }
 
     @Override
     public void reset() {
         step.reset();
-        timer.reset();
-        started = false;
+        deadline = NOT_STARTED;
+    }
+
+    @Override
+    public long nextWakeUp(ScriptTime time) {
+        if (deadline <= RESTORED_LIMIT || isFinished()) return WAKE_EVERY_TICK;
+        return Math.min(step.nextWakeUp(time), deadline);
+    }
+
+    @Override
+    public void saveState(ScriptTime time, LongConsumer out) {
+        if (deadline == NOT_STARTED) {
+            out.accept(-1L);
+        } else if (deadline == TIMED_OUT) {
+            out.accept(-2L);
+        } else if (deadline <= RESTORED_LIMIT) {
+            out.accept(deadline - NOT_STARTED - 1);
+        } else {
+            long now = time != null ? time.currentTime() : ScriptTime.now();
+            out.accept(Math.max(0, deadline - now));
+        }
+        step.saveState(time, out);
+    }
+
+    @Override
+    public void restoreState(LongSupplier in) {
+        long state = in.getAsLong();
+        if (state == -2L) {
+            deadline = TIMED_OUT;
+        } else if (state >= 0) {
+            deadline = NOT_STARTED + 1 + Math.min(state, -RESTORED_LIMIT - 1);
+        }
+        step.restoreState(in);
+    }
+
+    private static long deadlineAfter(long now, long delay) {
+        return delay > TIMED_OUT - 1 - now ? TIMED_OUT - 1 : now + delay;
     }
-}
\ No newline at end of file
+}
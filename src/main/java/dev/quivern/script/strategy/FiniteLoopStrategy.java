@@ -26,6 +26,16 @@ public class FiniteLoopStrategy implements LoopStrategy {
         ++currentLoop;
     }
 
+    @Override
+    public int remainingLoops() {
+        return Math.max(0, loopCount - currentLoop);
+    }
+
+    @Override
+    public void skipLoops(int loops) {
+        currentLoop += loops;
+    }
+
     @Override
     public boolean isFinished() {
         return currentLoop >= loopCount;
@@ -35,4 +45,9 @@ public class FiniteLoopStrategy implements LoopStrategy {
     public void reset() {
         currentLoop = 1;
     }
+
+    @Override
+    public void restoreLoop(int loop) {
+        currentLoop = loop;
+    }
 }
\ No newline at end of file
@@ -22,6 +22,16 @@ public class InfiniteLoopStrategy implements LoopStrategy {
         ++currentLoop;
     }
 
+    @Override
+    public int remainingLoops() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void skipLoops(int loops) {
+        currentLoop += loops;
+    }
+
     @Override
     public boolean isFinished() {
         return false;
@@ -31,4 +41,9 @@ public class InfiniteLoopStrategy implements LoopStrategy {
     public void reset() {
         currentLoop = 0;
     }
+
+    @Override
+    public void restoreLoop(int loop) {
+        currentLoop = loop;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package dev.quivern.script.strategy;
+
+import dev.quivern.script.api.LoopStrategy;
+
+/**
+ * Runs a script once without looping.
+ * Holds no state, so every script without a loop strategy shares {@link #INSTANCE}.
+ */
+public final class SingleRunStrategy implements LoopStrategy {
+    /**
+     * The shared instance.
+     */
+    public static final SingleRunStrategy INSTANCE = new SingleRunStrategy();
+
+    private SingleRunStrategy() {
+    }
+
+    @Override
+    public boolean shouldLoop(int currentStepIndex, int totalSteps) {
+        return false;
+    }
+
+    @Override
+    public void onLoop() {
+        // Never loops
+    }
+
+    @Override
+    public boolean isFinished() {
+        return true;
+    }
+
+    @Override
+    public int currentLoop() {
+        return 1;
+    }
+}
@@ -0,0 +1,161 @@
+package dev.quivern.script.sync;
+
+import dev.quivern.script.Script;
+import dev.quivern.script.api.IScriptStep;
+import dev.quivern.script.api.ScriptAction;
+import dev.quivern.script.api.ScriptTime;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reusable meeting point for a fixed number of scripts.
+ * <p>
+ * Each script performing an {@link #awaitStep()} arrives at the barrier and is parked until
+ * the last party arrives. The last arrival runs the optional trip action, unparks every waiting
+ * script and starts a new generation, so the barrier can be used again, for example by
+ * looping scripts. Waiting scripts are not visited by ticks. Thread-safe.
+ */
+public class ScriptBarrier {
+    private final int parties;
+    private final ScriptAction onTrip;
+    private final ArrayDeque<Script> waiters = new ArrayDeque<>();
+    private int arrived;
+    private int generation;
+
+    /**
+     * Creates a barrier without a trip action.
+     *
+     * @param parties the number of scripts that must arrive
+     * @throws IllegalArgumentException if parties is not positive
+     */
+    public ScriptBarrier(int parties) {
+        this(parties, Script.EMPTY);
+    }
+
+    /**
+     * Creates a barrier.
+     *
+     * @param parties the number of scripts that must arrive
+     * @param onTrip the action run by the last arriving script before the others are released
+     * @throws NullPointerException if onTrip is null
+     * @throws IllegalArgumentException if parties is not positive
+     */
+    public ScriptBarrier(int parties, ScriptAction onTrip) {
+        if (parties <= 0) {
+            throw new IllegalArgumentException("Parties must be positive");
+        }
+        this.parties = parties;
+        this.onTrip = java.util.Objects.requireNonNull(onTrip, "Trip action cannot be null");
+    }
+
+    /**
+     * Gets the number of scripts that must arrive to trip the barrier.
+     *
+     * @return the party count
+     */
+    public int getParties() {
+        return parties;
+    }
+
+    /**
+     * Gets the number of scripts that have arrived in the current generation.
+     *
+     * @return the arrival count
+     */
+    public synchronized int getArrived() {
+        return arrived;
+    }
+
+    /**
+     * Gets the number of times the barrier has tripped.
+     *
+     * @return the generation
+     */
+    public synchronized int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Creates a step that arrives at the barrier and finishes once it trips.
+     *
+     * @return a new await step
+     */
+    public IScriptStep awaitStep() {
+        return new AwaitStep();
+    }
+
+    /**
+     * Records an arrival.
+     *
+     * @param script the arriving script, or null outside a script
+     * @return the generation arrived in, or -1 if this arrival tripped the barrier
+     */
+    private int arrive(Script script) {
+        List<Script> wake;
+        synchronized (this) {
+            if (++arrived < parties) {
+                if (script != null) {
+                    waiters.add(script);
+                }
+                return generation;
+            }
+            arrived = 0;
+            generation++;
+            wake = new ArrayList<>(waiters);
+            waiters.clear();
+        }
+        onTrip.perform();
+        wake.forEach(Script::unpark);
+        return -1;
+    }
+
+    private synchronized void leave(Script script, int arrivedGeneration) {
+        if (generation != arrivedGeneration) return;
+        arrived--;
+        if (script != null) {
+            waiters.remove(script);
+        }
+    }
+
+    private final class AwaitStep implements IScriptStep {
+        private Script script;
+        private int arrivedGeneration = -1;
+        private boolean finished;
+
+        @Override
+        public void perform(ScriptTime time) {
+            if (finished) return;
+            if (arrivedGeneration < 0) {
+                script = Script.of(time);
+                arrivedGeneration = arrive(script);
+                if (arrivedGeneration < 0) {
+                    finished = true;
+                    return;
+                }
+            }
+            if (getGeneration() != arrivedGeneration) {
+                arrivedGeneration = -1;
+                finished = true;
+            } else if (script != null) {
+                script.park();
+            }
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public void reset() {
+            if (arrivedGeneration >= 0) {
+                leave(script, arrivedGeneration);
+            }
+            arrivedGeneration = -1;
+            script = null;
+            finished = false;
+        }
+    }
+}
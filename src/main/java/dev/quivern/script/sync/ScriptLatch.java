@@ -0,0 +1,129 @@
+package dev.quivern.script.sync;
+
+import dev.quivern.script.Script;
+import dev.quivern.script.api.IScriptStep;
+import dev.quivern.script.api.ScriptTime;
+import dev.quivern.script.steps.advanced.CallbackStep;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One-shot gate that opens once it has been counted down to zero.
+ * <p>
+ * Scripts performing an {@link #awaitStep()} while the latch is closed are parked in arrival
+ * order and not visited by ticks; the final {@link #countDown()} unparks all of them at once.
+ * Waiting therefore costs nothing per tick, however many scripts wait. Thread-safe.
+ */
+public class ScriptLatch {
+    private final ArrayDeque<Script> waiters = new ArrayDeque<>();
+    private int count;
+
+    /**
+     * Creates a latch.
+     *
+     * @param count the number of count-downs before the latch opens
+     * @throws IllegalArgumentException if count is negative
+     */
+    public ScriptLatch(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative");
+        }
+        this.count = count;
+    }
+
+    /**
+     * Decrements the count, opening the latch and waking every waiting script when it reaches zero.
+     * Does nothing once the latch is open.
+     */
+    public void countDown() {
+        List<Script> wake;
+        synchronized (this) {
+            if (count == 0 || --count > 0) return;
+            wake = new ArrayList<>(waiters);
+            waiters.clear();
+        }
+        wake.forEach(Script::unpark);
+    }
+
+    /**
+     * Gets the remaining count.
+     *
+     * @return the count, 0 once open
+     */
+    public synchronized int getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the number of parked scripts waiting for the latch.
+     *
+     * @return the waiter count
+     */
+    public synchronized int getWaiting() {
+        return waiters.size();
+    }
+
+    /**
+     * Creates a step that finishes once the latch is open.
+     *
+     * @return a new await step
+     */
+    public IScriptStep awaitStep() {
+        return new AwaitStep();
+    }
+
+    /**
+     * Creates a step that counts the latch down once.
+     *
+     * @return a new count-down step
+     */
+    public IScriptStep countDownStep() {
+        return new CallbackStep(this::countDown);
+    }
+
+    private synchronized boolean openOrEnqueue(Script script, boolean queued) {
+        if (count == 0) return true;
+        if (script != null && !queued) {
+            waiters.add(script);
+        }
+        return false;
+    }
+
+    private synchronized void dequeue(Script script) {
+        waiters.remove(script);
+    }
+
+    private final class AwaitStep implements IScriptStep {
+        private Script queued;
+        private boolean finished;
+
+        @Override
+        public void perform(ScriptTime time) {
+            if (finished) return;
+            Script script = Script.of(time);
+            if (openOrEnqueue(script, queued == script)) {
+                queued = null;
+                finished = true;
+            } else if (script != null) {
+                queued = script;
+                script.park();
+            }
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public void reset() {
+            if (queued != null) {
+                dequeue(queued);
+                queued = null;
+            }
+            finished = false;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package dev.quivern.script.sync;
+
+import dev.quivern.script.Script;
+import dev.quivern.script.api.IScriptStep;
+import dev.quivern.script.api.ScriptTime;
+import dev.quivern.script.steps.advanced.CallbackStep;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fair counting semaphore for scripts.
+ * <p>
+ * A script performing an {@link #acquireStep(int)} takes its permits immediately if they are
+ * available and nobody is queued ahead of it; otherwise it is parked at the end of a FIFO
+ * queue. {@link #release(int)} hands permits directly to queued scripts from the head of the
+ * queue for as long as their requests fit and unparks exactly those scripts, so released
+ * permits cannot be taken by a latecomer and no other waiter is woken. Waiting scripts are not
+ * visited by ticks. A queued script that is removed from its manager gives up its place.
+ * Thread-safe.
+ */
+public class ScriptSemaphore {
+    private final ArrayDeque<Waiter> queue = new ArrayDeque<>();
+    private int permits;
+
+    /**
+     * Creates a semaphore.
+     *
+     * @param permits the initial number of permits
+     * @throws IllegalArgumentException if permits is negative
+     */
+    public ScriptSemaphore(int permits) {
+        if (permits < 0) {
+            throw new IllegalArgumentException("Permits cannot be negative");
+        }
+        this.permits = permits;
+    }
+
+    /**
+     * Takes permits if they are available and no script is queued for them.
+     *
+     * @param count the number of permits
+     * @return true if the permits were taken
+     * @throws IllegalArgumentException if count is not positive
+     */
+    public synchronized boolean tryAcquire(int count) {
+        checkCount(count);
+        if (!queue.isEmpty() || permits < count) return false;
+        permits -= count;
+        return true;
+    }
+
+    /**
+     * Returns one permit.
+     */
+    public void release() {
+        release(1);
+    }
+
+    /**
+     * Returns permits, handing them to queued scripts in FIFO order.
+     *
+     * @param count the number of permits
+     * @throws IllegalArgumentException if count is not positive
+     */
+    public void release(int count) {
+        checkCount(count);
+        List<Script> wake;
+        synchronized (this) {
+            permits += count;
+            wake = dispatch();
+        }
+        wake.forEach(Script::unpark);
+    }
+
+    /**
+     * Gets the number of permits currently available.
+     *
+     * @return the available permits
+     */
+    public synchronized int availablePermits() {
+        return permits;
+    }
+
+    /**
+     * Gets the number of scripts queued for permits.
+     *
+     * @return the queue length
+     */
+    public synchronized int getQueueLength() {
+        return queue.size();
+    }
+
+    /**
+     * Creates a step that acquires one permit.
+     *
+     * @return a new acquire step
+     */
+    public IScriptStep acquireStep() {
+        return acquireStep(1);
+    }
+
+    /**
+     * Creates a step that finishes once it holds the given number of permits.
+     *
+     * @param count the number of permits
+     * @return a new acquire step
+     * @throws IllegalArgumentException if count is not positive
+     */
+    public IScriptStep acquireStep(int count) {
+        checkCount(count);
+        return new AcquireStep(count);
+    }
+
+    /**
+     * Creates a step that releases one permit.
+     *
+     * @return a new release step
+     */
+    public IScriptStep releaseStep() {
+        return releaseStep(1);
+    }
+
+    /**
+     * Creates a step that releases permits.
+     *
+     * @param count the number of permits
+     * @return a new release step
+     * @throws IllegalArgumentException if count is not positive
+     */
+    public IScriptStep releaseStep(int count) {
+        checkCount(count);
+        return new CallbackStep(() -> release(count));
+    }
+
+    /**
+     * Takes permits or queues a waiter for them.
+     *
+     * @return null if the permits were taken, otherwise the queued waiter
+     */
+    private synchronized Waiter acquireOrEnqueue(Script script, int count) {
+        if (queue.isEmpty() && permits >= count) {
+            permits -= count;
+            return null;
+        }
+        Waiter waiter = new Waiter(script, count);
+        queue.add(waiter);
+        return waiter;
+    }
+
+    private synchronized boolean isGranted(Waiter waiter) {
+        return waiter.granted;
+    }
+
+    /**
+     * Withdraws a waiter, returning its permits if they were already handed over.
+     */
+    private void cancel(Waiter waiter) {
+        List<Script> wake;
+        synchronized (this) {
+            if (waiter.granted) {
+                waiter.granted = false;
+                permits += waiter.count;
+            } else if (!queue.remove(waiter)) {
+                return;
+            }
+            wake = dispatch();
+        }
+        wake.forEach(Script::unpark);
+    }
+
+    private List<Script> dispatch() {
+        List<Script> wake = new ArrayList<>();
+        while (!queue.isEmpty() && queue.peek().count <= permits) {
+            Waiter waiter = queue.poll();
+            permits -= waiter.count;
+            waiter.granted = true;
+            if (waiter.script != null) {
+                wake.add(waiter.script);
+            }
+        }
+        return wake;
+    }
+
+    private static void checkCount(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Permit count must be positive");
+        }
+    }
+
+    private static final class Waiter {
+        final Script script;
+        final int count;
+        boolean granted;
+
+        Waiter(Script script, int count) {
+            this.script = script;
+            this.count = count;
+        }
+    }
+
+    private final class AcquireStep implements IScriptStep {
+        private final int count;
+        private volatile Waiter waiter;
+        private Script watched;
+        private boolean finished;
+
+        AcquireStep(int count) {
+            this.count = count;
+        }
+
+        @Override
+        public void perform(ScriptTime time) {
+            if (finished) return;
+            Waiter current = waiter;
+            if (current == null) {
+                Script script = Script.of(time);
+                current = acquireOrEnqueue(script, count);
+                if (current == null) {
+                    finished = true;
+                    return;
+                }
+                waiter = current;
+                if (script != null && script != watched) {
+                    watched = script;
+                    script.whenDone(this::abandon);
+                }
+            } else if (isGranted(current)) {
+                waiter = null;
+                finished = true;
+                return;
+            }
+            if (current.script != null) {
+                current.script.park();
+            }
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public void reset() {
+            abandon();
+            finished = false;
+        }
+
+        private void abandon() {
+            Waiter current = waiter;
+            if (current != null) {
+                waiter = null;
+                cancel(current);
+            }
+        }
+    }
+}
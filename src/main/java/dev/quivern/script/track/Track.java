@@ -0,0 +1,165 @@
+package dev.quivern.script.track;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A read-only, memory-mapped sequence of timed events written by {@link TrackWriter}.
+ * Events are read straight from the mapping when they are needed, so the heap holds only
+ * this object no matter how long the track is, and the operating system pages the file in
+ * as playback reaches it. A track is immutable and can be shared by any number of
+ * {@link TrackStep}s on any threads.
+ * <p>
+ * File layout (little-endian): a {@value #HEADER_SIZE}-byte header followed by events
+ * sorted by time, {@value #RECORD_SIZE} bytes each:
+ * <pre>
+ * header                      event
+ *  0  int  magic "LTRK"        0  long time from track start, in milliseconds
+ *  4  int  version             8  int  event code
+ *  8  int  record size        12  int  reserved
+ * 12  int  reserved           16  long payload
+ * 16  long event count
+ * 24  long reserved
+ * </pre>
+ * Payloads that do not fit in a {@code long} can be stored as indexes into a side table.
+ * A single mapping is limited to 2 GB, about 89 million events.
+ */
+public final class Track {
+    /**
+     * Size of the file header in bytes.
+     */
+    public static final int HEADER_SIZE = 32;
+
+    /**
+     * Size of a single event in bytes.
+     */
+    public static final int RECORD_SIZE = 24;
+
+    static final int MAGIC = 0x4B52544C; // "LTRK"
+    static final int VERSION = 1;
+
+    private static final int TIME = 0;
+    private static final int CODE = 8;
+    private static final int DATA = 16;
+
+    private final ByteBuffer buffer;
+    private final int size;
+
+    private Track(ByteBuffer buffer, int size) {
+        this.buffer = buffer;
+        this.size = size;
+    }
+
+    /**
+     * Memory-maps a track file.
+     *
+     * @param file the track file
+     * @return the mapped track
+     * @throws IOException if the file cannot be mapped
+     * @throws IllegalArgumentException if the file is not a valid track or too large to map
+     */
+    public static Track open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) {
+                throw new IllegalArgumentException("Not a track file: " + file);
+            }
+            if (fileSize > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Track file too large to map: " + file);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION || mapped.getInt(8) != RECORD_SIZE) {
+                throw new IllegalArgumentException("Unsupported track file: " + file);
+            }
+            long count = mapped.getLong(16);
+            if (count < 0 || count > (fileSize - HEADER_SIZE) / RECORD_SIZE) {
+                throw new IllegalArgumentException("Truncated track file: " + file);
+            }
+            return new Track(mapped, (int) count);
+        }
+    }
+
+    /**
+     * Gets the number of events.
+     *
+     * @return the event count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the time of the last event.
+     *
+     * @return the duration in milliseconds, 0 for an empty track
+     */
+    public long duration() {
+        return size > 0 ? timeAt(size - 1) : 0;
+    }
+
+    /**
+     * Gets the time of an event.
+     *
+     * @param index the event index
+     * @return the time from the start of the track, in milliseconds
+     * @throws IndexOutOfBoundsException if index is out of range
+     */
+    public long timeAt(int index) {
+        return buffer.getLong(offset(index) + TIME);
+    }
+
+    /**
+     * Gets the code of an event.
+     *
+     * @param index the event index
+     * @return the event code
+     * @throws IndexOutOfBoundsException if index is out of range
+     */
+    public int codeAt(int index) {
+        return buffer.getInt(offset(index) + CODE);
+    }
+
+    /**
+     * Gets the payload of an event.
+     *
+     * @param index the event index
+     * @return the payload
+     * @throws IndexOutOfBoundsException if index is out of range
+     */
+    public long dataAt(int index) {
+        return buffer.getLong(offset(index) + DATA);
+    }
+
+    /**
+     * Finds the first event at or after a time.
+     *
+     * @param timeMillis the time from the start of the track, in milliseconds
+     * @return the index of the first event not earlier than the time, or {@link #size()} if none
+     */
+    public int indexOf(long timeMillis) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timeAt(mid) < timeMillis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int offset(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Event index " + index + " out of range for track of " + size);
+        }
+        return HEADER_SIZE + index * RECORD_SIZE;
+    }
+}
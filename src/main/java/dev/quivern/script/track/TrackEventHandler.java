@@ -0,0 +1,17 @@
+package dev.quivern.script.track;
+
+/**
+ * Receives the events of a track as they become due.
+ */
+@FunctionalInterface
+public interface TrackEventHandler {
+
+    /**
+     * Handles one event.
+     *
+     * @param code the event code
+     * @param timeMillis the event time from the start of the track, in milliseconds
+     * @param data the event payload
+     */
+    void onEvent(int code, long timeMillis, long data);
+}
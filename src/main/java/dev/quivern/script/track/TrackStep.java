@@ -0,0 +1,182 @@
+package dev.quivern.script.track;
+
+import dev.quivern.script.api.IScriptStep;
+import dev.quivern.script.api.ScriptClock;
+import dev.quivern.script.api.ScriptTime;
+
+import java.util.Arrays;
+
+/**
+ * Plays a {@link Track}, dispatching each event to the handler registered for its code
+ * once the event's time has been reached.
+ * <p>
+ * Playback starts on the first update and follows the performing script's clock, so it
+ * pauses with suspended scripts and paused groups. Every update decodes only the events that
+ * became due since the previous one, straight from the mapped file, and allocates nothing.
+ * The step sleeps until the next event is due, and finishes once the last event has been
+ * dispatched. Events whose code has no handler go to the fallback handler, if any.
+ * <p>
+ * Handlers may call {@link #seek(long)}; events from the new position are dispatched
+ * from the next update on.
+ */
+public class TrackStep implements IScriptStep {
+    private static final long NOT_STARTED = Long.MIN_VALUE;
+
+    private final Track track;
+    private int[] codes = new int[0];
+    private TrackEventHandler[] handlers = new TrackEventHandler[0];
+    private TrackEventHandler fallback;
+    private ScriptClock clock;
+    private long start = NOT_STARTED;
+    private long pendingPosition;
+    private int cursor;
+    private int seeks;
+
+    /**
+     * Creates a track step.
+     *
+     * @param track the track to play
+     * @throws NullPointerException if track is null
+     */
+    public TrackStep(Track track) {
+        this.track = java.util.Objects.requireNonNull(track, "Track cannot be null");
+    }
+
+    /**
+     * Registers the handler for an event code, replacing any previous one.
+     *
+     * @param code the event code
+     * @param handler the handler
+     * @return this step
+     * @throws NullPointerException if handler is null
+     */
+    public TrackStep on(int code, TrackEventHandler handler) {
+        java.util.Objects.requireNonNull(handler, "Handler cannot be null");
+        int index = Arrays.binarySearch(codes, code);
+        if (index >= 0) {
+            handlers[index] = handler;
+            return this;
+        }
+        int insert = -index - 1;
+        int[] newCodes = new int[codes.length + 1];
+        TrackEventHandler[] newHandlers = new TrackEventHandler[handlers.length + 1];
+        System.arraycopy(codes, 0, newCodes, 0, insert);
+        System.arraycopy(handlers, 0, newHandlers, 0, insert);
+        newCodes[insert] = code;
+        newHandlers[insert] = handler;
+        System.arraycopy(codes, insert, newCodes, insert + 1, codes.length - insert);
+        System.arraycopy(handlers, insert, newHandlers, insert + 1, handlers.length - insert);
+        codes = newCodes;
+        handlers = newHandlers;
+        return this;
+    }
+
+    /**
+     * Sets the handler for events whose code has no registered handler.
+     *
+     * @param handler the handler, or null to skip such events
+     * @return this step
+     */
+    public TrackStep onOther(TrackEventHandler handler) {
+        this.fallback = handler;
+        return this;
+    }
+
+    @Override
+    public void perform(ScriptTime time) {
+        if (time != null) {
+            clock = time.getClock();
+        } else if (clock == null) {
+            clock = ScriptClock.SYSTEM;
+        }
+        long now = clock.currentTimeMillis();
+        if (start == NOT_STARTED) {
+            start = now - pendingPosition;
+        }
+        long position = now - start;
+        int size = track.size();
+        int seeksBefore = seeks;
+        while (cursor < size && seeks == seeksBefore) {
+            int index = cursor;
+            long eventTime = track.timeAt(index);
+            if (eventTime > position) break;
+            cursor = index + 1;
+            dispatch(track.codeAt(index), eventTime, track.dataAt(index));
+        }
+    }
+
+    @Override
+    public boolean isFinished() {
+        return start != NOT_STARTED && cursor >= track.size();
+    }
+
+    @Override
+    public void reset() {
+        start = NOT_STARTED;
+        pendingPosition = 0;
+        cursor = 0;
+    }
+
+    @Override
+    public long nextWakeUp(ScriptTime time) {
+        if (start == NOT_STARTED || cursor >= track.size()) return WAKE_EVERY_TICK;
+        return start + track.timeAt(cursor);
+    }
+
+    /**
+     * Moves playback to a position. Events before the position are skipped without being
+     * dispatched; events at or after it are dispatched as playback reaches them.
+     *
+     * @param positionMillis the position from the start of the track, in milliseconds
+     * @throws IllegalArgumentException if position is negative
+     */
+    public void seek(long positionMillis) {
+        if (positionMillis < 0) {
+            throw new IllegalArgumentException("Position cannot be negative");
+        }
+        cursor = track.indexOf(positionMillis);
+        seeks++;
+        if (start == NOT_STARTED) {
+            pendingPosition = positionMillis;
+        } else {
+            start = clock.currentTimeMillis() - positionMillis;
+        }
+    }
+
+    /**
+     * Gets the playback position.
+     *
+     * @return the position from the start of the track in milliseconds, or the pending
+     *         seek position if playback has not started
+     */
+    public long getPosition() {
+        return start == NOT_STARTED ? pendingPosition : clock.currentTimeMillis() - start;
+    }
+
+    /**
+     * Gets the index of the next event to dispatch.
+     *
+     * @return the event index, equal to the track size once all events are dispatched
+     */
+    public int getCursor() {
+        return cursor;
+    }
+
+    @Override
+    public long saveState() {
+        return getPosition();
+    }
+
+    @Override
+    public void restoreState(long state) {
+        seek(Math.max(0, state));
+    }
+
+    private void dispatch(int code, long eventTime, long data) {
+        int index = Arrays.binarySearch(codes, code);
+        TrackEventHandler handler = index >= 0 ? handlers[index] : fallback;
+        if (handler != null) {
+            handler.onEvent(code, eventTime, data);
+        }
+    }
+}
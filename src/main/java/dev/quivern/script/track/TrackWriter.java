@@ -0,0 +1,108 @@
+package dev.quivern.script.track;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a track file for {@link Track#open(Path)}.
+ * Events are appended in time order through a fixed-size buffer, so recording a track of
+ * any length takes constant memory. The header is completed when the writer is closed.
+ * <p>
+ * Writers are not thread-safe.
+ */
+public final class TrackWriter implements AutoCloseable {
+    private static final int BUFFER_EVENTS = 4096;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_EVENTS * Track.RECORD_SIZE)
+            .order(ByteOrder.LITTLE_ENDIAN);
+    private long count;
+    private long lastTime;
+    private boolean closed;
+
+    private TrackWriter(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Creates a track file, replacing it if it exists.
+     *
+     * @param file the track file
+     * @return the writer
+     * @throws IOException if the file cannot be created
+     */
+    public static TrackWriter create(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        channel.position(Track.HEADER_SIZE);
+        return new TrackWriter(channel);
+    }
+
+    /**
+     * Appends an event.
+     *
+     * @param timeMillis the event time from the start of the track, in milliseconds
+     * @param code the event code
+     * @param data the event payload
+     * @return this writer
+     * @throws IOException if the event cannot be written
+     * @throws IllegalArgumentException if time is negative or earlier than the previous event
+     * @throws IllegalStateException if the writer is closed
+     */
+    public TrackWriter append(long timeMillis, int code, long data) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Writer is closed");
+        }
+        if (timeMillis < lastTime) {
+            throw new IllegalArgumentException("Events must be appended in time order and at non-negative times");
+        }
+        if (!buffer.hasRemaining()) {
+            flush();
+        }
+        buffer.putLong(timeMillis).putInt(code).putInt(0).putLong(data);
+        lastTime = timeMillis;
+        count++;
+        return this;
+    }
+
+    /**
+     * Gets the number of events appended so far.
+     *
+     * @return the event count
+     */
+    public long size() {
+        return count;
+    }
+
+    /**
+     * Writes the remaining events and the header, and closes the file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try (channel) {
+            flush();
+            ByteBuffer header = ByteBuffer.allocate(Track.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(Track.MAGIC).putInt(Track.VERSION).putInt(Track.RECORD_SIZE).putInt(0)
+                    .putLong(count).putLong(0).flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,74 @@
+package dev.quivern.script.tween;
+
+/**
+ * Easing curves mapping linear progress to eased progress.
+ * Every curve maps 0 to 0 and 1 to 1.
+ */
+public enum Easing {
+    /**
+     * Constant speed.
+     */
+    LINEAR,
+    /**
+     * Quadratic, accelerating from zero speed.
+     */
+    QUAD_IN,
+    /**
+     * Quadratic, decelerating to zero speed.
+     */
+    QUAD_OUT,
+    /**
+     * Quadratic, accelerating then decelerating.
+     */
+    QUAD_IN_OUT,
+    /**
+     * Cubic, accelerating from zero speed.
+     */
+    CUBIC_IN,
+    /**
+     * Cubic, decelerating to zero speed.
+     */
+    CUBIC_OUT,
+    /**
+     * Cubic, accelerating then decelerating.
+     */
+    CUBIC_IN_OUT,
+    /**
+     * Sinusoidal, accelerating from zero speed.
+     */
+    SINE_IN,
+    /**
+     * Sinusoidal, decelerating to zero speed.
+     */
+    SINE_OUT,
+    /**
+     * Sinusoidal, accelerating then decelerating.
+     */
+    SINE_IN_OUT,
+    /**
+     * Hermite smoothstep, zero speed at both ends.
+     */
+    SMOOTHSTEP;
+
+    /**
+     * Applies the curve.
+     *
+     * @param t linear progress in [0, 1]
+     * @return eased progress
+     */
+    public double apply(double t) {
+        return switch (this) {
+            case LINEAR -> t;
+            case QUAD_IN -> t * t;
+            case QUAD_OUT -> t * (2 - t);
+            case QUAD_IN_OUT -> t < 0.5 ? 2 * t * t : 1 - 2 * (1 - t) * (1 - t);
+            case CUBIC_IN -> t * t * t;
+            case CUBIC_OUT -> 1 - (1 - t) * (1 - t) * (1 - t);
+            case CUBIC_IN_OUT -> t < 0.5 ? 4 * t * t * t : 1 - 4 * (1 - t) * (1 - t) * (1 - t);
+            case SINE_IN -> 1 - Math.cos(t * Math.PI / 2);
+            case SINE_OUT -> Math.sin(t * Math.PI / 2);
+            case SINE_IN_OUT -> (1 - Math.cos(t * Math.PI)) / 2;
+            case SMOOTHSTEP -> t * t * (3 - 2 * t);
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package dev.quivern.script.tween;
+
+/**
+ * Receives the interpolated value of a tween every tick.
+ */
+@FunctionalInterface
+public interface TweenAction {
+
+    /**
+     * Applies the current value.
+     *
+     * @param value the interpolated value
+     * @param progress the linear progress in [0, 1]
+     */
+    void apply(double value, double progress);
+}
@@ -0,0 +1,311 @@
+package dev.quivern.script.tween;
+
+import dev.quivern.script.api.ScriptClock;
+import dev.quivern.script.api.ScriptTime;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Batched interpolation of many tweens at once.
+ * <p>
+ * Tweens live in parallel primitive arrays indexed by handle rather than in one object each.
+ * An {@link #update()} samples the clock of every tween and computes progress, easing and
+ * value for every slot in tight loops over those arrays. The progress and value loops have
+ * no branches or calls, so the JIT can vectorize them.
+ * <p>
+ * Each tween runs on the clock it was started with, typically the clock of the performing
+ * script, so tweens pause, scale and skip ahead with their script and its group. A
+ * {@link TweenStep} samples its own tween with {@link #sample(int, long)}, which does nothing
+ * if the tween was already computed at that clock time, so an owner that calls
+ * {@link #update()} once per tick before updating scripts does all the work in one sweep.
+ * <p>
+ * Starting, releasing, sampling and sweeping are serialized by a lock. Reads of progress and
+ * value are lock-free and see the result of the latest sweep or sample.
+ */
+public class TweenEngine {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final Easing[] EASINGS = Easing.values();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Slots slots = new Slots(INITIAL_CAPACITY);
+    private volatile long lastSweep = Long.MIN_VALUE;
+    private int[] freeSlots = new int[INITIAL_CAPACITY];
+    private int freeCount;
+    private int highWater;
+    private int active;
+
+    /**
+     * Starts a tween at the current wall-clock time.
+     *
+     * @param from the start value
+     * @param to the end value
+     * @param durationMillis the duration in milliseconds
+     * @param easing the easing curve
+     * @return the tween handle
+     * @throws NullPointerException if easing is null
+     * @throws IllegalArgumentException if duration is negative
+     */
+    public int start(double from, double to, long durationMillis, Easing easing) {
+        return start(from, to, durationMillis, easing, ScriptClock.SYSTEM);
+    }
+
+    /**
+     * Starts a tween at the current time of a clock. The tween then progresses with that clock.
+     *
+     * @param from the start value
+     * @param to the end value
+     * @param durationMillis the duration in milliseconds
+     * @param easing the easing curve
+     * @param clock the clock the tween runs on
+     * @return the tween handle
+     * @throws NullPointerException if easing or clock is null
+     * @throws IllegalArgumentException if duration is negative
+     */
+    public int start(double from, double to, long durationMillis, Easing easing, ScriptClock clock) {
+        java.util.Objects.requireNonNull(clock, "Clock cannot be null");
+        return start(from, to, durationMillis, easing, clock, clock.currentTimeMillis());
+    }
+
+    /**
+     * Starts a tween at the given wall-clock time.
+     *
+     * @param from the start value
+     * @param to the end value
+     * @param durationMillis the duration in milliseconds
+     * @param easing the easing curve
+     * @param startMillis the start time in {@link ScriptTime} milliseconds
+     * @return the tween handle
+     * @throws NullPointerException if easing is null
+     * @throws IllegalArgumentException if duration is negative
+     */
+    public int start(double from, double to, long durationMillis, Easing easing, long startMillis) {
+        return start(from, to, durationMillis, easing, ScriptClock.SYSTEM, startMillis);
+    }
+
+    private int start(double from, double to, long durationMillis, Easing easing, ScriptClock clock,
+                      long startMillis) {
+        java.util.Objects.requireNonNull(easing, "Easing cannot be null");
+        if (durationMillis < 0) {
+            throw new IllegalArgumentException("Duration cannot be negative");
+        }
+        lock.lock();
+        try {
+            int handle = freeCount > 0 ? freeSlots[--freeCount] : highWater++;
+            Slots current = slots;
+            if (handle >= current.capacity()) {
+                current = current.grow(current.capacity() * 2);
+                slots = current;
+            }
+            current.from[handle] = from;
+            current.delta[handle] = to - from;
+            current.easing[handle] = (byte) easing.ordinal();
+            current.clock[handle] = clock;
+            current.now[handle] = startMillis;
+            current.start[handle] = durationMillis == 0 ? startMillis - 1 : startMillis;
+            current.inverseDuration[handle] = 1.0 / Math.max(1, durationMillis);
+            double progress = durationMillis == 0 ? 1 : 0;
+            current.progress[handle] = progress;
+            current.value[handle] = from + (to - from) * easing.apply(progress);
+            active++;
+            return handle;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases a tween so its slot can be reused. Releasing a handle that is not in use does nothing.
+     *
+     * @param handle the tween handle
+     */
+    public void release(int handle) {
+        lock.lock();
+        try {
+            if (handle < 0 || handle >= highWater || slots.clock[handle] == null) return;
+            if (freeCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+            }
+            freeSlots[freeCount++] = handle;
+            slots.clock[handle] = null;
+            active--;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Advances every tween to the current time of its clock.
+     */
+    public void update() {
+        lock.lock();
+        try {
+            Slots current = slots;
+            ScriptClock[] clock = current.clock;
+            long[] now = current.now;
+            for (int i = 0; i < highWater; i++) {
+                if (clock[i] != null) {
+                    now[i] = clock[i].currentTimeMillis();
+                }
+            }
+            sweep(current, highWater);
+            lastSweep = Long.MIN_VALUE;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Advances every tween to the given time, regardless of its clock. Meant for tweens
+     * started at explicit times on one shared time line. Does nothing if already advanced to it.
+     *
+     * @param nowMillis the time in {@link ScriptTime} milliseconds
+     */
+    public void update(long nowMillis) {
+        if (lastSweep == nowMillis) return;
+        lock.lock();
+        try {
+            if (lastSweep == nowMillis) return;
+            Arrays.fill(slots.now, 0, highWater, nowMillis);
+            sweep(slots, highWater);
+            lastSweep = nowMillis;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Advances one tween to the given time of its clock. Does nothing if the tween was
+     * already computed at that time, for example by an {@link #update()} earlier in the tick.
+     *
+     * @param handle the tween handle
+     * @param nowMillis the current time of the tween's clock, in milliseconds
+     */
+    public void sample(int handle, long nowMillis) {
+        if (slots.now[handle] == nowMillis) return;
+        lock.lock();
+        try {
+            Slots s = slots;
+            s.now[handle] = nowMillis;
+            double progress = Math.min(1.0, Math.max(0.0, (nowMillis - s.start[handle]) * s.inverseDuration[handle]));
+            s.progress[handle] = progress;
+            s.value[handle] = s.from[handle] + s.delta[handle] * EASINGS[s.easing[handle]].apply(progress);
+            lastSweep = Long.MIN_VALUE;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the linear progress of a tween as of the latest sweep.
+     *
+     * @param handle the tween handle
+     * @return the progress in [0, 1]
+     */
+    public double progress(int handle) {
+        return slots.progress[handle];
+    }
+
+    /**
+     * Gets the interpolated value of a tween as of the latest sweep.
+     *
+     * @param handle the tween handle
+     * @return the value
+     */
+    public double value(int handle) {
+        return slots.value[handle];
+    }
+
+    /**
+     * Checks if a tween has reached its end value.
+     *
+     * @param handle the tween handle
+     * @return true if finished
+     */
+    public boolean isFinished(int handle) {
+        return slots.progress[handle] >= 1;
+    }
+
+    /**
+     * Gets the number of tweens that have been started and not released.
+     *
+     * @return the active tween count
+     */
+    public int activeCount() {
+        lock.lock();
+        try {
+            return active;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void sweep(Slots s, int count) {
+        long[] now = s.now;
+        long[] start = s.start;
+        double[] inverseDuration = s.inverseDuration;
+        double[] progress = s.progress;
+        double[] eased = s.eased;
+        double[] from = s.from;
+        double[] delta = s.delta;
+        double[] value = s.value;
+        byte[] easing = s.easing;
+        for (int i = 0; i < count; i++) {
+            progress[i] = Math.min(1.0, Math.max(0.0, (now[i] - start[i]) * inverseDuration[i]));
+        }
+        for (int i = 0; i < count; i++) {
+            eased[i] = EASINGS[easing[i]].apply(progress[i]);
+        }
+        for (int i = 0; i < count; i++) {
+            value[i] = from[i] + delta[i] * eased[i];
+        }
+    }
+
+    /**
+     * Tween columns. Replaced as a whole on growth so lock-free readers always see a
+     * consistent, safely published set of arrays.
+     */
+    private static final class Slots {
+        final ScriptClock[] clock;
+        final long[] now;
+        final long[] start;
+        final double[] inverseDuration;
+        final double[] from;
+        final double[] delta;
+        final double[] progress;
+        final double[] eased;
+        final double[] value;
+        final byte[] easing;
+
+        Slots(int capacity) {
+            this(new ScriptClock[capacity], new long[capacity], new long[capacity], new double[capacity], new double[capacity], new double[capacity],
+                    new double[capacity], new double[capacity], new double[capacity], new byte[capacity]);
+        }
+
+        private Slots(ScriptClock[] clock, long[] now, long[] start, double[] inverseDuration, double[] from, double[] delta,
+                      double[] progress, double[] eased, double[] value, byte[] easing) {
+            this.clock = clock;
+            this.now = now;
+            this.start = start;
+            this.inverseDuration = inverseDuration;
+            this.from = from;
+            this.delta = delta;
+            this.progress = progress;
+            this.eased = eased;
+            this.value = value;
+            this.easing = easing;
+        }
+
+        int capacity() {
+            return start.length;
+        }
+
+        Slots grow(int capacity) {
+            return new Slots(Arrays.copyOf(clock, capacity), Arrays.copyOf(now, capacity),
+                    Arrays.copyOf(start, capacity), Arrays.copyOf(inverseDuration, capacity),
+                    Arrays.copyOf(from, capacity), Arrays.copyOf(delta, capacity),
+                    Arrays.copyOf(progress, capacity), Arrays.copyOf(eased, capacity),
+                    Arrays.copyOf(value, capacity), Arrays.copyOf(easing, capacity));
+        }
+    }
+}
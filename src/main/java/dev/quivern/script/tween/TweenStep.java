@@ -0,0 +1,104 @@
+package dev.quivern.script.tween;
+
+import dev.quivern.script.Script;
+import dev.quivern.script.api.IScriptStep;
+import dev.quivern.script.api.ScriptClock;
+import dev.quivern.script.api.ScriptTime;
+
+/**
+ * Interpolates a value over a duration and hands it to an action every tick.
+ * The tween is started on the first update and computed by a shared {@link TweenEngine},
+ * so many tweening scripts cost one batched sweep per tick. Progress follows the performing
+ * script's clock, so the tween pauses with suspended scripts and paused groups and honors
+ * time scaling and skipped time. The action receives the end value with progress 1 on the
+ * last update. The tween is released when it ends, when the step is reset, and when the
+ * performing script finishes or is removed from its manager mid-tween.
+ */
+public class TweenStep implements IScriptStep {
+    private final TweenEngine engine;
+    private final double from;
+    private final double to;
+    private final long duration;
+    private final Easing easing;
+    private final TweenAction action;
+    private ScriptClock clock;
+    private int handle = -1;
+    private boolean finished = false;
+    private boolean watched = false;
+
+    /**
+     * Creates a tween step.
+     *
+     * @param engine the engine computing the tween
+     * @param from the start value
+     * @param to the end value
+     * @param duration the duration in milliseconds
+     * @param easing the easing curve
+     * @param action receives the value and progress every tick
+     * @throws NullPointerException if engine, easing or action is null
+     * @throws IllegalArgumentException if duration is negative
+     */
+    public TweenStep(TweenEngine engine, double from, double to, long duration, Easing easing, TweenAction action) {
+        if (duration < 0) {
+            throw new IllegalArgumentException("Duration cannot be negative");
+        }
+        this.engine = java.util.Objects.requireNonNull(engine, "Engine cannot be null");
+        this.from = from;
+        this.to = to;
+        this.duration = duration;
+        this.easing = java.util.Objects.requireNonNull(easing, "Easing cannot be null");
+        this.action = java.util.Objects.requireNonNull(action, "Action cannot be null");
+    }
+
+    @Override
+    public void perform(ScriptTime time) {
+        if (finished) return;
+        if (time != null) {
+            clock = time.getClock();
+        } else if (clock == null) {
+            clock = ScriptClock.SYSTEM;
+        }
+        if (handle < 0) {
+            watchOwner(time);
+            handle = engine.start(from, to, duration, easing, clock);
+        } else {
+            engine.sample(handle, clock.currentTimeMillis());
+        }
+        double progress = engine.progress(handle);
+        action.apply(engine.value(handle), progress);
+        if (progress >= 1) {
+            finished = true;
+            releaseTween();
+        }
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public void reset() {
+        releaseTween();
+        finished = false;
+    }
+
+    private void watchOwner(ScriptTime time) {
+        // Registered before the tween starts, so a script that is already done cannot release it
+        Script owner = Script.of(time);
+        if (owner == null || watched) return;
+        watched = true;
+        owner.whenDone(() -> {
+            watched = false;
+            releaseTween();
+        });
+    }
+
+    private void releaseTween() {
+        int current = handle;
+        if (current >= 0) {
+            handle = -1;
+            engine.release(current);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package dev.quivern.script;
+
+import dev.quivern.script.api.CountedAction;
+import dev.quivern.script.api.ScriptAction;
+import dev.quivern.script.api.ScriptClock;
+import dev.quivern.script.api.ScriptTime;
+import dev.quivern.script.steps.DelayedStep;
+import dev.quivern.script.steps.DelayedTickStep;
+import dev.quivern.script.steps.TimedStep;
+import dev.quivern.script.steps.TimedTickStep;
+import dev.quivern.script.steps.advanced.TimeoutStep;
+import dev.quivern.script.strategy.SingleRunStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+import org.openjdk.jol.vm.VM;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Per-instance byte budgets of scripts and core steps, measured with JOL.
+ * Budgets assume the default 64-bit layout with compressed oops and class pointers.
+ */
+class FootprintTest {
+    private static final ScriptAction NOOP = () -> {
+    };
+    private static final CountedAction COUNTED_NOOP = count -> {
+    };
+    /**
+     * Stands in for the empty array that step lists share until their first step is added.
+     */
+    private static final Object[] EMPTY_STEPS = new Object[0];
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(VM.current().objectHeaderSize() == 12 && VM.current().sizeOfField("oop") == 4,
+                "Budgets assume compressed oops and class pointers");
+    }
+
+    @Test
+    void testStepBudgets() {
+        assertBudget(24, new DelayedStep(100, NOOP));
+        assertBudget(24, new DelayedTickStep(5, NOOP));
+        assertBudget(24, new TimedTickStep(5, COUNTED_NOOP));
+        assertBudget(32, new TimeoutStep(new DelayedTickStep(5, NOOP), 100));
+        assertBudget(40, new TimedStep(100, NOOP));
+    }
+
+    @Test
+    void testStartedStepsOwnNoTimers() {
+        ScriptTime time = new ScriptTime();
+        TimedStep timed = new TimedStep(100, NOOP);
+        timed.perform(time);
+        DelayedTickStep delayed = new DelayedTickStep(1, NOOP);
+        delayed.perform(time);
+        assertTrue(delayed.isFinished());
+
+        assertEquals(VM.current().sizeOf(timed), ownedSize(timed, NOOP, time.getClock()));
+        assertEquals(VM.current().sizeOf(delayed), ownedSize(delayed, NOOP));
+    }
+
+    /**
+     * An empty script owns its header, clock, time tracker and step list. Before the step
+     * redesign it took 112 bytes; the 56 bytes on top are the suspendable clock and the fields
+     * of group membership, mailboxes, parking, ownership checks and effect ordering.
+     */
+    @Test
+    void testScriptBudget() {
+        long empty = ownedSize(new Script(), ScriptClock.SYSTEM, SingleRunStrategy.INSTANCE, EMPTY_STEPS);
+        assertTrue(empty <= 168, "Empty script takes " + empty + " bytes");
+
+        Script script = new Script()
+                .addStep(new DelayedTickStep(5, NOOP))
+                .addStep(new DelayedStep(100, NOOP))
+                .addStep(new TimedTickStep(5, COUNTED_NOOP));
+        long size = ownedSize(script, ScriptClock.SYSTEM, SingleRunStrategy.INSTANCE, NOOP, COUNTED_NOOP);
+        assertTrue(size <= 272, "Script with three steps takes " + size + " bytes");
+    }
+
+    private static void assertBudget(long budget, Object step) {
+        long size = VM.current().sizeOf(step);
+        assertTrue(size <= budget, step.getClass().getSimpleName() + " takes " + size + " bytes, budget " + budget);
+    }
+
+    /**
+     * Gets the deep size of an object without the shared objects it references.
+     */
+    private static long ownedSize(Object root, Object... shared) {
+        long size = GraphLayout.parseInstance(root).totalSize();
+        for (Object object : shared) {
+            size -= VM.current().sizeOf(object);
+        }
+        return size;
+    }
+}
@@ -0,0 +1,126 @@
+package dev.quivern.script;
+
+import dev.quivern.script.steps.advanced.ReceiveMatchingStep;
+import dev.quivern.script.steps.advanced.ReceiveStep;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MailboxTest {
+
+    private ScriptManager manager;
+
+    @BeforeEach
+    void setUp() {
+        manager = new ScriptManager();
+    }
+
+    @Test
+    void testReceiveParksUntilMessageArrives() {
+        List<Object> received = new ArrayList<>();
+        Script npc = new Script().addStep(new ReceiveStep(received::add));
+        manager.addScript("npc", npc);
+        manager.openMailbox("npc", 16);
+
+        manager.updateAll();
+        assertTrue(npc.isParked());
+        manager.updateAll();
+        assertTrue(received.isEmpty());
+
+        assertTrue(manager.send("npc", "hello"));
+        assertFalse(npc.isParked());
+        manager.updateAll();
+        assertEquals(List.of("hello"), received);
+        assertTrue(npc.isFinished());
+        assertFalse(manager.send("missing", "hello"));
+    }
+
+    @Test
+    void testSelectiveReceiveKeepsOtherMessages() {
+        List<Object> received = new ArrayList<>();
+        manager.addScript("npc", new Script()
+                .addStep(new ReceiveMatchingStep<>(Integer.class, n -> n > 1, received::add))
+                .addStep(new ReceiveStep(received::add))
+                .addStep(new ReceiveStep(received::add)));
+        Mailbox mailbox = manager.openMailbox("npc", 4);
+        assertSame(mailbox, manager.openMailbox("npc", 64));
+
+        mailbox.send("a");
+        mailbox.send(1);
+        mailbox.send(2);
+        mailbox.send("b");
+        assertFalse(mailbox.send("overflow"));
+        assertEquals(1, mailbox.getRejected());
+
+        for (int i = 0; i < 3; i++) {
+            manager.updateAll();
+        }
+        assertEquals(List.of(2, "a", 1), received);
+        assertEquals(1, mailbox.size());
+    }
+
+    @Test
+    void testSkippedMessagesCountTowardCapacity() {
+        List<Object> received = new ArrayList<>();
+        manager.addScript("npc", new Script()
+                .addStep(new ReceiveMatchingStep<>(Integer.class, n -> true, received::add)));
+        Mailbox mailbox = manager.openMailbox("npc", 4);
+
+        int accepted = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (mailbox.send("noise-" + i)) {
+                accepted++;
+            }
+            manager.updateAll();
+        }
+        assertEquals(4, accepted);
+        assertEquals(4, mailbox.size());
+        assertEquals(100_000 - 4, mailbox.getRejected());
+        assertFalse(mailbox.send(7));
+
+        assertEquals("noise-0", mailbox.poll());
+        assertTrue(mailbox.send(7));
+        manager.updateAll();
+        assertEquals(List.of(7), received);
+    }
+
+    @Test
+    void testConcurrentProducersKeepPerSenderOrder() throws InterruptedException {
+        manager.addScript("sink", new Script());
+        Mailbox mailbox = manager.openMailbox("sink", 256);
+        int producers = 4;
+        int perProducer = 20_000;
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!mailbox.send(new int[]{producer, i})) {
+                        Thread.onSpinWait();
+                    }
+                }
+            }));
+        }
+
+        int[] next = new int[producers];
+        int received = 0;
+        while (received < producers * perProducer) {
+            Object message = mailbox.poll();
+            if (message == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            int[] pair = (int[]) message;
+            assertEquals(next[pair[0]]++, pair[1]);
+            received++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(mailbox.poll());
+    }
+}
@@ -0,0 +1,122 @@
+package dev.quivern.script;
+
+import dev.quivern.script.api.IScriptStep;
+import dev.quivern.script.steps.TimedTickStep;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScriptGroupTest {
+
+    private ScriptManager manager;
+
+    @BeforeEach
+    void setUp() {
+        manager = new ScriptManager();
+    }
+
+    @Test
+    void testPausedSubtreeIsSkipped() {
+        ScriptGroup zone = manager.createGroup("zone");
+        ScriptGroup room = manager.createGroup("room", zone);
+        AtomicInteger zoneTicks = new AtomicInteger(0);
+        AtomicInteger roomTicks = new AtomicInteger(0);
+        AtomicInteger freeTicks = new AtomicInteger(0);
+        manager.addScript("z", counter(zoneTicks), zone);
+        manager.addScript("r", counter(roomTicks), room);
+        manager.addScript("f", counter(freeTicks));
+
+        manager.updateAll();
+        zone.pause();
+        assertTrue(room.isEffectivelyPaused());
+        assertFalse(room.isPaused());
+        manager.updateAll();
+        manager.updateAll(ForkJoinPool.commonPool());
+
+        assertEquals(1, zoneTicks.get());
+        assertEquals(1, roomTicks.get());
+        assertEquals(3, freeTicks.get());
+        assertEquals(IScriptStep.WAKE_ON_SIGNAL, manager.getScript("r").get().nextWakeUp());
+
+        zone.resume();
+        manager.updateAll();
+        assertEquals(2, roomTicks.get());
+    }
+
+    @Test
+    void testPauseFreezesGroupTime() throws InterruptedException {
+        ScriptGroup group = manager.createGroup("cutscene");
+        Script script = new Script().waitDelayedStep(60);
+        manager.addScript("wait", script, group);
+        manager.updateAll();
+
+        group.pause();
+        long frozen = group.currentTimeMillis();
+        Thread.sleep(100);
+        assertEquals(frozen, group.currentTimeMillis());
+        group.resume();
+        manager.updateAll();
+        assertFalse(script.isFinished());
+
+        Thread.sleep(80);
+        manager.updateAll();
+        assertTrue(script.isFinished());
+    }
+
+    @Test
+    void testTimeScaleCompoundsThroughTree() throws InterruptedException {
+        ScriptGroup outer = manager.createGroup("outer");
+        ScriptGroup inner = manager.createGroup("inner", outer);
+        outer.setTimeScale(2);
+        inner.setTimeScale(2);
+
+        long innerStart = inner.currentTimeMillis();
+        long wallStart = System.currentTimeMillis();
+        Thread.sleep(50);
+        long innerElapsed = inner.currentTimeMillis() - innerStart;
+        long wallElapsed = System.currentTimeMillis() - wallStart;
+        assertTrue(innerElapsed >= 4 * (wallElapsed - 2) && innerElapsed <= 4 * (wallElapsed + 2),
+                "Inner " + innerElapsed + "ms for " + wallElapsed + "ms");
+
+        long target = inner.currentTimeMillis() + 400;
+        long wakeUp = inner.toSystemTime(target);
+        assertTrue(Math.abs(wakeUp - (System.currentTimeMillis() + 100)) <= 2, "Wake-up " + wakeUp);
+
+        inner.setTimeScale(0);
+        assertEquals(IScriptStep.WAKE_ON_SIGNAL, inner.toSystemTime(target));
+        assertThrows(IllegalArgumentException.class, () -> inner.setTimeScale(-1));
+        assertThrows(IllegalArgumentException.class, () -> inner.setTimeScale(Double.NaN));
+    }
+
+    @Test
+    void testMoveBetweenGroups() {
+        ScriptGroup a = manager.createGroup("a");
+        ScriptGroup b = manager.createGroup("b");
+        AtomicInteger ticks = new AtomicInteger(0);
+        manager.addScript("s", counter(ticks), a);
+        assertEquals(1, a.size());
+
+        manager.setGroup("s", b);
+        assertEquals(0, a.size());
+        assertEquals(1, b.size());
+        assertSame(b, manager.getScript("s").get().getGroup());
+        b.pause();
+        manager.updateAll();
+        assertEquals(0, ticks.get());
+
+        manager.removeScript("s");
+        assertEquals(0, b.size());
+        assertThrows(IllegalArgumentException.class, () -> manager.createGroup("a"));
+        assertThrows(IllegalArgumentException.class, () -> manager.setGroup("missing", a));
+        ScriptGroup foreign = new ScriptManager().createGroup("x");
+        assertThrows(IllegalArgumentException.class, () -> manager.addScript("t", new Script(), foreign));
+    }
+
+    private static Script counter(AtomicInteger ticks) {
+        return new Script().addStep(new TimedTickStep(100, ticks::incrementAndGet));
+    }
+}
@@ -1,9 +1,20 @@
 package dev.quivern.script;
 
+import dev.quivern.script.api.IScriptStep;
+import dev.quivern.script.event.ScriptEvent;
+import dev.quivern.script.steps.TimedTickStep;
 import dev.quivern.script.steps.advanced.CallbackStep;
+import dev.quivern.script.steps.advanced.ConcurrentParallelStep;
+import dev.quivern.script.steps.advanced.ForkStep;
+import dev.quivern.script.steps.advanced.JoinStep;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -131,5 +142,467 @@ class ScriptManagerTest {
         assertTrue(names.contains("s1"));
         assertTrue(names.contains("s2"));
     }
-}
 
+    @Test
+    void testParallelUpdateAllUpdatesEachScriptOnce() {
+        AtomicInteger counter = new AtomicInteger(0);
+        for (int i = 0; i < 1000; i++) {
+            manager.addScript("s" + i, new Script().addStep(new CallbackStep(counter::incrementAndGet)));
+        }
+        manager.setOwnershipChecks(true);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            manager.updateAll(pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(1000, counter.get());
+        assertTrue(manager.getAllScripts().values().stream().allMatch(Script::isFinished));
+        assertEquals(1, manager.getTickStats().count());
+    }
+
+    @Test
+    void testParallelUpdateAllTracksScriptCost() {
+        Script heavy = new Script().addStep(new TimedTickStep(10, () -> {
+            long end = System.nanoTime() + 200_000;
+            while (System.nanoTime() < end) {
+                Thread.onSpinWait();
+            }
+        }));
+        manager.addScript("heavy", heavy);
+        for (int i = 0; i < 100; i++) {
+            manager.addScript("idle" + i, new Script().waitTickStep(10));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            manager.updateAll(pool);
+            assertEquals(0, heavy.costEstimate(), "Cost was measured without cost balancing");
+            manager.setCostBalancing(true);
+            for (int i = 0; i < 5; i++) {
+                manager.updateAll(pool);
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        long idleCost = manager.getAllScripts().get("idle0").costEstimate();
+        assertTrue(heavy.costEstimate() > idleCost);
+        assertTrue(heavy.costEstimate() >= 100_000, "Heavy estimate was " + heavy.costEstimate());
+    }
+
+    @Test
+    void testFinishedDoesNotCreateScript() {
+        assertFalse(manager.finished("missing"));
+        assertFalse(manager.containsScript("missing"));
+        assertEquals(ScriptStatus.ABSENT, manager.status("missing"));
+        assertEquals(ScriptStatus.ABSENT, manager.status("  "));
+        assertTrue(manager.getAllScriptNames().isEmpty());
+    }
+
+    @Test
+    void testStatusQueries() {
+        manager.addScript("running", new Script().waitTickStep(5));
+        manager.addScript("done", new Script().addStep(new CallbackStep(() -> {})));
+        Script interrupted = new Script().waitTickStep(5);
+        interrupted.setInterrupt(true);
+        manager.addScript("interrupted", interrupted);
+        manager.updateAll();
+
+        assertEquals(ScriptStatus.RUNNING, manager.status("running"));
+        assertEquals(ScriptStatus.FINISHED, manager.status("done"));
+        assertEquals(ScriptStatus.INTERRUPTED, manager.status("interrupted"));
+        assertEquals(1, manager.countFinished());
+        assertEquals(1, manager.countActive());
+
+        manager.suspend("done");
+        assertEquals(ScriptStatus.SUSPENDED, manager.status("done"));
+        assertEquals(0, manager.countFinished(), "Suspended script counted as finished");
+        manager.resume("done");
+
+        String[] names = {"running", "missing", "done", "interrupted"};
+        byte[] into = new byte[names.length];
+        assertEquals(3, manager.statusAll(names, into));
+        assertEquals(ScriptStatus.RUNNING, ScriptStatus.fromCode(into[0]));
+        assertEquals(ScriptStatus.ABSENT, ScriptStatus.fromCode(into[1]));
+        assertEquals(ScriptStatus.FINISHED, ScriptStatus.fromCode(into[2]));
+        assertEquals(ScriptStatus.INTERRUPTED, ScriptStatus.fromCode(into[3]));
+        assertFalse(manager.containsScript("missing"));
+        assertThrows(IllegalArgumentException.class, () -> manager.statusAll(names, new byte[1]));
+    }
+
+    @Test
+    void testBulkSpawnAppliedAtTickBoundary() {
+        AtomicInteger ran = new AtomicInteger(0);
+        manager.spawnAll(() -> new Script().addStep(new CallbackStep(ran::incrementAndGet)), 100, i -> "wave-" + i);
+
+        assertTrue(manager.hasPendingChanges());
+        assertFalse(manager.containsScript("wave-0"));
+
+        manager.updateAll();
+        assertFalse(manager.hasPendingChanges());
+        assertEquals(100, manager.getAllScriptNames().size());
+        assertEquals(100, ran.get());
+        assertEquals("wave-99", manager.getScript("wave-99").get().getName());
+    }
+
+    @Test
+    void testLargeSpawnRunsInParallel() {
+        manager.spawnAll(() -> new Script().waitTickStep(1), 10_000, i -> "s" + i);
+        manager.flushPending();
+        assertEquals(10_000, manager.getAllScriptNames().size());
+
+        manager.removeIf(script -> script.getName().endsWith("0"));
+        manager.flushPending();
+        assertEquals(9_000, manager.getAllScriptNames().size());
+        assertFalse(manager.containsScript("s10"));
+    }
+
+    @Test
+    void testBulkAddAndRemoveApplyInOrder() {
+        Script replaced = new Script();
+        manager.addScript("a", replaced);
+        manager.addAll(Map.of("a", new Script(), "b", new Script(), "c", new Script()));
+        manager.removeAll(List.of("b", "missing"));
+        assertEquals(1, manager.getAllScriptNames().size());
+
+        manager.flushPending();
+        assertEquals(Set.of("a", "c"), manager.getAllScriptNames());
+        assertNotSame(replaced, manager.getScript("a").get());
+        assertNull(replaced.getName());
+
+        assertThrows(IllegalArgumentException.class, () -> manager.spawnAll(Script::new, 2, i -> "same"));
+        assertThrows(IllegalArgumentException.class, () -> manager.spawnAll(Script::new, -1, i -> "x" + i));
+    }
+
+    @Test
+    void testSuspendedScriptsAreParked() {
+        AtomicInteger ticks = new AtomicInteger(0);
+        manager.addScript("npc", new Script().addStep(new TimedTickStep(10, ticks::incrementAndGet)));
+        manager.updateAll();
+
+        assertTrue(manager.suspend("npc"));
+        assertFalse(manager.suspend("missing"));
+        assertEquals(ScriptStatus.SUSPENDED, manager.status("npc"));
+        assertEquals(1, manager.countSuspended());
+        assertEquals(0, manager.countActive());
+        manager.updateAll();
+        manager.updateAll(ForkJoinPool.commonPool());
+        assertEquals(1, ticks.get());
+
+        assertTrue(manager.resume("npc"));
+        assertEquals(0, manager.countSuspended());
+        manager.updateAll();
+        assertEquals(2, ticks.get());
+
+        manager.suspend("npc");
+        manager.removeScript("npc");
+        assertEquals(0, manager.countSuspended());
+    }
+
+    @Test
+    void testUserListenerRunsBehindManagerBookkeeping() {
+        AtomicInteger ticks = new AtomicInteger(0);
+        List<ScriptEvent.Type> seen = new ArrayList<>();
+        Script script = new Script().addStep(new TimedTickStep(10, ticks::incrementAndGet));
+        manager.addScript("npc", script);
+        script.setUserListener((s, type, stepIndex) -> seen.add(type));
+        manager.updateAll();
+
+        script.suspend();
+        assertEquals(ScriptStatus.SUSPENDED, manager.status("npc"));
+        manager.updateAll();
+        assertEquals(1, ticks.get());
+
+        script.resume();
+        manager.updateAll();
+        assertEquals(2, ticks.get());
+        assertEquals(List.of(ScriptEvent.Type.STARTED, ScriptEvent.Type.SUSPENDED, ScriptEvent.Type.RESUMED), seen);
+    }
+
+    @Test
+    void testUnparkedScriptsRejoinOnNextTick() {
+        AtomicInteger ticks = new AtomicInteger(0);
+        List<Script> sleepers = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            Script sleeper = new Script().addStep(new TimedTickStep(10, ticks::incrementAndGet));
+            manager.addScript("sleeper-" + i, sleeper);
+            sleepers.add(sleeper);
+            manager.addScript("bystander-" + i, new Script().waitTickStep(10));
+        }
+        manager.updateAll();
+        sleepers.forEach(Script::park);
+        manager.addScript("waker", new Script().addStep(new CallbackStep(() -> sleepers.forEach(Script::unpark))));
+
+        manager.updateAll();
+        assertEquals(64, ticks.get(), "Unparked scripts ran in the tick that woke them");
+        manager.updateAll();
+        assertEquals(128, ticks.get());
+    }
+
+    @Test
+    void testWatchdogIsolatesAndQuarantinesFailures() {
+        AtomicInteger healthy = new AtomicInteger(0);
+        manager.setWatchdog(new ScriptWatchdog().setMaxStrikes(2));
+        manager.addScript("broken", new Script().addStep(new CallbackStep(() -> {
+            throw new IllegalStateException("boom");
+        })));
+        manager.addScript("healthy", new Script().addStep(new TimedTickStep(10, healthy::incrementAndGet)));
+
+        manager.updateAll();
+        manager.updateAll(ForkJoinPool.commonPool());
+        manager.updateAll();
+        assertEquals(3, healthy.get());
+        assertEquals(2, manager.getWatchdog().getFailures());
+
+        QuarantineReport report = manager.getWatchdog().getReport("broken").orElseThrow();
+        assertEquals(QuarantineReport.Reason.FAILURE, report.reason());
+        assertEquals(2, report.strikes());
+        assertTrue(report.stackTrace().contains("boom"));
+        assertEquals(ScriptStatus.SUSPENDED, manager.status("broken"));
+
+        assertTrue(manager.release("broken"));
+        assertFalse(manager.release("broken"));
+        assertFalse(manager.getWatchdog().isQuarantined("broken"));
+        assertEquals(0, manager.countSuspended());
+    }
+
+    @Test
+    void testWatchdogCountsConsecutiveStrikesOnly() {
+        AtomicInteger runs = new AtomicInteger(0);
+        manager.setWatchdog(new ScriptWatchdog().setMaxStrikes(2));
+        manager.addScript("flaky", new Script().addStep(new TimedTickStep(100, () -> {
+            if (runs.incrementAndGet() % 2 == 0) {
+                throw new IllegalStateException("every other tick");
+            }
+        })));
+
+        for (int i = 0; i < 20; i++) {
+            manager.updateAll();
+        }
+        assertEquals(10, manager.getWatchdog().getFailures());
+        assertFalse(manager.getWatchdog().isQuarantined("flaky"));
+        assertEquals(ScriptStatus.RUNNING, manager.status("flaky"));
+    }
+
+    @Test
+    void testResumeClearsQuarantine() {
+        manager.setWatchdog(new ScriptWatchdog().setMaxStrikes(1));
+        manager.addScript("broken", new Script().addStep(new CallbackStep(() -> {
+            throw new IllegalStateException("boom");
+        })));
+
+        manager.updateAll();
+        assertTrue(manager.getWatchdog().isQuarantined("broken"));
+
+        assertTrue(manager.resume("broken"));
+        assertFalse(manager.getWatchdog().isQuarantined("broken"));
+        assertEquals(0, manager.getWatchdog().quarantinedCount());
+        assertEquals(0, manager.countSuspended());
+        assertFalse(manager.release("broken"));
+    }
+
+    @Test
+    void testWatchdogQuarantinesSlowScripts() {
+        manager.setWatchdog(new ScriptWatchdog().setBudgetNanos(1_000_000).setMaxStrikes(1));
+        manager.addScript("slow", new Script().addStep(new TimedTickStep(10, () -> {
+            long end = System.nanoTime() + 3_000_000;
+            while (System.nanoTime() < end) {
+                Thread.onSpinWait();
+            }
+        })));
+
+        manager.updateAll();
+        assertEquals(1, manager.getWatchdog().getOverruns());
+        assertEquals(QuarantineReport.Reason.OVERRUN, manager.getWatchdog().getReports().get(0).reason());
+        assertEquals(1, manager.countSuspended());
+
+        manager.removeScript("slow");
+        assertEquals(0, manager.getWatchdog().quarantinedCount());
+    }
+
+    @Test
+    void testJoinParksParentUntilChildrenFinish() {
+        AtomicInteger joined = new AtomicInteger(0);
+        ForkStep fork = new ForkStep(manager, 3, i -> "child-" + i, i -> new Script().waitTickStep(3 + i));
+        Script parent = new Script()
+                .addStep(fork)
+                .addStep(JoinStep.all(fork))
+                .addStep(new CallbackStep(joined::incrementAndGet));
+        manager.addScript("parent", parent);
+
+        manager.updateAll();
+        assertEquals(3, fork.size());
+        assertTrue(manager.containsScript("child-2"));
+        manager.updateAll();
+        assertTrue(parent.isParked());
+        assertEquals(ScriptStatus.RUNNING, manager.status("parent"));
+        assertEquals(0, manager.countSuspended());
+
+        for (int i = 0; i < 10 && joined.get() == 0; i++) {
+            manager.updateAll();
+        }
+        assertEquals(1, joined.get());
+        assertEquals(3, fork.completedCount());
+        assertTrue(parent.isFinished());
+    }
+
+    @Test
+    void testForkedChildrenEndWithParent() {
+        ForkStep fork = new ForkStep(manager, 2, i -> "worker-" + i, i -> new Script().waitTickStep(i == 0 ? 1 : 1000));
+        manager.addScript("parent", new Script()
+                .addStep(fork)
+                .addStep(JoinStep.any(fork)));
+
+        for (int i = 0; i < 5; i++) {
+            manager.updateAll();
+        }
+        assertTrue(manager.finished("parent"));
+        assertEquals(1, fork.completedCount());
+        assertFalse(manager.containsScript("worker-1"), "Running child outlived its parent");
+
+        ForkStep orphaned = new ForkStep(manager, "orphan", () -> new Script().waitTickStep(1000));
+        manager.addScript("owner", new Script().addStep(orphaned).addStep(JoinStep.all(orphaned)));
+        manager.updateAll();
+        assertTrue(manager.containsScript("orphan"));
+        manager.removeScript("owner");
+        assertFalse(manager.containsScript("orphan"));
+    }
+
+    @Test
+    void testBufferedEffectsApplyInAddOrderAfterParallelPhase() {
+        List<String> applied = new ArrayList<>();
+        AtomicInteger performed = new AtomicInteger();
+        List<Integer> performedAtApply = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String name = "s" + i;
+            manager.addScript(name, new Script().addStep(new CallbackStep(() -> {
+                assertTrue(EffectBuffer.isBuffering());
+                performed.incrementAndGet();
+                EffectBuffer.defer(() -> {
+                    applied.add(name + ":a");
+                    performedAtApply.add(performed.get());
+                });
+                EffectBuffer.defer(() -> applied.add(name + ":b"));
+            })));
+        }
+        manager.setEffectBuffering(true);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            manager.updateAll(pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            expected.add("s" + i + ":a");
+            expected.add("s" + i + ":b");
+        }
+        assertEquals(expected, applied);
+        assertTrue(performedAtApply.stream().allMatch(count -> count == 200));
+    }
+
+    @Test
+    void testSpawnedEffectsApplyInSpawnOrder() {
+        for (int count : new int[]{200, 5000}) {
+            ScriptManager spawner = new ScriptManager();
+            List<Integer> applied = new ArrayList<>();
+            spawner.setEffectBuffering(true);
+            spawner.spawnAll(() -> {
+                Script script = new Script();
+                return script.addStep(new CallbackStep(() -> {
+                    int index = Integer.parseInt(script.getName().substring("spawn-".length()));
+                    EffectBuffer.defer(() -> applied.add(index));
+                }));
+            }, count, i -> "spawn-" + i);
+            spawner.flushPending();
+
+            ForkJoinPool pool = new ForkJoinPool(4);
+            try {
+                spawner.updateAll(pool);
+            } finally {
+                pool.shutdown();
+            }
+
+            List<Integer> sorted = new ArrayList<>(applied);
+            sorted.sort(null);
+            assertEquals(count, applied.size());
+            assertEquals(sorted, applied, "Effects of " + count + " spawned scripts out of order");
+        }
+    }
+
+    @Test
+    void testConcurrentChildrenDeferIntoTheUpdatesBuffer() {
+        List<String> applied = new ArrayList<>();
+        AtomicInteger immediate = new AtomicInteger();
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            List<IScriptStep> children = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                String child = "child" + i;
+                children.add(new TimedTickStep(2, () -> {
+                    if (!EffectBuffer.isBuffering()) {
+                        immediate.incrementAndGet();
+                    }
+                    EffectBuffer.defer(() -> applied.add(child));
+                }));
+            }
+            manager.setEffectBuffering(true);
+            manager.addScript("fan", new Script().addStep(new ConcurrentParallelStep(children, pool, 0)));
+            manager.addScript("after", new Script().addStep(new CallbackStep(() -> EffectBuffer.defer(() -> applied.add("after")))));
+
+            manager.updateAll();
+            assertEquals(0, immediate.get(), "Forked children ran their effects outside the buffer");
+            assertEquals(List.of("child0", "child1", "child2", "after"), applied);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testDeferRunsImmediatelyWithoutBuffering() {
+        List<String> applied = new ArrayList<>();
+        EffectBuffer.deferred(() -> applied.add("effect")).perform();
+        assertEquals(List.of("effect"), applied);
+        assertFalse(EffectBuffer.isBuffering());
+
+        manager.setEffectBuffering(true);
+        manager.addScript("buffered", new Script().addStep(new CallbackStep(() -> {
+            EffectBuffer.defer(() -> applied.add("buffered"));
+            applied.add("inline");
+        })));
+        manager.updateAll();
+        assertEquals(List.of("effect", "inline", "buffered"), applied);
+    }
+
+    @Test
+    void testOwnershipChecksCatchUserUpdateDuringTick() {
+        AtomicInteger failures = new AtomicInteger();
+        Script script = new Script();
+        script.addStep(new CallbackStep(() -> {
+            Thread user = new Thread(() -> {
+                try {
+                    script.update();
+                } catch (java.util.ConcurrentModificationException e) {
+                    failures.incrementAndGet();
+                }
+            });
+            user.start();
+            try {
+                user.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        manager.addScript("shared", script);
+        manager.setOwnershipChecks(true);
+
+        manager.updateAll();
+        assertEquals(1, failures.get());
+        assertTrue(script.isFinished());
+    }
+}
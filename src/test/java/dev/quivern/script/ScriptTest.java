@@ -1,13 +1,24 @@
 package dev.quivern.script;
 
 import dev.quivern.script.api.IScriptStep;
+import dev.quivern.script.api.ScriptTime;
 import dev.quivern.script.steps.DelayedStep;
+import dev.quivern.script.steps.DelayedTickStep;
+import dev.quivern.script.steps.TimedStep;
+import dev.quivern.script.steps.TimedTickStep;
 import dev.quivern.script.steps.advanced.CallbackStep;
+import dev.quivern.script.steps.advanced.RepeatStep;
 import dev.quivern.script.strategy.FiniteLoopStrategy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -120,5 +131,182 @@ class ScriptTest {
 
         assertFalse(script.isFinished());
     }
-}
 
+    @Test
+    void testConcurrentExclusiveUpdateDetected() throws InterruptedException {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        script.setOwnershipChecks(true);
+        script.addStep(new CallbackStep(() -> {
+            Thread other = new Thread(() -> {
+                try {
+                    script.update();
+                } catch (Throwable t) {
+                    failure.set(t);
+                }
+            });
+            other.start();
+            try {
+                other.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+
+        script.update();
+
+        assertInstanceOf(ConcurrentModificationException.class, failure.get());
+        assertTrue(script.isFinished());
+    }
+
+    @Test
+    void testNextWakeUp() {
+        Script script = new Script().waitDelayedStep(500).waitTickStep(1);
+        assertEquals(IScriptStep.WAKE_EVERY_TICK, script.nextWakeUp());
+
+        script.update();
+        long wakeUp = script.nextWakeUp();
+        assertTrue(wakeUp > ScriptTime.now() + 400 && wakeUp <= ScriptTime.now() + 500, "Wake-up " + wakeUp);
+
+        script.setInterrupt(true);
+        assertEquals(IScriptStep.WAKE_ON_SIGNAL, script.nextWakeUp());
+        assertEquals(IScriptStep.WAKE_ON_SIGNAL, new Script().nextWakeUp());
+    }
+
+    @Test
+    void testSuspendFreezesAllTimers() throws InterruptedException {
+        AtomicInteger timedRuns = new AtomicInteger(0);
+        Script script = new Script()
+                .addStep(new TimedStep(60, timedRuns::incrementAndGet))
+                .waitDelayedStep(60);
+        script.update();
+        script.suspend();
+        assertTrue(script.isSuspended());
+        assertEquals(IScriptStep.WAKE_ON_SIGNAL, script.nextWakeUp());
+
+        Thread.sleep(100);
+        script.update();
+        assertEquals(1, timedRuns.get());
+        script.resume();
+        script.update();
+        assertEquals(0, script.getCurrentStepIndex(), "Timed step expired while suspended");
+
+        while (script.getCurrentStepIndex() == 0) {
+            script.update();
+        }
+        script.suspend();
+        Thread.sleep(100);
+        script.resume();
+        script.update();
+        assertFalse(script.isFinished(), "Delay expired while suspended");
+    }
+
+    @Test
+    void testAdvanceMatchesUpdates() {
+        for (int ticks = 0; ticks <= 40; ticks++) {
+            AtomicInteger stepped = new AtomicInteger(0);
+            AtomicInteger skipped = new AtomicInteger(0);
+            Script updated = advanceFixture(stepped);
+            Script advanced = advanceFixture(skipped);
+            for (int i = 0; i < ticks; i++) {
+                updated.update();
+            }
+            advanced.advance(ticks);
+            assertEquals(stepped.get(), skipped.get(), "Actions after " + ticks + " ticks");
+            assertEquals(updated.getCurrentStepIndex(), advanced.getCurrentStepIndex(), "Step after " + ticks + " ticks");
+            assertEquals(updated.isFinished(), advanced.isFinished(), "Finished after " + ticks + " ticks");
+        }
+    }
+
+    @Test
+    void testAdvanceSkipsTickStepsAtOnce() {
+        AtomicInteger calls = new AtomicInteger(0);
+        AtomicInteger total = new AtomicInteger(0);
+        script.waitTickStep(1_000_000)
+                .addStep(new TimedTickStep(1_000_000, count -> {
+                    calls.incrementAndGet();
+                    total.addAndGet(count);
+                }));
+
+        assertEquals(1_500_000, script.advance(1_500_000));
+        assertEquals(1, script.getCurrentStepIndex());
+        assertEquals(500_000, total.get());
+        assertEquals(1, calls.get());
+
+        assertEquals(500_000, script.advance(Long.MAX_VALUE));
+        assertTrue(script.isFinished());
+        assertEquals(1_000_000, total.get());
+    }
+
+    @Test
+    void testAdvanceSkipsWholeLoopsLikeUpdates() {
+        for (int ticks = 0; ticks <= 60; ticks++) {
+            List<String> stepped = new ArrayList<>();
+            List<String> skipped = new ArrayList<>();
+            AtomicInteger steppedLoops = new AtomicInteger(0);
+            AtomicInteger skippedLoops = new AtomicInteger(0);
+            Script updated = fixedLoopFixture(stepped);
+            Script advanced = fixedLoopFixture(skipped);
+            for (int i = 0; i < ticks; i++) {
+                updated.update();
+            }
+            advanced.advance(ticks);
+            assertEquals(stepped, skipped, "Effects after " + ticks + " ticks");
+            assertEquals(updated.getLoopStrategy().currentLoop(), advanced.getLoopStrategy().currentLoop(),
+                    "Loop after " + ticks + " ticks");
+            assertEquals(updated.getCurrentStepIndex(), advanced.getCurrentStepIndex(), "Step after " + ticks + " ticks");
+            assertEquals(updated.isFinished(), advanced.isFinished(), "Finished after " + ticks + " ticks");
+        }
+    }
+
+    @Test
+    void testAdvanceSkipsFiniteLoopsInBulk() {
+        AtomicInteger calls = new AtomicInteger(0);
+        AtomicLong total = new AtomicLong(0);
+        script.addStep(new TimedTickStep(10, count -> {
+                    calls.incrementAndGet();
+                    total.addAndGet(count);
+                }))
+                .setLoopStrategy(new FiniteLoopStrategy(100_000_000));
+
+        assertEquals(999_999_995, script.advance(999_999_995));
+        assertEquals(100_000_000, script.getLoopStrategy().currentLoop());
+        assertEquals(999_999_995, total.get());
+        assertTrue(calls.get() < 10, "Loops were skipped one by one");
+
+        assertEquals(5, script.advance(Long.MAX_VALUE));
+        assertTrue(script.isFinished());
+        assertEquals(1_000_000_000, total.get());
+    }
+
+    @Test
+    void testAdvanceTimeCompletesDelayChain() {
+        AtomicInteger fired = new AtomicInteger(0);
+        script.addStep(new DelayedStep(60_000, fired::incrementAndGet))
+                .addStep(new DelayedStep(30_000, fired::incrementAndGet))
+                .addStep(new DelayedStep(60_000, fired::incrementAndGet));
+
+        script.advanceTime(100_000);
+        assertEquals(2, fired.get());
+        assertEquals(2, script.getCurrentStepIndex());
+
+        script.advanceTime(60_000);
+        assertTrue(script.isFinished());
+        assertEquals(3, fired.get());
+    }
+
+    private static Script fixedLoopFixture(List<String> effects) {
+        return new Script()
+                .addStep(new DelayedTickStep(2, () -> effects.add("a")))
+                .addStep(new RepeatStep(new TimedTickStep(3, count -> effects.addAll(Collections.nCopies(count, "b"))), 2))
+                .setLoopStrategy(new FiniteLoopStrategy(5));
+    }
+
+    private static Script advanceFixture(AtomicInteger counter) {
+        return new Script()
+                .waitTickStep(3)
+                .addStep(new CallbackStep(counter::incrementAndGet))
+                .addStep(new TimedTickStep(4, counter::incrementAndGet))
+                .waitTickStep(2)
+                .setLoopStrategy(new FiniteLoopStrategy(3));
+    }
+}
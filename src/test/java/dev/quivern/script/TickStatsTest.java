@@ -0,0 +1,42 @@
+package dev.quivern.script;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TickStatsTest {
+
+    @Test
+    void testPercentiles() {
+        TickStats stats = new TickStats(100);
+        for (int i = 1; i <= 100; i++) {
+            stats.record(i);
+        }
+
+        assertEquals(100, stats.count());
+        assertEquals(50, stats.percentile(50));
+        assertEquals(99, stats.percentile(99));
+        assertEquals(100, stats.percentile(100));
+        assertEquals(100, stats.max());
+    }
+
+    @Test
+    void testWindowKeepsMostRecentSamples() {
+        TickStats stats = new TickStats(4);
+        for (int i = 1; i <= 8; i++) {
+            stats.record(i * 10L);
+        }
+
+        assertEquals(50, stats.percentile(0));
+        assertEquals(80, stats.percentile(100));
+        assertEquals(8, stats.count());
+    }
+
+    @Test
+    void testEmptyAndInvalid() {
+        TickStats stats = new TickStats(8);
+        assertEquals(0, stats.percentile(50));
+        assertThrows(IllegalArgumentException.class, () -> stats.percentile(101));
+        assertThrows(IllegalArgumentException.class, () -> new TickStats(0));
+    }
+}
@@ -56,5 +56,18 @@ class ScriptTimeTest {
         
         assertTrue(now >= before && now <= after);
     }
-}
 
+    @Test
+    void testCustomClock() {
+        long[] clock = {1000};
+        ScriptTime time = new ScriptTime(() -> clock[0]);
+        clock[0] += 40;
+        assertEquals(40, time.elapsedTime());
+        assertTrue(time.finished(40));
+
+        long[] other = {5000};
+        time.setClock(() -> other[0]);
+        assertEquals(40, time.elapsedTime());
+        assertEquals(5000 + 60, time.deadline(100));
+    }
+}
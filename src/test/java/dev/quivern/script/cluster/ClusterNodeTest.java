@@ -0,0 +1,240 @@
+package dev.quivern.script.cluster;
+
+import dev.quivern.script.Script;
+import dev.quivern.script.ScriptManager;
+import dev.quivern.script.api.IScriptStep;
+import dev.quivern.script.steps.DelayedTickStep;
+import dev.quivern.script.steps.advanced.CallbackStep;
+import dev.quivern.script.steps.advanced.ParallelStep;
+import dev.quivern.script.steps.advanced.SequenceStep;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClusterNodeTest {
+
+    @Test
+    void testHashRingMovesOnlyKeysOfNewNode() {
+        HashRing ring = new HashRing();
+        ring.add("a");
+        ring.add("b");
+        ring.add("c");
+        Map<String, String> before = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            before.put("script-" + i, ring.nodeFor("script-" + i));
+        }
+
+        ring.add("d");
+        int moved = 0;
+        for (Map.Entry<String, String> entry : before.entrySet()) {
+            String owner = ring.nodeFor(entry.getKey());
+            if (!owner.equals(entry.getValue())) {
+                assertEquals("d", owner);
+                moved++;
+            }
+        }
+        assertTrue(moved > 1_500 && moved < 3_500, "Moved " + moved + " of 10000 keys");
+
+        ring.remove("d");
+        before.forEach((key, owner) -> assertEquals(owner, ring.nodeFor(key)));
+    }
+
+    @Test
+    void testScriptsMigrateWithStateOnJoinAndLeave() {
+        AtomicInteger fired = new AtomicInteger(0);
+        ScriptFactory factory = id -> new Script()
+                .waitTickStep(5)
+                .addStep(new CallbackStep(fired::incrementAndGet));
+        LoopbackTransport transport = new LoopbackTransport();
+        ClusterNode a = new ClusterNode("a", new ScriptManager(), factory, transport);
+        ClusterNode b = new ClusterNode("b", new ScriptManager(), factory, transport);
+
+        a.join();
+        for (int i = 0; i < 200; i++) {
+            assertEquals("a", a.spawn("npc-" + i, "guard"));
+        }
+        for (int i = 0; i < 3; i++) {
+            a.getManager().updateAll();
+        }
+
+        b.join();
+        assertEquals(Set.of("a", "b"), a.members());
+        assertTrue(b.localScripts().size() > 50, "Rebalanced " + b.localScripts().size() + " scripts");
+        assertEquals(200, a.localScripts().size() + b.localScripts().size());
+        assertEquals(a.getMigratedOut(), b.getMigratedIn());
+        for (String name : b.localScripts()) {
+            assertEquals("b", a.ownerOf(name));
+            assertFalse(a.getManager().containsScript(name));
+        }
+
+        for (int i = 0; i < 3; i++) {
+            a.getManager().updateAll();
+            b.getManager().updateAll();
+        }
+        assertEquals(200, fired.get(), "Migrated scripts kept their progress");
+
+        a.leave();
+        assertEquals(200, b.localScripts().size());
+        assertEquals(Set.of("b"), b.members());
+        assertEquals("b", b.spawn("late", "guard"));
+    }
+
+    @Test
+    void testSpawnRoutesToOwner() {
+        LoopbackTransport transport = new LoopbackTransport();
+        ScriptFactory factory = id -> new Script().waitTickStep(1);
+        ClusterNode a = new ClusterNode("a", new ScriptManager(), factory, transport);
+        ClusterNode b = new ClusterNode("b", new ScriptManager(), factory, transport);
+        a.join();
+        b.join();
+
+        for (int i = 0; i < 50; i++) {
+            String name = "s" + i;
+            String owner = b.spawn(name, "t");
+            ClusterNode holder = owner.equals("a") ? a : b;
+            assertTrue(holder.getManager().containsScript(name));
+            assertEquals(owner, a.ownerOf(name));
+        }
+        assertThrows(IllegalStateException.class, a::join);
+    }
+
+    @Test
+    void testNestedProgressMigrates() {
+        AtomicInteger fired = new AtomicInteger(0);
+        ScriptFactory factory = id -> new Script().addStep(new SequenceStep(List.of(
+                new DelayedTickStep(2, () -> {}),
+                new DelayedTickStep(6, fired::incrementAndGet))));
+        Script probe = factory.create("probe");
+        int ticksToFire = 0;
+        while (fired.get() == 0) {
+            probe.update();
+            ticksToFire++;
+        }
+        fired.set(0);
+
+        LoopbackTransport transport = new LoopbackTransport();
+        ClusterNode a = new ClusterNode("a", new ScriptManager(), factory, transport);
+        ClusterNode b = new ClusterNode("b", new ScriptManager(), factory, transport);
+        a.join();
+        for (int i = 0; i < 50; i++) {
+            a.spawn("npc-" + i, "guard");
+        }
+        for (int i = 0; i < 5; i++) {
+            a.getManager().updateAll();
+        }
+        b.join();
+        assertTrue(b.getMigratedIn() > 0);
+
+        for (int i = 5; i < ticksToFire; i++) {
+            a.getManager().updateAll();
+            b.getManager().updateAll();
+        }
+        assertEquals(50, fired.get(), "Migrated scripts kept their nested progress");
+    }
+
+    @Test
+    void testFailedHandOffKeepsScript() {
+        AtomicInteger failures = new AtomicInteger(0);
+        LoopbackTransport transport = new LoopbackTransport() {
+            @Override
+            public void send(String nodeId, byte[] message) {
+                if (message[0] == ClusterMessage.MIGRATE && failures.get() > 0) {
+                    failures.decrementAndGet();
+                    throw new IllegalArgumentException("Link down");
+                }
+                super.send(nodeId, message);
+            }
+        };
+        ScriptFactory factory = id -> new Script().waitTickStep(10);
+        ClusterNode a = new ClusterNode("a", new ScriptManager(), factory, transport);
+        ClusterNode b = new ClusterNode("b", new ScriptManager(), factory, transport);
+        a.join();
+        b.join();
+        for (int i = 0; i < 50; i++) {
+            a.spawn("s" + i, "t");
+        }
+        Set<String> held = b.localScripts();
+        assertFalse(held.isEmpty());
+
+        failures.set(1);
+        b.leave();
+        Set<String> kept = b.localScripts();
+        assertEquals(1, kept.size(), "Other scripts were not handed off after the failure");
+        assertEquals(kept, b.getMigrationFailures().keySet());
+        assertInstanceOf(IllegalArgumentException.class, b.getMigrationFailures().values().iterator().next());
+        for (String name : kept) {
+            assertTrue(b.getManager().containsScript(name), name + " was lost");
+        }
+        assertEquals(50, a.localScripts().size() + kept.size());
+    }
+
+    @Test
+    void testOversizedStateStaysWithoutFailingTheJoin() {
+        ScriptFactory factory = id -> {
+            if (!id.equals("huge")) return new Script().waitTickStep(10);
+            List<IScriptStep> children = new ArrayList<>();
+            for (int i = 0; i < 2 * ClusterNode.MIGRATION_STATE_WORDS; i++) {
+                children.add(new DelayedTickStep(10, () -> {}));
+            }
+            return new Script().addStep(new ParallelStep(children));
+        };
+        LoopbackTransport transport = new LoopbackTransport();
+        ClusterNode a = new ClusterNode("a", new ScriptManager(), factory, transport);
+        ClusterNode b = new ClusterNode("b", new ScriptManager(), factory, transport);
+        a.join();
+        for (int i = 0; i < 50; i++) {
+            a.spawn("s" + i, "t");
+            a.spawn("big" + i, "huge");
+        }
+
+        assertDoesNotThrow(b::join);
+        Set<String> stranded = a.getMigrationFailures().keySet();
+        assertFalse(stranded.isEmpty());
+        for (int i = 0; i < 50; i++) {
+            String name = "s" + i;
+            String holder = a.localScripts().contains(name) ? "a" : "b";
+            assertEquals(a.ownerOf(name), holder, name + " was not handed off");
+            assertEquals(stranded.contains("big" + i), a.ownerOf("big" + i).equals("b"));
+        }
+        assertTrue(a.localScripts().containsAll(stranded));
+        assertInstanceOf(IllegalStateException.class, a.getMigrationFailures().values().iterator().next());
+
+        assertEquals(0, a.retryMigrations());
+        assertEquals(stranded, a.getMigrationFailures().keySet());
+        assertEquals(100, a.localScripts().size() + b.localScripts().size());
+    }
+
+    @Test
+    void testConcurrentSpawnsDoNotDeadlock() {
+        LoopbackTransport transport = new LoopbackTransport();
+        ScriptFactory factory = id -> new Script().waitTickStep(1);
+        ClusterNode a = new ClusterNode("a", new ScriptManager(), factory, transport);
+        ClusterNode b = new ClusterNode("b", new ScriptManager(), factory, transport);
+        a.join();
+        b.join();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(20), () -> {
+            CompletableFuture<Void> fromA = CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 2_000; i++) {
+                    a.spawn("a" + i, "t");
+                }
+            });
+            CompletableFuture<Void> fromB = CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 2_000; i++) {
+                    b.spawn("b" + i, "t");
+                }
+            });
+            CompletableFuture.allOf(fromA, fromB).join();
+        });
+        assertEquals(4_000, a.localScripts().size() + b.localScripts().size());
+    }
+}
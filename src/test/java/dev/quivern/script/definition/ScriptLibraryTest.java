@@ -0,0 +1,76 @@
+package dev.quivern.script.definition;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScriptLibraryTest {
+
+    @Test
+    void testLoadDirectoryInParallel(@TempDir Path dir) throws IOException {
+        for (int i = 0; i < 200; i++) {
+            Files.writeString(dir.resolve("s" + i + ScriptLibrary.FILE_EXTENSION), "script s" + i + " { wait " + i + "t }");
+        }
+        Files.writeString(dir.resolve("ignored.txt"), "not a definition");
+
+        ScriptLibrary library = new ScriptLibrary();
+        assertEquals(200, library.loadDirectory(dir));
+        assertEquals(200, library.size());
+        assertTrue(library.getTemplate("s42").isPresent());
+        assertNotNull(library.instantiate("s42", new ScriptBindings()));
+        assertThrows(IllegalArgumentException.class, () -> library.instantiate("missing", new ScriptBindings()));
+    }
+
+    @Test
+    void testUnchangedContentIsNotReparsed() {
+        TemplateCache cache = new TemplateCache();
+        ScriptLibrary first = new ScriptLibrary(cache);
+        ScriptLibrary second = new ScriptLibrary(cache);
+
+        first.load("a", "script a { call x }");
+        second.load("copy-of-a", "script a { call x }");
+        assertEquals(1, cache.misses());
+        assertEquals(1, cache.hits());
+        assertSame(first.getTemplate("a").orElseThrow(), second.getTemplate("a").orElseThrow());
+
+        first.load("a", "script a { call y }");
+        assertEquals(2, cache.misses());
+        assertNotSame(first.getTemplate("a").orElseThrow(), second.getTemplate("a").orElseThrow());
+    }
+
+    @Test
+    void testReplacedSourcesAreEvicted() {
+        TemplateCache cache = new TemplateCache();
+        ScriptLibrary library = new ScriptLibrary(cache);
+        for (int i = 0; i < 100; i++) {
+            library.load("a", "script a { wait " + i + "t }");
+        }
+        assertEquals(1, cache.size());
+
+        library.load("b", "script b { wait 1t }");
+        library.load("c", "script b { wait 1t }");
+        library.load("b", "script b { wait 2t }");
+        assertEquals(3, cache.size(), "Content still used by another source was evicted");
+        library.load("c", "script b { wait 3t }");
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void testLoadAllRejectsDuplicateNames(@TempDir Path dir) throws IOException {
+        Path first = Files.writeString(dir.resolve("first" + ScriptLibrary.FILE_EXTENSION), "script dup { wait 1t }");
+        Path second = Files.writeString(dir.resolve("second" + ScriptLibrary.FILE_EXTENSION),
+                "script other { wait 1t }\nscript dup { wait 2t }");
+
+        ScriptLibrary library = new ScriptLibrary();
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> library.loadAll(List.of(first, second)));
+        assertTrue(error.getMessage().contains("dup"), error.getMessage());
+        assertEquals(0, library.size());
+    }
+}
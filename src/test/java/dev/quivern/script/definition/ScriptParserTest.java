@@ -0,0 +1,88 @@
+package dev.quivern.script.definition;
+
+import dev.quivern.script.Script;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScriptParserTest {
+
+    @Test
+    void testParseAllStepKinds() {
+        List<ScriptTemplate> templates = ScriptParser.parse("""
+                # every step kind
+                script everything loop 2 {
+                    wait 0ms; wait 1t
+                    call greet
+                    timed 2t spin
+                    until ready
+                    when ready { call greet }
+                    branch ready { call greet } else { call spin }
+                    parallel { wait 1t; call greet }
+                    sequence { call greet; call greet }
+                    repeat 2 { call greet }
+                    timeout 1s { until ready }
+                    cancel ready { wait 10s }
+                }
+                script forever loop forever { call greet }
+                """);
+
+        assertEquals(2, templates.size());
+        assertEquals("everything", templates.get(0).getName());
+        assertEquals(2, templates.get(0).getLoopCount());
+        assertEquals(12, templates.get(0).stepCount());
+        assertEquals(ScriptTemplate.LOOP_FOREVER, templates.get(1).getLoopCount());
+    }
+
+    @Test
+    void testInstantiatedScriptRuns() {
+        List<String> log = new ArrayList<>();
+        AtomicBoolean ready = new AtomicBoolean(false);
+        ScriptBindings bindings = new ScriptBindings()
+                .action("a", () -> log.add("a"))
+                .action("b", () -> log.add("b"))
+                .condition("ready", ready::get);
+        ScriptTemplate template = ScriptParser.parse("script s { call a; wait 2t; until ready; repeat 2 { call b } }").get(0);
+
+        Script script = template.instantiate(bindings);
+        for (int i = 0; i < 5; i++) {
+            script.update();
+        }
+        assertEquals(List.of("a"), log);
+        ready.set(true);
+        for (int i = 0; i < 5; i++) {
+            script.update();
+        }
+        assertEquals(List.of("a", "b", "b"), log);
+        assertTrue(script.isFinished());
+
+        Script second = template.instantiate(bindings);
+        second.update();
+        assertEquals(List.of("a", "b", "b", "a"), log);
+    }
+
+    @Test
+    void testSyntaxErrorsReportPosition() {
+        ScriptSyntaxException unknown = assertThrows(ScriptSyntaxException.class,
+                () -> ScriptParser.parse("test", "script s {\n  call a\n  jump b\n}"));
+        assertEquals(3, unknown.getLine());
+        assertEquals(3, unknown.getColumn());
+        assertTrue(unknown.getMessage().startsWith("test:3:3:"));
+
+        assertThrows(ScriptSyntaxException.class, () -> ScriptParser.parse("script s { }"));
+        assertThrows(ScriptSyntaxException.class, () -> ScriptParser.parse("script s { wait 5 }"));
+        assertThrows(ScriptSyntaxException.class, () -> ScriptParser.parse("script s { call a"));
+        assertThrows(ScriptSyntaxException.class, () -> ScriptParser.parse("script s { timeout 5t { call a } }"));
+        assertThrows(ScriptSyntaxException.class, () -> ScriptParser.parse("script s { wait 99999999999999999999ms }"));
+    }
+
+    @Test
+    void testUnboundNameFailsOnInstantiate() {
+        ScriptTemplate template = ScriptParser.parse("script s { call missing }").get(0);
+        assertThrows(IllegalArgumentException.class, () -> template.instantiate(new ScriptBindings()));
+    }
+}
@@ -0,0 +1,70 @@
+package dev.quivern.script.definition;
+
+import dev.quivern.script.Script;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TemplateArchiveTest {
+
+    @Test
+    void testRoundTripDecodesLazily(@TempDir Path dir) throws IOException {
+        ScriptLibrary library = new ScriptLibrary();
+        library.load("defs", """
+                script intro loop 2 { call greet; branch ready { wait 2t } else { call greet } }
+                script boss loop forever { parallel { timed 3t tick; timeout 1s { until ready } } }
+                script zeta { repeat 2 { call greet } }
+                """);
+        Path file = dir.resolve("scripts.lumt");
+        library.writeArchive(file);
+
+        TemplateArchive archive = TemplateArchive.open(file);
+        assertEquals(3, archive.size());
+        assertEquals(0, archive.decodedCount());
+        assertEquals(List.of("boss", "intro", "zeta"), archive.names());
+
+        ScriptTemplate boss = archive.getTemplate("boss").orElseThrow();
+        assertEquals(1, archive.decodedCount());
+        assertSame(boss, archive.getTemplate("boss").orElseThrow());
+        assertEquals(ScriptTemplate.LOOP_FOREVER, boss.getLoopCount());
+        assertTrue(archive.getTemplate("missing").isEmpty());
+
+        List<String> log = new ArrayList<>();
+        ScriptBindings bindings = new ScriptBindings()
+                .action("greet", () -> log.add("greet"))
+                .condition("ready", () -> false);
+        Script intro = archive.instantiate("intro", bindings);
+        for (int i = 0; i < 10; i++) {
+            intro.update();
+        }
+        assertEquals(List.of("greet", "greet", "greet", "greet"), log);
+        assertTrue(intro.isFinished());
+    }
+
+    @Test
+    void testLibraryFallsBackToArchive(@TempDir Path dir) throws IOException {
+        ScriptLibrary source = new ScriptLibrary();
+        source.load("defs", "script a { call x }");
+        Path file = dir.resolve("a.lumt");
+        source.writeArchive(file);
+
+        ScriptLibrary library = new ScriptLibrary();
+        library.addArchive(TemplateArchive.open(file));
+        assertTrue(library.getTemplate("a").isPresent());
+        assertEquals(0, library.size());
+    }
+
+    @Test
+    void testRejectsInvalidFile(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("bad.lumt");
+        Files.write(file, new byte[64]);
+        assertThrows(IllegalArgumentException.class, () -> TemplateArchive.open(file));
+    }
+}
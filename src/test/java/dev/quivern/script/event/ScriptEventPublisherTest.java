@@ -0,0 +1,182 @@
+package dev.quivern.script.event;
+
+import dev.quivern.script.Script;
+import dev.quivern.script.ScriptManager;
+import dev.quivern.script.steps.advanced.CallbackStep;
+import dev.quivern.script.strategy.FiniteLoopStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScriptEventPublisherTest {
+
+    private static final class CollectingSubscriber implements Flow.Subscriber<ScriptEvent> {
+        private final List<ScriptEvent> events = new ArrayList<>();
+        private final long demand;
+        private Flow.Subscription subscription;
+        private boolean completed;
+
+        CollectingSubscriber(long demand) {
+            this.demand = demand;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(demand);
+        }
+
+        @Override
+        public void onNext(ScriptEvent item) {
+            events.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            fail(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+
+        List<ScriptEvent.Type> types() {
+            return events.stream().map(ScriptEvent::type).toList();
+        }
+    }
+
+    @Test
+    void testLifecycleEventsDelivered() {
+        ScriptManager manager = new ScriptManager();
+        ScriptEventPublisher publisher = manager.events(Runnable::run, 64);
+        CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+        publisher.subscribe(subscriber);
+
+        manager.addScript("intro", new Script()
+                .addStep(new CallbackStep(() -> {}))
+                .setLoopStrategy(new FiniteLoopStrategy(2)));
+
+        manager.updateAll();
+        manager.updateAll();
+
+        assertEquals(List.of(
+                ScriptEvent.Type.STARTED,
+                ScriptEvent.Type.STEP_ADVANCED,
+                ScriptEvent.Type.LOOPED,
+                ScriptEvent.Type.STEP_ADVANCED,
+                ScriptEvent.Type.FINISHED), subscriber.types());
+        assertTrue(subscriber.events.stream().allMatch(e -> e.scriptName().equals("intro")));
+
+        publisher.close();
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void testEventsBeforeOnSubscribeAreKept() {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        ScriptEventPublisher publisher = new ScriptEventPublisher(tasks::add, 64);
+        CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+        publisher.subscribe(subscriber);
+        assertTrue(publisher.hasSubscribers());
+
+        publisher.emit("early", ScriptEvent.Type.STARTED, 0);
+        publisher.flush();
+        for (Runnable task; (task = tasks.poll()) != null; ) {
+            task.run();
+        }
+
+        assertEquals(List.of(ScriptEvent.Type.STARTED), subscriber.types());
+        assertEquals(0, publisher.droppedEvents());
+
+        subscriber.subscription.cancel();
+        assertFalse(publisher.hasSubscribers());
+    }
+
+    @Test
+    void testInterruptEventDeliveredAfterNextTick() {
+        ScriptManager manager = new ScriptManager();
+        ScriptEventPublisher publisher = manager.events(Runnable::run, 64);
+        CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+        publisher.subscribe(subscriber);
+
+        Script script = new Script().waitTickStep(5);
+        manager.addScript("guard", script);
+        script.setInterrupt(true);
+        assertTrue(subscriber.events.isEmpty());
+
+        manager.updateAll();
+        assertEquals(List.of(ScriptEvent.Type.INTERRUPTED), subscriber.types());
+    }
+
+    @Test
+    void testBackpressureDropsBeyondBuffer() {
+        ScriptManager manager = new ScriptManager();
+        ScriptEventPublisher publisher = manager.events(Runnable::run, 2);
+        CollectingSubscriber subscriber = new CollectingSubscriber(1);
+        publisher.subscribe(subscriber);
+
+        for (int i = 0; i < 3; i++) {
+            manager.addScript("s" + i, new Script().addStep(new CallbackStep(() -> {})));
+        }
+        manager.updateAll();
+
+        assertEquals(1, subscriber.events.size());
+        assertTrue(publisher.droppedEvents() > 0);
+    }
+
+    @Test
+    void testRemovedScriptStopsEmitting() {
+        ScriptManager manager = new ScriptManager();
+        ScriptEventPublisher publisher = manager.events(Runnable::run, 64);
+        CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+        publisher.subscribe(subscriber);
+
+        Script script = new Script().addStep(new CallbackStep(() -> {}));
+        manager.addScript("gone", script);
+        manager.removeScript("gone");
+        script.update();
+        manager.updateAll();
+
+        assertTrue(subscriber.events.isEmpty());
+        assertNull(script.getListener());
+    }
+
+    @Test
+    void testSubscriberPresenceTracksCancel() {
+        ScriptEventPublisher publisher = new ScriptEventPublisher(Runnable::run, 8);
+        assertFalse(publisher.hasSubscribers());
+
+        CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+        publisher.subscribe(subscriber);
+        assertTrue(publisher.hasSubscribers());
+
+        subscriber.subscription.cancel();
+        assertFalse(publisher.hasSubscribers());
+        publisher.emit("late", ScriptEvent.Type.STARTED, 0);
+        publisher.flush();
+        assertEquals(0, publisher.droppedEvents());
+        assertTrue(subscriber.events.isEmpty());
+    }
+
+    @Test
+    void testPendingCapacityIndependentOfSubscriberBuffer() {
+        ScriptEventPublisher publisher = new ScriptEventPublisher(Runnable::run, 4, 100);
+        CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+        publisher.subscribe(subscriber);
+
+        for (int i = 0; i < 150; i++) {
+            publisher.emit("s" + i, ScriptEvent.Type.STARTED, 0);
+        }
+        publisher.flush();
+
+        assertEquals(100, subscriber.events.size());
+        assertEquals(50, publisher.droppedEvents());
+    }
+}
@@ -0,0 +1,76 @@
+package dev.quivern.script.jfr;
+
+import dev.quivern.script.Script;
+import dev.quivern.script.ScriptManager;
+import dev.quivern.script.steps.advanced.CallbackStep;
+import dev.quivern.script.strategy.FiniteLoopStrategy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecorderEventsTest {
+
+    private static Configuration bundledConfiguration() throws Exception {
+        try (Reader reader = new InputStreamReader(Objects.requireNonNull(
+                FlightRecorderEventsTest.class.getResourceAsStream("luma-script.jfc")), StandardCharsets.UTF_8)) {
+            return Configuration.create(reader);
+        }
+    }
+
+    @Test
+    void testBundledProfileEnablesScriptEvents() throws Exception {
+        Configuration configuration = bundledConfiguration();
+        assertEquals("Luma Script", configuration.getLabel());
+        assertEquals("true", configuration.getSettings().get("dev.quivern.script.StepTransition#enabled"));
+    }
+
+    @Test
+    void testEventsRecorded(@TempDir Path dir) throws Exception {
+        ScriptManager manager = new ScriptManager();
+        manager.addScript("looping", new Script()
+                .addStep(new CallbackStep(() -> {}))
+                .setLoopStrategy(new FiniteLoopStrategy(2)));
+
+        Path file = dir.resolve("script.jfr");
+        try (Recording recording = new Recording(bundledConfiguration())) {
+            recording.enable(ScriptUpdateEvent.class).withThreshold(java.time.Duration.ZERO);
+            recording.start();
+            manager.updateAll();
+            manager.updateAll();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertEquals(2, count(events, "dev.quivern.script.ManagerTick"));
+        assertEquals(2, count(events, "dev.quivern.script.ScriptUpdate"));
+        assertEquals(2, count(events, "dev.quivern.script.StepTransition"));
+        assertEquals(1, count(events, "dev.quivern.script.LoopIteration"));
+
+        RecordedEvent transition = events.stream()
+                .filter(e -> e.getEventType().getName().equals("dev.quivern.script.StepTransition"))
+                .findFirst().orElseThrow();
+        assertEquals("looping", transition.getString("scriptName"));
+        assertEquals(CallbackStep.class.getName(), transition.getClass("stepClass").getName());
+
+        assertTrue(events.stream()
+                .filter(e -> e.getEventType().getName().equals("dev.quivern.script.ScriptUpdate"))
+                .allMatch(e -> e.getInt("stepIndex") == 0), "Update event paired the next step's index");
+    }
+
+    private static long count(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).count();
+    }
+}
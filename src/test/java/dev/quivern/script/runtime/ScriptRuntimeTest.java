@@ -0,0 +1,143 @@
+package dev.quivern.script.runtime;
+
+import dev.quivern.script.Script;
+import dev.quivern.script.ScriptManager;
+import dev.quivern.script.steps.TimedTickStep;
+import dev.quivern.script.steps.advanced.CallbackStep;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScriptRuntimeTest {
+
+    @Test
+    void testRunUntilTicksAtConfiguredRate() {
+        ScriptRuntime runtime = new ScriptRuntime(100);
+        AtomicInteger counter = new AtomicInteger(0);
+        runtime.getManager().addScript("count", new Script().addStep(new TimedTickStep(20, counter::incrementAndGet)));
+
+        long start = System.nanoTime();
+        runtime.runUntil(() -> runtime.getManager().finished("count"));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(20, counter.get());
+        assertEquals(20, runtime.getStats().count());
+        assertTrue(elapsedMillis >= 180, "Finished too early: " + elapsedMillis + "ms");
+        assertFalse(runtime.isRunning());
+    }
+
+    @Test
+    void testStartAndStopBackgroundThread() throws InterruptedException {
+        ScriptManager manager = new ScriptManager();
+        CountDownLatch done = new CountDownLatch(1);
+        manager.addScript("once", new Script().waitTickStep(3).addStep(new CallbackStep(done::countDown)));
+
+        try (ScriptRuntime runtime = new ScriptRuntime(manager, 200)) {
+            runtime.start();
+            assertTrue(runtime.isRunning());
+            assertThrows(IllegalStateException.class, runtime::start);
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            runtime.stop();
+            assertFalse(runtime.isRunning());
+        }
+    }
+
+    @Test
+    void testSkipPolicyDropsMissedTicks() {
+        AtomicInteger ticks = new AtomicInteger(0);
+        ScriptRuntime runtime = new ScriptRuntime(100).setCatchUpPolicy(CatchUpPolicy.SKIP);
+        runtime.getManager().addScript("slow", new Script().addStep(new TimedTickStep(3, () -> {
+            if (ticks.incrementAndGet() == 1) {
+                sleep(55);
+            }
+        })));
+
+        runtime.runUntil(() -> runtime.getManager().finished("slow"));
+
+        assertEquals(3, runtime.getStats().count());
+        assertTrue(runtime.getSkippedTicks() >= 3, "Skipped " + runtime.getSkippedTicks());
+        assertTrue(runtime.getStats().overruns() >= 1, "Overruns " + runtime.getStats().overruns());
+    }
+
+    @Test
+    void testBurstPolicyCatchesUpToLimit() {
+        AtomicInteger ticks = new AtomicInteger(0);
+        ScriptRuntime runtime = new ScriptRuntime(100)
+                .setCatchUpPolicy(CatchUpPolicy.BURST)
+                .setMaxBurst(2);
+        runtime.getManager().addScript("slow", new Script().addStep(new TimedTickStep(10, () -> {
+            if (ticks.incrementAndGet() == 1) {
+                sleep(55);
+            }
+        })));
+
+        runtime.runUntil(() -> runtime.getManager().finished("slow"));
+
+        assertEquals(10, ticks.get());
+        assertTrue(runtime.getSkippedTicks() >= 1, "Skipped " + runtime.getSkippedTicks());
+    }
+
+    @Test
+    void testFailureStopsRuntime() {
+        ScriptRuntime runtime = new ScriptRuntime(100);
+        runtime.getManager().addScript("bad", new Script().addStep(new CallbackStep(() -> {
+            throw new IllegalStateException("boom");
+        })));
+
+        assertThrows(IllegalStateException.class, () -> runtime.runUntil(() -> false));
+        assertFalse(runtime.isRunning());
+        assertNotNull(runtime.getFailure());
+    }
+
+    @Test
+    void testIdleAwareSleepsThroughDelay() {
+        ScriptRuntime runtime = new ScriptRuntime(100).setIdleAware(true);
+        AtomicInteger counter = new AtomicInteger(0);
+        runtime.getManager().addScript("wait", new Script().waitDelayedStep(300).addStep(new CallbackStep(counter::incrementAndGet)));
+
+        long start = System.nanoTime();
+        runtime.runUntil(() -> runtime.getManager().finished("wait"));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(1, counter.get());
+        assertTrue(elapsedMillis >= 300, "Finished too early: " + elapsedMillis + "ms");
+        assertTrue(runtime.getStats().count() < 10, "Ticked " + runtime.getStats().count() + " times");
+        assertTrue(runtime.getIdleSleeps() >= 1);
+        assertEquals(0, runtime.getSkippedTicks());
+    }
+
+    @Test
+    void testIdleRuntimeWakesWhenScriptAdded() throws InterruptedException {
+        ScriptManager manager = new ScriptManager();
+        CountDownLatch done = new CountDownLatch(1);
+
+        try (ScriptRuntime runtime = new ScriptRuntime(manager, 100).setIdleAware(true)) {
+            runtime.start();
+            sleep(50);
+            long ticksWhileEmpty = runtime.getStats().count();
+            assertTrue(ticksWhileEmpty <= 2, "Ticked " + ticksWhileEmpty + " times with no scripts");
+
+            manager.addScript("late", new Script().addStep(new CallbackStep(done::countDown)));
+            assertTrue(done.await(1, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new ScriptRuntime(0));
+        assertThrows(IllegalArgumentException.class, () -> new ScriptRuntime(10).setMaxBurst(-1));
+        assertThrows(NullPointerException.class, () -> new ScriptRuntime(10).setCatchUpPolicy(null));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
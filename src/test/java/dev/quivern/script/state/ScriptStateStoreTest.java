@@ -0,0 +1,161 @@
+package dev.quivern.script.state;
+
+import dev.quivern.script.Script;
+import dev.quivern.script.steps.DelayedTickStep;
+import dev.quivern.script.steps.advanced.CallbackStep;
+import dev.quivern.script.steps.advanced.ParallelStep;
+import dev.quivern.script.steps.advanced.SequenceStep;
+import dev.quivern.script.steps.advanced.TimeoutStep;
+import dev.quivern.script.strategy.FiniteLoopStrategy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScriptStateStoreTest {
+
+    private static Script countingScript(AtomicInteger counter) {
+        return new Script()
+                .addStep(new CallbackStep(counter::incrementAndGet))
+                .addStep(new DelayedTickStep(5, counter::incrementAndGet))
+                .setLoopStrategy(new FiniteLoopStrategy(2));
+    }
+
+    @Test
+    void testAllocateAndFreeReusesSlots() {
+        ScriptStateStore store = new ScriptStateStore(2);
+        int first = store.allocate();
+        int second = store.allocate();
+        assertEquals(2, store.size());
+        assertThrows(IllegalStateException.class, store::allocate);
+
+        store.free(first);
+        assertFalse(store.isAllocated(first));
+        assertEquals(first, store.allocate());
+        assertTrue(store.isAllocated(second));
+    }
+
+    @Test
+    void testUnallocatedSlotThrows() {
+        ScriptStateStore store = new ScriptStateStore(4);
+        assertThrows(IllegalArgumentException.class, () -> store.getStepIndex(0));
+        assertThrows(IllegalArgumentException.class, () -> new ScriptStateStore(0));
+        assertTrue(assertThrows(IllegalArgumentException.class, () -> new ScriptStateStore(1, Integer.MAX_VALUE))
+                .getMessage().contains("exceed"));
+        assertTrue(assertThrows(IllegalArgumentException.class, () -> new ScriptStateStore(1, -1))
+                .getMessage().contains("negative"));
+    }
+
+    @Test
+    void testSaveAndRestoreScript() {
+        AtomicInteger counter = new AtomicInteger(0);
+        Script original = countingScript(counter);
+        original.update();
+        original.update();
+        original.update();
+
+        ScriptStateStore store = new ScriptStateStore(8);
+        int slot = store.allocate();
+        original.saveState(store, slot);
+        assertEquals(1, store.getStepIndex(slot));
+        assertEquals(3, store.getStepState(slot));
+
+        AtomicInteger restoredCounter = new AtomicInteger(0);
+        Script restored = countingScript(restoredCounter);
+        restored.restoreState(store, slot);
+
+        for (int i = 0; i < 3; i++) {
+            restored.update();
+        }
+        assertEquals(1, restoredCounter.get());
+        assertFalse(restored.isFinished());
+    }
+
+    @Test
+    void testSnapshotRoundTripThroughFile(@TempDir Path dir) throws Exception {
+        ScriptStateStore store = new ScriptStateStore(16);
+        int kept = store.allocate();
+        int dropped = store.allocate();
+        store.setStepIndex(kept, 7);
+        store.setLoop(kept, 3);
+        store.setFlags(kept, ScriptStateStore.FLAG_INTERRUPTED);
+        store.setElapsed(kept, 1234L);
+        store.free(dropped);
+
+        Path file = dir.resolve("scripts.state");
+        store.writeTo(file);
+
+        ScriptStateStore mapped = ScriptStateStore.map(file);
+        assertEquals(16, mapped.capacity());
+        assertEquals(1, mapped.size());
+        assertEquals(7, mapped.getStepIndex(kept));
+        assertEquals(3, mapped.getLoop(kept));
+        assertEquals(ScriptStateStore.FLAG_INTERRUPTED, mapped.getFlags(kept));
+        assertEquals(1234L, mapped.getElapsed(kept));
+        assertFalse(mapped.isAllocated(dropped));
+        assertEquals(dropped, mapped.allocate());
+    }
+
+    private static Script nestedScript(AtomicInteger counter) {
+        return new Script().addStep(new ParallelStep(List.of(
+                new SequenceStep(List.of(
+                        new DelayedTickStep(2, counter::incrementAndGet),
+                        new DelayedTickStep(4, counter::incrementAndGet))),
+                new TimeoutStep(new DelayedTickStep(6, counter::incrementAndGet), 60_000))));
+    }
+
+    @Test
+    void testSaveAndRestoreNestedSteps(@TempDir Path dir) throws Exception {
+        AtomicInteger counter = new AtomicInteger(0);
+        Script original = nestedScript(counter);
+        for (int i = 0; i < 4; i++) {
+            original.update();
+        }
+        assertEquals(1, counter.get());
+
+        ScriptStateStore store = new ScriptStateStore(4, 8);
+        int slot = store.allocate();
+        original.saveState(store, slot);
+        Path file = dir.resolve("nested.state");
+        store.writeTo(file);
+
+        AtomicInteger restoredCounter = new AtomicInteger(0);
+        Script restored = nestedScript(restoredCounter);
+        restored.restoreState(ScriptStateStore.map(file), slot);
+
+        restored.update();
+        assertEquals(0, restoredCounter.get());
+        restored.update();
+        restored.update();
+        assertEquals(2, restoredCounter.get());
+        assertTrue(restored.isFinished());
+    }
+
+    @Test
+    void testNestedStateBeyondStateWordsThrows() {
+        Script script = nestedScript(new AtomicInteger());
+        script.update();
+        ScriptStateStore store = new ScriptStateStore(1);
+        int slot = store.allocate();
+        assertThrows(IllegalStateException.class, () -> script.saveState(store, slot));
+    }
+
+    @Test
+    void testMapRejectsCorruptCapacity(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("corrupt.state");
+        new ScriptStateStore(2).writeTo(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ByteBuffer capacity = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(-1).flip();
+            channel.write(capacity, 12);
+        }
+        assertThrows(IllegalArgumentException.class, () -> ScriptStateStore.map(file));
+    }
+}
@@ -5,8 +5,13 @@ import dev.quivern.script.steps.advanced.*;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -121,6 +126,73 @@ class StepsTest {
         assertEquals(1, counter2.get());
     }
 
+    @Test
+    void testConcurrentParallelStepFansOutHeavyChildren() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            Set<Thread> threads = ConcurrentHashMap.newKeySet();
+            AtomicInteger ticks = new AtomicInteger(0);
+            Runnable heavy = () -> {
+                threads.add(Thread.currentThread());
+                ticks.incrementAndGet();
+                busy(200_000);
+            };
+            var step = new ConcurrentParallelStep(List.of(
+                    new TimedTickStep(5, heavy::run),
+                    new TimedTickStep(5, heavy::run),
+                    new TimedTickStep(5, heavy::run)
+            ), pool);
+
+            ScriptTime time = new ScriptTime();
+            while (!step.isFinished()) {
+                step.perform(time);
+            }
+            assertEquals(15, ticks.get());
+            assertTrue(threads.size() > 1, "Children never left the calling thread");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testConcurrentParallelStepRunsCheapChildrenInline() {
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        var step = new ConcurrentParallelStep(List.of(
+                new TimedTickStep(3, () -> threads.add(Thread.currentThread())),
+                new TimedTickStep(3, () -> threads.add(Thread.currentThread()))
+        ), task -> fail("Cheap children must not be handed off"), Long.MAX_VALUE);
+
+        ScriptTime time = new ScriptTime();
+        for (int i = 0; i < 3; i++) {
+            step.perform(time);
+        }
+        assertTrue(step.isFinished());
+        assertEquals(Set.of(Thread.currentThread()), threads);
+    }
+
+    @Test
+    void testConcurrentParallelStepPropagatesFailure() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            var forkedFailure = new ConcurrentParallelStep(List.of(
+                    new CallbackStep(() -> {
+                        throw new IllegalStateException("boom");
+                    }),
+                    new CallbackStep(() -> {})
+            ), pool, 0);
+            assertThrows(IllegalStateException.class, () -> forkedFailure.perform(new ScriptTime()));
+            assertThrows(IllegalStateException.class, () -> new ConcurrentParallelStep(List.of(
+                    new CallbackStep(() -> {}),
+                    new CallbackStep(() -> {
+                        throw new IllegalStateException("boom");
+                    })
+            ), pool, 0).perform(new ScriptTime()));
+            assertThrows(IllegalArgumentException.class, () -> new ConcurrentParallelStep(List.of(), pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     @Test
     void testSequenceStep() {
         AtomicInteger order = new AtomicInteger(0);
@@ -161,6 +233,55 @@ class StepsTest {
         assertEquals(3, counter.get());
     }
 
+    @Test
+    void testTickStepsFastForward() {
+        var time = new ScriptTime();
+        AtomicInteger delayed = new AtomicInteger(0);
+        var delay = new DelayedTickStep(5, delayed::incrementAndGet);
+        assertEquals(3, delay.fastForward(3, time));
+        assertFalse(delay.isFinished());
+        assertEquals(2, delay.fastForward(10, time));
+        assertTrue(delay.isFinished());
+        assertEquals(1, delayed.get());
+
+        AtomicInteger ticked = new AtomicInteger(0);
+        var timed = new TimedTickStep(10, ticked::addAndGet);
+        assertEquals(3, timed.fastForward(3, time));
+        assertEquals(7, timed.fastForward(100, time));
+        assertTrue(timed.isFinished());
+        assertEquals(10, ticked.get());
+
+        AtomicInteger repeated = new AtomicInteger(0);
+        var repeat = new RepeatStep(new DelayedTickStep(4, repeated::incrementAndGet), 1000);
+        assertEquals(4000, repeat.fastForward(Long.MAX_VALUE, time));
+        assertTrue(repeat.isFinished());
+        assertEquals(1000, repeated.get());
+
+        assertEquals(-1, new CallbackStep(repeated::incrementAndGet).fastForward(1, time));
+    }
+
+    @Test
+    void testRepeatStepSkipsWholeRepetitionsAtOnce() {
+        var time = new ScriptTime();
+        AtomicInteger calls = new AtomicInteger(0);
+        AtomicLong ticked = new AtomicLong(0);
+        var repeat = new RepeatStep(new TimedTickStep(7, count -> {
+            calls.incrementAndGet();
+            ticked.addAndGet(count);
+        }), 1_000_000_000);
+        assertEquals(7_000_000_000L, repeat.tickLength());
+
+        assertEquals(3, repeat.fastForward(3, time));
+        assertEquals(6_999_999_990L, repeat.fastForward(6_999_999_990L, time));
+        assertFalse(repeat.isFinished());
+        assertEquals(6_999_999_993L, ticked.get());
+        assertTrue(calls.get() < 10, "Repetitions were skipped one by one");
+
+        assertEquals(7, repeat.fastForward(Long.MAX_VALUE, time));
+        assertTrue(repeat.isFinished());
+        assertEquals(7_000_000_000L, ticked.get());
+    }
+
     @Test
     void testWaitUntilStep() {
         AtomicBoolean condition = new AtomicBoolean(false);
@@ -194,5 +315,97 @@ class StepsTest {
         assertTrue(step.isFinished());
         assertEquals(1, counter.get());
     }
-}
 
+    private static void busy(long nanos) {
+        long end = System.nanoTime() + nanos;
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+
+    @Test
+    void testStreamingChainDropsCompletedSteps() {
+        AtomicInteger generators = new AtomicInteger(0);
+        AtomicInteger performed = new AtomicInteger(0);
+        ChainStep chain = ChainStep.streaming(() -> {
+            generators.incrementAndGet();
+            AtomicInteger supplied = new AtomicInteger(0);
+            return () -> supplied.incrementAndGet() <= 10_000 ? new CallbackStep(performed::incrementAndGet) : null;
+        }, 3);
+        assertTrue(chain.isStreaming());
+
+        chain.perform(new ScriptTime());
+        assertEquals(1, performed.get(), "Supplied step was not performed in the same tick");
+
+        while (!chain.isFinished()) {
+            chain.perform(new ScriptTime());
+        }
+        assertEquals(10_000, performed.get());
+        assertEquals(10_000, chain.getCompletedCount());
+        assertEquals(3, chain.getHistory().size());
+
+        chain.reset();
+        assertEquals(2, generators.get());
+        assertFalse(chain.isFinished());
+        assertTrue(chain.getHistory().isEmpty());
+        chain.perform(new ScriptTime());
+        assertEquals(10_001, performed.get());
+    }
+
+    @Test
+    void testRetainingChainReplaysOnReset() {
+        AtomicInteger performed = new AtomicInteger(0);
+        AtomicInteger supplied = new AtomicInteger(0);
+        ChainStep chain = new ChainStep(List.of(new CallbackStep(performed::incrementAndGet)),
+                () -> supplied.incrementAndGet() <= 2 ? new CallbackStep(performed::incrementAndGet) : null);
+        while (!chain.isFinished()) {
+            chain.perform(null);
+        }
+        assertEquals(3, performed.get());
+        assertEquals(3, chain.getHistory().size());
+        assertFalse(chain.isStreaming());
+
+        chain.reset();
+        while (!chain.isFinished()) {
+            chain.perform(null);
+        }
+        assertEquals(6, performed.get());
+        assertEquals(4, supplied.get(), "Retained steps were not replayed");
+    }
+
+    @Test
+    void testTimedStepFinishesAtExactlyItsDuration() {
+        AtomicLong now = new AtomicLong(1_000);
+        ScriptTime time = new ScriptTime(now::get);
+        AtomicInteger runs = new AtomicInteger(0);
+
+        TimedStep instant = new TimedStep(0, runs::incrementAndGet);
+        instant.perform(time);
+        assertTrue(instant.isFinished(), "Zero duration did not finish on its first perform");
+        assertEquals(1, runs.get());
+
+        TimedStep timed = new TimedStep(10, runs::incrementAndGet);
+        timed.perform(time);
+        now.addAndGet(9);
+        timed.perform(time);
+        assertFalse(timed.isFinished());
+        now.addAndGet(1);
+        timed.perform(time);
+        assertTrue(timed.isFinished(), "Not finished at exactly the duration");
+        assertEquals(4, runs.get());
+    }
+
+    @Test
+    void testHugeDurationsDoNotOverflow() {
+        AtomicInteger runs = new AtomicInteger(0);
+        TimedStep timed = new TimedStep(Long.MAX_VALUE, runs::incrementAndGet);
+        TimeoutStep timeout = new TimeoutStep(new WaitUntilStep(() -> false), Long.MAX_VALUE);
+        for (int i = 0; i < 3; i++) {
+            timed.perform(new ScriptTime());
+            timeout.perform(new ScriptTime());
+        }
+        assertEquals(3, runs.get());
+        assertFalse(timed.isFinished());
+        assertFalse(timeout.isFinished());
+    }
+}
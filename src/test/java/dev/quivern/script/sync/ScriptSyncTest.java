@@ -0,0 +1,120 @@
+package dev.quivern.script.sync;
+
+import dev.quivern.script.Script;
+import dev.quivern.script.ScriptManager;
+import dev.quivern.script.steps.advanced.CallbackStep;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScriptSyncTest {
+
+    private ScriptManager manager;
+
+    @BeforeEach
+    void setUp() {
+        manager = new ScriptManager();
+    }
+
+    @Test
+    void testLatchParksUntilOpen() {
+        ScriptLatch latch = new ScriptLatch(2);
+        AtomicInteger passed = new AtomicInteger(0);
+        for (int i = 0; i < 100; i++) {
+            manager.addScript("unit-" + i, new Script()
+                    .addStep(latch.awaitStep())
+                    .addStep(new CallbackStep(passed::incrementAndGet)));
+        }
+
+        manager.updateAll();
+        assertEquals(100, latch.getWaiting());
+        assertEquals(100, manager.getAllScripts().values().stream().filter(Script::isParked).count());
+
+        latch.countDown();
+        manager.updateAll();
+        assertEquals(0, passed.get());
+
+        latch.countDown();
+        assertEquals(0, latch.getWaiting());
+        manager.updateAll();
+        manager.updateAll();
+        assertEquals(100, passed.get());
+    }
+
+    @Test
+    void testBarrierTripsWhenAllArrive() {
+        AtomicInteger trips = new AtomicInteger(0);
+        ScriptBarrier barrier = new ScriptBarrier(3, trips::incrementAndGet);
+        AtomicInteger attacked = new AtomicInteger(0);
+        for (int i = 0; i < 3; i++) {
+            manager.addScript("unit-" + i, new Script()
+                    .waitTickStep(1 + i * 3)
+                    .addStep(barrier.awaitStep())
+                    .addStep(new CallbackStep(attacked::incrementAndGet)));
+        }
+
+        for (int i = 0; i < 5; i++) {
+            manager.updateAll();
+        }
+        assertEquals(2, barrier.getArrived());
+        assertEquals(0, attacked.get());
+
+        for (int i = 0; i < 6; i++) {
+            manager.updateAll();
+        }
+        assertEquals(1, trips.get());
+        assertEquals(1, barrier.getGeneration());
+        assertEquals(0, barrier.getArrived());
+        assertEquals(3, attacked.get());
+    }
+
+    @Test
+    void testSemaphoreHandsPermitsInFifoOrder() {
+        ScriptSemaphore semaphore = new ScriptSemaphore(2);
+        List<String> order = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            String name = "query-" + i;
+            manager.addScript(name, new Script()
+                    .waitTickStep(1 + i)
+                    .addStep(semaphore.acquireStep())
+                    .addStep(new CallbackStep(() -> order.add(name)))
+                    .waitTickStep(3)
+                    .addStep(semaphore.releaseStep()));
+        }
+
+        int maxConcurrent = 0;
+        for (int i = 0; i < 40; i++) {
+            manager.updateAll();
+            maxConcurrent = Math.max(maxConcurrent, 2 - semaphore.availablePermits());
+            assertTrue(semaphore.availablePermits() >= 0);
+        }
+        assertEquals(List.of("query-0", "query-1", "query-2", "query-3", "query-4", "query-5"), order);
+        assertEquals(2, maxConcurrent);
+        assertEquals(2, semaphore.availablePermits());
+        assertEquals(0, semaphore.getQueueLength());
+    }
+
+    @Test
+    void testRemovedWaiterGivesUpPermits() {
+        ScriptSemaphore semaphore = new ScriptSemaphore(0);
+        manager.addScript("first", new Script().addStep(semaphore.acquireStep(2)));
+        manager.updateAll();
+        manager.addScript("second", new Script().addStep(semaphore.acquireStep()));
+        manager.updateAll();
+        assertEquals(2, semaphore.getQueueLength());
+
+        semaphore.release(1);
+        assertEquals(1, semaphore.availablePermits(), "Head waiter blocks later ones");
+        manager.removeScript("first");
+        assertEquals(0, semaphore.availablePermits());
+        assertEquals(0, semaphore.getQueueLength());
+        manager.updateAll();
+        assertTrue(manager.finished("second"));
+        assertFalse(semaphore.tryAcquire(1));
+    }
+}
@@ -0,0 +1,86 @@
+package dev.quivern.script.track;
+
+import dev.quivern.script.api.ScriptTime;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrackStepTest {
+
+    private static Track record(Path file, int events) throws IOException {
+        try (TrackWriter writer = TrackWriter.create(file)) {
+            for (int i = 0; i < events; i++) {
+                writer.append(i * 10L, i % 3, i);
+            }
+        }
+        return Track.open(file);
+    }
+
+    @Test
+    void testPlaysDueEventsAndSeeks(@TempDir Path dir) throws IOException {
+        Track track = record(dir.resolve("cutscene.track"), 100_000);
+        assertEquals(100_000, track.size());
+        assertEquals(999_990, track.duration());
+
+        AtomicLong now = new AtomicLong(0);
+        ScriptTime time = new ScriptTime(now::get);
+        List<Long> moves = new ArrayList<>();
+        List<Long> other = new ArrayList<>();
+        TrackStep step = new TrackStep(track)
+                .on(0, (code, at, data) -> moves.add(data))
+                .on(1, (code, at, data) -> moves.add(data))
+                .onOther((code, at, data) -> other.add(data));
+
+        step.perform(time);
+        assertEquals(List.of(0L), moves);
+        now.set(55);
+        step.perform(time);
+        assertEquals(List.of(0L, 1L, 3L, 4L), moves);
+        assertEquals(List.of(2L, 5L), other);
+        assertEquals(60, step.nextWakeUp(time));
+        assertFalse(step.isFinished());
+
+        step.seek(500_000);
+        assertEquals(50_000, step.getCursor());
+        step.perform(time);
+        assertEquals(50_000L, other.get(other.size() - 1));
+        assertEquals(50_001, step.getCursor());
+
+        step.seek(track.duration());
+        step.perform(time);
+        assertTrue(step.isFinished());
+        assertEquals(99_999L, moves.get(moves.size() - 1));
+
+        step.reset();
+        assertFalse(step.isFinished());
+        step.restoreState(20);
+        step.perform(time);
+        assertEquals(2L, other.get(other.size() - 1));
+        assertEquals(3, step.getCursor());
+        assertEquals(20, step.getPosition());
+    }
+
+    @Test
+    void testWriterAndOpenValidate(@TempDir Path dir) throws IOException {
+        try (TrackWriter writer = TrackWriter.create(dir.resolve("bad.track"))) {
+            writer.append(100, 1, 0);
+            assertThrows(IllegalArgumentException.class, () -> writer.append(99, 1, 0));
+            assertThrows(IllegalArgumentException.class, () -> writer.append(-1, 1, 0));
+            assertEquals(1, writer.size());
+        }
+        assertEquals(1, Track.open(dir.resolve("bad.track")).size());
+
+        Path junk = dir.resolve("junk.track");
+        Files.write(junk, new byte[64]);
+        assertThrows(IllegalArgumentException.class, () -> Track.open(junk));
+        assertThrows(IllegalArgumentException.class, () -> new TrackStep(Track.open(dir.resolve("bad.track"))).seek(-1));
+    }
+}
@@ -0,0 +1,154 @@
+package dev.quivern.script.tween;
+
+import dev.quivern.script.Script;
+import dev.quivern.script.ScriptManager;
+import dev.quivern.script.api.ScriptClock;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TweenEngineTest {
+
+    @Test
+    void testEasingEndpoints() {
+        for (Easing easing : Easing.values()) {
+            assertEquals(0.0, easing.apply(0.0), 1e-9, easing.name());
+            assertEquals(1.0, easing.apply(1.0), 1e-9, easing.name());
+        }
+        assertEquals(0.25, Easing.QUAD_IN.apply(0.5), 1e-9);
+        assertEquals(0.5, Easing.SMOOTHSTEP.apply(0.5), 1e-9);
+    }
+
+    @Test
+    void testSweepInterpolatesAllTweens() {
+        TweenEngine engine = new TweenEngine();
+        int linear = engine.start(0, 100, 1000, Easing.LINEAR, 0);
+        int quad = engine.start(10, 20, 500, Easing.QUAD_IN, 0);
+        int instant = engine.start(5, 7, 0, Easing.LINEAR, 0);
+        assertEquals(0, engine.value(linear));
+        assertTrue(engine.isFinished(instant));
+        assertEquals(7, engine.value(instant));
+
+        engine.update(250);
+        assertEquals(25, engine.value(linear), 1e-9);
+        assertEquals(0.25, engine.progress(linear), 1e-9);
+        assertEquals(12.5, engine.value(quad), 1e-9);
+
+        engine.update(2000);
+        assertEquals(100, engine.value(linear), 1e-9);
+        assertEquals(20, engine.value(quad), 1e-9);
+        assertTrue(engine.isFinished(linear));
+    }
+
+    @Test
+    void testSlotsGrowAndAreReused() {
+        TweenEngine engine = new TweenEngine();
+        int[] handles = new int[1000];
+        for (int i = 0; i < handles.length; i++) {
+            handles[i] = engine.start(0, i, 100, Easing.LINEAR, 0);
+        }
+        engine.update(50);
+        assertEquals(499.5, engine.value(handles[999]), 1e-9);
+        assertEquals(1000, engine.activeCount());
+
+        engine.release(handles[3]);
+        assertEquals(999, engine.activeCount());
+        assertEquals(handles[3], engine.start(0, 1, 100, Easing.LINEAR, 0));
+    }
+
+    @Test
+    void testReleasingTwiceFreesTheSlotOnce() {
+        TweenEngine engine = new TweenEngine();
+        int first = engine.start(0, 1, 100, Easing.LINEAR, 0);
+        int second = engine.start(0, 1, 100, Easing.LINEAR, 0);
+
+        engine.release(first);
+        engine.release(first);
+        assertEquals(1, engine.activeCount());
+
+        int reused = engine.start(0, 1, 100, Easing.LINEAR, 0);
+        int fresh = engine.start(0, 1, 100, Easing.LINEAR, 0);
+        assertEquals(first, reused);
+        assertNotEquals(reused, fresh);
+        assertNotEquals(second, fresh);
+        assertEquals(3, engine.activeCount());
+    }
+
+    @Test
+    void testRemovingScriptMidTweenReleasesIt() {
+        TweenEngine engine = new TweenEngine();
+        ScriptManager manager = new ScriptManager();
+        Script script = new Script().addStep(new TweenStep(engine, 0, 1, 60_000, Easing.LINEAR, (value, t) -> { }));
+        manager.addScript("tween", script);
+
+        manager.updateScript("tween");
+        assertEquals(1, engine.activeCount());
+
+        manager.removeScript("tween");
+        assertEquals(0, engine.activeCount());
+    }
+
+    @Test
+    void testTweenStepReportsProgressUntilEnd() throws InterruptedException {
+        TweenEngine engine = new TweenEngine();
+        List<Double> values = new ArrayList<>();
+        List<Double> progress = new ArrayList<>();
+        Script script = new Script().addStep(new TweenStep(engine, 0, 10, 30, Easing.LINEAR, (value, t) -> {
+            values.add(value);
+            progress.add(t);
+        }));
+
+        script.update();
+        assertEquals(0.0, values.get(0));
+        assertEquals(1, engine.activeCount());
+        while (!script.isFinished()) {
+            Thread.sleep(5);
+            script.update();
+        }
+        assertEquals(10.0, values.get(values.size() - 1), 1e-9);
+        assertEquals(1.0, progress.get(progress.size() - 1), 1e-9);
+        for (int i = 1; i < progress.size(); i++) {
+            assertTrue(progress.get(i) >= progress.get(i - 1));
+        }
+        assertEquals(0, engine.activeCount());
+    }
+
+    @Test
+    void testTweensFollowTheirOwnClocks() {
+        TweenEngine engine = new TweenEngine();
+        AtomicLong fast = new AtomicLong(1_000);
+        AtomicLong stopped = new AtomicLong(5_000);
+        int moving = engine.start(0, 100, 1000, Easing.LINEAR, (ScriptClock) fast::get);
+        int frozen = engine.start(0, 100, 1000, Easing.LINEAR, (ScriptClock) stopped::get);
+
+        fast.addAndGet(400);
+        engine.update();
+        assertEquals(40, engine.value(moving), 1e-9);
+        assertEquals(0, engine.value(frozen), 1e-9);
+
+        fast.addAndGet(100);
+        engine.sample(moving, fast.get());
+        assertEquals(50, engine.value(moving), 1e-9);
+    }
+
+    @Test
+    void testTweenStepFollowsScriptTime() {
+        TweenEngine engine = new TweenEngine();
+        List<Double> values = new ArrayList<>();
+        Script script = new Script().addStep(new TweenStep(engine, 0, 100, 1000, Easing.LINEAR,
+                (value, t) -> values.add(value)));
+
+        script.update();
+        script.advanceTime(500);
+        double halfway = values.get(values.size() - 1);
+        assertTrue(halfway >= 50 && halfway < 60, "Value after skipping 500 ms was " + halfway);
+
+        script.advanceTime(600);
+        assertTrue(script.isFinished());
+        assertEquals(100, values.get(values.size() - 1), 1e-9);
+    }
+}